@@ -0,0 +1,199 @@
+package com.itau.thecatapi.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class CatApiRateLimiter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatApiRateLimiter.class);
+
+    static final String HEADER_REMAINING = "ratelimit-remaining";
+    static final String HEADER_RESET = "ratelimit-reset";
+
+    private final int capacity;
+    private final long windowMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final LongAdder throttledMillis = new LongAdder();
+
+    private int permits;
+    private long resetAt;
+    private long serverResetAt;
+
+    public CatApiRateLimiter(@Value("${thecatapi.ratelimit.capacity:120}") int capacity,
+                             @Value("${thecatapi.ratelimit.window-ms:60000}") long windowMillis) {
+        this.capacity = capacity;
+        this.windowMillis = windowMillis;
+        this.permits = capacity;
+        this.resetAt = System.currentTimeMillis() + windowMillis;
+    }
+
+    public void acquire() throws InterruptedException {
+        while (true) {
+            long waitMillis = reserve();
+            if (waitMillis == 0) {
+                return;
+            }
+
+            waiters.incrementAndGet();
+            try {
+                logger.warn("Rate limit atingido. Aguardando {} ms para reset", waitMillis);
+                TimeUnit.MILLISECONDS.sleep(waitMillis);
+                throttledMillis.add(waitMillis);
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+    }
+
+    // Versão não bloqueante: a espera é reagendada no scheduler em vez de ocupar a thread chamadora
+    public CompletableFuture<Void> acquireAsync(ScheduledExecutorService scheduler) {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        tryAcquireAsync(scheduler, permit, false);
+        return permit;
+    }
+
+    private void tryAcquireAsync(ScheduledExecutorService scheduler, CompletableFuture<Void> permit, boolean waiting) {
+        long waitMillis = reserve();
+        if (waitMillis == 0) {
+            if (waiting) {
+                waiters.decrementAndGet();
+            }
+            permit.complete(null);
+            return;
+        }
+
+        if (!waiting) {
+            waiters.incrementAndGet();
+            logger.warn("Rate limit atingido. Reagendando chamada em {} ms", waitMillis);
+        }
+        throttledMillis.add(waitMillis);
+        try {
+            scheduler.schedule(() -> tryAcquireAsync(scheduler, permit, true), waitMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            waiters.decrementAndGet();
+            permit.completeExceptionally(e);
+        }
+    }
+
+    // Retorna 0 quando a permissão foi concedida, ou o tempo em ms até a próxima janela
+    public long reserve() {
+        lock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            refillIfDue(now);
+            if (permits > 0) {
+                permits--;
+                return 0;
+            }
+            return Math.max(1, resetAt - now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void update(HttpHeaders headers) {
+        String remaining = headers.getFirst(HEADER_REMAINING);
+        String reset = headers.getFirst(HEADER_RESET);
+        if (remaining == null || reset == null) {
+            return;
+        }
+
+        try {
+            int newRemaining = Integer.parseInt(remaining.trim());
+            long newResetAt = parseResetEpochMillis(reset.trim());
+
+            lock.lock();
+            try {
+                // O servidor é a fonte da verdade, mas respostas fora de ordem não devem devolver permissões
+                if (newResetAt > serverResetAt) {
+                    serverResetAt = newResetAt;
+                    resetAt = newResetAt;
+                    permits = newRemaining;
+                } else if (newResetAt == serverResetAt) {
+                    permits = Math.min(permits, newRemaining);
+                }
+            } finally {
+                lock.unlock();
+            }
+            logger.debug("Rate limit atualizado - Restantes: {}, Reset em: {}", newRemaining, Instant.ofEpochMilli(newResetAt));
+        } catch (NumberFormatException | DateTimeParseException e) {
+            logger.warn("Cabeçalhos de rate limit inválidos: remaining={}, reset={}", remaining, reset);
+        }
+    }
+
+    public void throttle(long waitMillis) {
+        lock.lock();
+        try {
+            permits = 0;
+            resetAt = Math.max(resetAt, System.currentTimeMillis() + waitMillis);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getAvailablePermits() {
+        lock.lock();
+        try {
+            refillIfDue(System.currentTimeMillis());
+            return permits;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiters() {
+        return waiters.get();
+    }
+
+    public long getThrottledMillis() {
+        return throttledMillis.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("thecatapi.ratelimit.permits", this, CatApiRateLimiter::getAvailablePermits)
+                .description("Permissões disponíveis na janela atual da The Cat API")
+                .register(registry);
+        Gauge.builder("thecatapi.ratelimit.waiters", this, CatApiRateLimiter::getWaiters)
+                .description("Chamadas aguardando permissão de rate limit")
+                .register(registry);
+        Gauge.builder("thecatapi.ratelimit.throttle.time", this, CatApiRateLimiter::getThrottledMillis)
+                .description("Tempo total aguardando rate limit")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    private void refillIfDue(long now) {
+        if (now >= resetAt) {
+            permits = capacity;
+            resetAt = now + windowMillis;
+        }
+    }
+
+    static long parseResetEpochMillis(String reset) {
+        // A API pode enviar um instante ISO-8601 ou a quantidade de segundos até o reset
+        if (reset.chars().allMatch(Character::isDigit)) {
+            return System.currentTimeMillis() + Long.parseLong(reset) * 1000;
+        }
+        return Instant.parse(reset).toEpochMilli();
+    }
+}
@@ -0,0 +1,184 @@
+package com.itau.thecatapi.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.*;
+
+@Component
+public class CatApiRetryScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatApiRetryScheduler.class);
+
+    private final CatApiRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long defaultRateLimitWaitMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CatApiRetry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CatApiRetryScheduler(CatApiRateLimiter rateLimiter,
+                                MeterRegistry meterRegistry,
+                                @Value("${thecatapi.retry.max-attempts:3}") int maxAttempts,
+                                @Value("${thecatapi.retry.initial-backoff-ms:1000}") long initialBackoffMillis,
+                                @Value("${thecatapi.retry.max-backoff-ms:30000}") long maxBackoffMillis,
+                                @Value("${thecatapi.retry.rate-limit-wait-ms:60000}") long defaultRateLimitWaitMillis) {
+        this.rateLimiter = rateLimiter;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.defaultRateLimitWaitMillis = defaultRateLimitWaitMillis;
+    }
+
+    public <T> CompletableFuture<T> execute(String endpoint, Executor executor, Callable<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        attempt(endpoint, executor, call, 1, result);
+        return result;
+    }
+
+    private <T> void attempt(String endpoint, Executor executor, Callable<T> call, int attempt,
+                             CompletableFuture<T> result) {
+        rateLimiter.acquireAsync(scheduler)
+                .thenApplyAsync(permit -> {
+                    try {
+                        return call.call();
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor)
+                .whenComplete((value, ex) -> {
+                    if (ex == null) {
+                        result.complete(value);
+                        return;
+                    }
+
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    long delay = retryDelay(cause, attempt);
+
+                    if (delay < 0) {
+                        logger.error("Falha não recuperável em {}: {}", endpoint, cause.getMessage());
+                        result.completeExceptionally(cause);
+                        return;
+                    }
+                    if (attempt >= maxAttempts) {
+                        logger.error("Todas as {} tentativas falharam para {}", maxAttempts, endpoint);
+                        result.completeExceptionally(cause);
+                        return;
+                    }
+
+                    logger.warn("Tentativa {} falhou para {}: {}. Nova tentativa em {} ms",
+                            attempt, endpoint, cause.getMessage(), delay);
+                    Counter.builder("thecatapi.client.retries")
+                            .tag("endpoint", endpoint)
+                            .tag("reason", reason(cause))
+                            .register(meterRegistry)
+                            .increment();
+                    Timer.builder("thecatapi.client.backoff")
+                            .tag("endpoint", endpoint)
+                            .register(meterRegistry)
+                            .record(delay, TimeUnit.MILLISECONDS);
+
+                    try {
+                        scheduler.schedule(() -> attempt(endpoint, executor, call, attempt + 1, result),
+                                delay, TimeUnit.MILLISECONDS);
+                    } catch (RejectedExecutionException e) {
+                        result.completeExceptionally(cause);
+                    }
+                });
+    }
+
+    // Retorna o atraso até a próxima tentativa, ou -1 quando a falha não deve ser repetida
+    long retryDelay(Throwable cause, int attempt) {
+        if (cause instanceof HttpStatusCodeException httpException) {
+            HttpStatusCode status = httpException.getStatusCode();
+            if (status.value() == 429) {
+                long wait = rateLimitWait(httpException.getResponseHeaders());
+                logger.error("Rate limiting detectado (429). Suspendendo chamadas por {} ms", wait);
+                rateLimiter.throttle(wait);
+                return wait;
+            }
+            if (status.is5xxServerError() || status.value() == 408) {
+                return backoff(attempt);
+            }
+            return -1;
+        }
+        if (cause instanceof ResourceAccessException || cause instanceof IOException) {
+            return backoff(attempt);
+        }
+        return -1;
+    }
+
+    private long backoff(int attempt) {
+        long exponential = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        // Jitter: metade fixa e metade aleatória, para espalhar reenvios concorrentes
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private long rateLimitWait(HttpHeaders headers) {
+        if (headers == null) {
+            return defaultRateLimitWaitMillis;
+        }
+
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Long.parseLong(retryAfter.trim()) * 1000;
+            } catch (NumberFormatException e) {
+                try {
+                    long until = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+                            .toInstant().toEpochMilli();
+                    return Math.max(0, until - System.currentTimeMillis());
+                } catch (DateTimeParseException ignored) {
+                    logger.warn("Retry-After inválido: {}", retryAfter);
+                }
+            }
+        }
+
+        String reset = headers.getFirst(CatApiRateLimiter.HEADER_RESET);
+        if (reset != null) {
+            try {
+                return Math.max(0, CatApiRateLimiter.parseResetEpochMillis(reset.trim()) - System.currentTimeMillis());
+            } catch (NumberFormatException | DateTimeParseException ignored) {
+                logger.warn("ratelimit-reset inválido: {}", reset);
+            }
+        }
+
+        return defaultRateLimitWaitMillis;
+    }
+
+    private String reason(Throwable cause) {
+        if (cause instanceof HttpStatusCodeException httpException) {
+            return String.valueOf(httpException.getStatusCode().value());
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,6 +1,9 @@
 package com.itau.thecatapi.client;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.itau.thecatapi.concurrent.Bulkhead;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
 import com.itau.thecatapi.dto.BreedImageDTO;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.model.BreedImage;
@@ -9,19 +12,19 @@ import com.itau.thecatapi.service.CategoryService;
 import com.itau.thecatapi.utils.HttpUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
-import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Component
 public class TheCatAPIClient {
@@ -34,255 +37,116 @@ public class TheCatAPIClient {
 
     private final RestTemplate restTemplate;
 
-    private final ExecutorService apiExecutor = Executors.newFixedThreadPool(10);
+    private final CatApiRateLimiter rateLimiter;
 
-    public TheCatAPIClient(CategoryService categoryService, HttpUtils httpUtils, RestTemplate restTemplate) {
+    private final CatApiRetryScheduler retryScheduler;
+
+    private final int breedsPageSize;
+
+    private final ExecutorService apiExecutor;
+
+    private final Bulkhead catApiBulkhead;
+
+    public TheCatAPIClient(CategoryService categoryService, HttpUtils httpUtils, RestTemplate restTemplate,
+                           CatApiRateLimiter rateLimiter, CatApiRetryScheduler retryScheduler,
+                           ExecutorFactory executorFactory,
+                           @Value("${thecatapi.breeds.page-size:10}") int breedsPageSize) {
         this.categoryService = categoryService;
         this.httpUtils = httpUtils;
         this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
+        this.retryScheduler = retryScheduler;
+        this.apiExecutor = executorFactory.newExecutor("CatApi", 10);
+        this.catApiBulkhead = executorFactory.catApi();
+        this.breedsPageSize = breedsPageSize;
     }
 
     public CompletableFuture<List<Breed>> getAllBreedsAsync() {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Iniciando obtenção de todas as raças");
+        logger.info("Iniciando obtenção de todas as raças");
 
-            List<Breed> allBreeds = new ArrayList<>();
-            ObjectMapper objectMapper = httpUtils.getObjectMapper();
-
-            final AtomicInteger remainingRequests = new AtomicInteger(0);
-            final AtomicLong resetTime = new AtomicLong(0);
-            final Object lock = new Object();
+        return fetchBreedPageAsync(0)
+                .thenCompose(firstPage -> {
+                    if (firstPage.breeds().isEmpty()) {
+                        logger.info("Página 0 retornou vazia. Encerrando busca.");
+                        return CompletableFuture.completedFuture(firstPage.breeds());
+                    }
 
-            int totalPages = Integer.MAX_VALUE;
+                    if (firstPage.totalElements() < 0) {
+                        logger.warn("Pagination-Count ausente, continuando sequencialmente até página vazia");
+                        return fetchRemainingPagesSequentially(new ArrayList<>(firstPage.breeds()), 1);
+                    }
 
-            try {
-                for (int page = 0; page < totalPages; page++) {
-                    String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/breeds"))
-                            .queryParam("limit", 10)
-                            .queryParam("page", page)
-                            .toUriString();
+                    int totalPages = (int) Math.ceil((double) firstPage.totalElements() / breedsPageSize);
+                    logger.info("Total de {} elementos encontrados. Buscando as {} páginas restantes em paralelo",
+                            firstPage.totalElements(), totalPages - 1);
 
-                    ResponseEntity<String> response = null;
-
-                    for (int attempt = 0; attempt < 3; attempt++) {
-                        try {
-                            synchronized (lock) {
-                                long currentTime = System.currentTimeMillis();
-                                if (currentTime > resetTime.get()) {
-                                    remainingRequests.set(0);
-                                }
-
-                                if (remainingRequests.get() >= 120) {
-                                    long waitTime = resetTime.get() - currentTime;
-                                    if (waitTime > 0) {
-                                        logger.warn("Rate limit atingido ({} requests). Aguardando {} ms para reset",
-                                                remainingRequests.get(), waitTime);
-                                        Thread.sleep(waitTime);
-                                        remainingRequests.set(0);
-                                        logger.info("Rate limit resetado. Continuando processamento");
-                                    }
-                                }
-                            }
-
-                            logger.debug("Fazendo request para página {}: {}", page, url);
-                            response = restTemplate.exchange(
-                                    url, HttpMethod.GET, httpUtils.createDefaultEntity(), String.class);
-
-                            HttpHeaders headers = response.getHeaders();
-                            if (headers.containsKey("ratelimit-remaining") && headers.containsKey("ratelimit-reset")) {
-                                synchronized (lock) {
-                                    int newRemaining = Integer.parseInt(headers.getFirst("ratelimit-remaining"));
-                                    remainingRequests.set(newRemaining);
-                                    String resetTimeStr = headers.getFirst("ratelimit-reset");
-                                    Instant resetInstant = Instant.parse(resetTimeStr);
-                                    resetTime.set(resetInstant.toEpochMilli());
-                                    logger.debug("Rate limit atualizado - Restantes: {}, Reset em: {}",
-                                            newRemaining, resetInstant);
-                                }
-                            }
-
-                            break; // sucesso
-                        } catch (Exception e) {
-                            logger.warn("Tentativa {} falhou para página {}: {}", (attempt + 1), page, e.getMessage(), e);
-
-                            if (e.getMessage().contains("429") || e.getMessage().contains("Too Many Requests")) {
-                                logger.error("Rate limiting detectado (429). Aguardando 60 segundos");
-                                try {
-                                    Thread.sleep(60000);
-                                } catch (InterruptedException ie) {
-                                    logger.error("Thread interrompida durante espera de rate limit", ie);
-                                    Thread.currentThread().interrupt();
-                                    throw new RuntimeException("Thread interrompida", ie);
-                                }
-                            }
-
-                            if (attempt == 2) {
-                                logger.error("Todas as 3 tentativas falharam para página: {}", page);
-                                throw new RuntimeException("Falha após 3 tentativas para página " + page, e);
-                            }
-
-                            long backoffTime = (long) (Math.pow(2, attempt) * 1000);
-                            logger.debug("Aplicando backoff de {} ms antes da próxima tentativa", backoffTime);
-                            try {
-                                Thread.sleep(backoffTime);
-                            } catch (InterruptedException ie) {
-                                logger.error("Thread interrompida durante backoff", ie);
-                                Thread.currentThread().interrupt();
-                                throw new RuntimeException("Thread interrompida", ie);
-                            }
-                        }
-                    }
+                    List<CompletableFuture<List<Breed>>> pageFutures = IntStream.range(1, totalPages)
+                            .mapToObj(page -> fetchBreedPageAsync(page).thenApply(BreedPage::breeds))
+                            .collect(Collectors.toList());
 
-                    if (response == null) {
-                        throw new RuntimeException("Falha inesperada ao processar requisição da página " + page);
+                    return CompletableFuture.allOf(pageFutures.toArray(new CompletableFuture[0]))
+                            .thenApply(v -> {
+                                List<Breed> allBreeds = new ArrayList<>(firstPage.breeds());
+                                pageFutures.forEach(future -> allBreeds.addAll(future.join()));
+                                return allBreeds;
+                            });
+                })
+                .whenComplete((breeds, ex) -> {
+                    if (ex != null) {
+                        logger.error("Erro ao obter raças", ex);
+                    } else {
+                        logger.info("Obtenção de raças concluída. Total de {} raças obtidas", breeds.size());
                     }
+                });
+    }
 
-                    List<Breed> currentPageBreeds = objectMapper.readValue(
-                            response.getBody(),
-                            objectMapper.getTypeFactory().constructCollectionType(List.class, Breed.class));
+    private CompletableFuture<List<Breed>> fetchRemainingPagesSequentially(List<Breed> allBreeds, int page) {
+        return fetchBreedPageAsync(page).thenCompose(currentPage -> {
+            if (currentPage.breeds().isEmpty()) {
+                logger.info("Página {} retornou vazia. Encerrando busca.", page);
+                return CompletableFuture.completedFuture(allBreeds);
+            }
+            allBreeds.addAll(currentPage.breeds());
+            return fetchRemainingPagesSequentially(allBreeds, page + 1);
+        });
+    }
 
-                    if (currentPageBreeds == null || currentPageBreeds.isEmpty()) {
-                        logger.info("Página {} retornou vazia. Encerrando busca.", page);
-                        break;
-                    }
+    private CompletableFuture<BreedPage> fetchBreedPageAsync(int page) {
+        String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/breeds"))
+                .queryParam("limit", breedsPageSize)
+                .queryParam("page", page)
+                .toUriString();
 
-                    allBreeds.addAll(currentPageBreeds);
-                    logger.info("Página {} processada. {} raças adicionadas", page, currentPageBreeds.size());
-
-                    if (page == 0) {
-                        HttpHeaders headers = response.getHeaders();
-                        if (headers.containsKey("Pagination-Count")) {
-                            try {
-                                int totalElements = Integer.parseInt(headers.getFirst("Pagination-Count"));
-                                totalPages = (int) Math.ceil((double) totalElements / 10);
-                                logger.info("Total de {} elementos encontrados. Serão necessárias {} páginas",
-                                        totalElements, totalPages);
-                            } catch (NumberFormatException e) {
-                                logger.warn("Erro ao parsear Pagination-Count, continuando até página vazia");
-                            }
-                        }
-                    }
-                }
+        return retryScheduler.execute("/breeds", apiExecutor, () -> {
+            logger.debug("Fazendo request para página {}: {}", page, url);
+            List<Breed> breeds = new ArrayList<>();
+            HttpHeaders headers = streamArray(url, Breed.class, breeds::add);
 
-                logger.info("Obtenção de raças concluída. Total de {} raças obtidas", allBreeds.size());
-                return allBreeds;
+            logger.info("Página {} processada. {} raças adicionadas", page, breeds.size());
+            return new BreedPage(breeds, parsePaginationCount(headers));
+        });
+    }
 
-            } catch (Exception e) {
-                logger.error("Erro ao obter raças", e);
-                throw new RuntimeException("Erro ao mapear resposta JSON", e);
-            }
-        }, apiExecutor);
+    private int parsePaginationCount(HttpHeaders headers) {
+        String paginationCount = headers.getFirst("Pagination-Count");
+        if (paginationCount == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(paginationCount);
+        } catch (NumberFormatException e) {
+            logger.warn("Erro ao parsear Pagination-Count: {}", paginationCount);
+            return -1;
+        }
     }
 
     public CompletableFuture<List<BreedImage>> getBreedImagesAsync(List<Breed> breeds) {
         logger.info("Iniciando obtenção de imagens para {} raças", breeds.size());
 
-        List<String> breedIds = breeds.stream()
+        List<CompletableFuture<List<BreedImage>>> breedFutures = breeds.stream()
                 .map(Breed::getId)
-                .collect(Collectors.toList());
-
-        ObjectMapper objectMapper = httpUtils.getObjectMapper();
-
-        final AtomicInteger remainingRequests = new AtomicInteger(0);
-        final AtomicLong resetTime = new AtomicLong(0);
-        final Object lock = new Object();
-
-        List<CompletableFuture<List<BreedImage>>> breedFutures = breedIds.stream()
-                .map(breedId -> CompletableFuture.supplyAsync(() -> {
-                    logger.debug("Processando imagens para breed ID: {}", breedId);
-
-                    for (int attempt = 0; attempt < 3; attempt++) {
-                        try {
-                            synchronized (lock) {
-                                long currentTime = System.currentTimeMillis();
-
-                                if (currentTime > resetTime.get()) {
-                                    logger.debug("Reset time atingido, reiniciando contador de requests");
-                                    remainingRequests.set(0);
-                                }
-
-                                if (remainingRequests.get() >= 120) {
-                                    long waitTime = resetTime.get() - currentTime;
-                                    if (waitTime > 0) {
-                                        logger.warn("Rate limit atingido ({} requests). Aguardando {} ms para reset",
-                                                remainingRequests.get(), waitTime);
-                                        Thread.sleep(waitTime);
-                                        remainingRequests.set(0);
-                                        logger.info("Rate limit resetado. Continuando processamento");
-                                    }
-                                }
-                            }
-
-                            String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/images/search"))
-                                    .queryParam("limit", 3)
-                                    .queryParam("breed_ids", breedId)
-                                    .toUriString();
-
-                            logger.debug("Fazendo request para URL: {}", url);
-
-                            ResponseEntity<String> response = restTemplate.exchange(
-                                    url, HttpMethod.GET, httpUtils.createDefaultEntity(), String.class);
-
-                            HttpHeaders headers = response.getHeaders();
-                            if (headers.containsKey("ratelimit-remaining") &&
-                                    headers.containsKey("ratelimit-reset")) {
-
-                                synchronized (lock) {
-                                    int newRemaining = Integer.parseInt(headers.getFirst("ratelimit-remaining"));
-                                    remainingRequests.set(newRemaining);
-
-                                    String resetTimeStr = headers.getFirst("ratelimit-reset");
-                                    Instant resetInstant = Instant.parse(resetTimeStr);
-                                    resetTime.set(resetInstant.toEpochMilli());
-
-                                    logger.debug("Rate limit atualizado - Restantes: {}, Reset em: {}",
-                                            newRemaining, resetInstant);
-                                }
-                            }
-
-                            List<BreedImageDTO> responses = objectMapper.readValue(
-                                    response.getBody(),
-                                    objectMapper.getTypeFactory().constructCollectionType(List.class, BreedImageDTO.class));
-
-                            logger.info("Sucesso ao obter {} imagens para breed {}", responses.size(), breedId);
-
-                            return responses.stream()
-                                    .map(BreedImage::fromResponse)
-                                    .collect(Collectors.toList());
-
-                        } catch (Exception e) {
-                            logger.warn("Tentativa {} falhou para breed {}: {}",
-                                    (attempt + 1), breedId, e.getMessage(), e);
-
-                            if (e.getMessage().contains("429") || e.getMessage().contains("Too Many Requests")) {
-                                logger.error("Rate limiting detectado (429). Aguardando 60 segundos");
-                                try {
-                                    Thread.sleep(60000);
-                                } catch (InterruptedException ie) {
-                                    logger.error("Thread interrompida durante espera de rate limit", ie);
-                                    Thread.currentThread().interrupt();
-                                }
-                            }
-
-                            if (attempt == 2) {
-                                logger.error("Todas as 3 tentativas falharam para breed: {}", breedId);
-                                return Collections.<BreedImage>emptyList();
-                            }
-
-                            long backoffTime = (long) (Math.pow(2, attempt) * 1000);
-                            logger.debug("Aplicando backoff de {} ms antes da próxima tentativa", backoffTime);
-
-                            try {
-                                Thread.sleep(backoffTime);
-                            } catch (InterruptedException ie) {
-                                logger.error("Thread interrompida durante backoff", ie);
-                                Thread.currentThread().interrupt();
-                                return Collections.<BreedImage>emptyList();
-                            }
-                        }
-                    }
-                    return Collections.<BreedImage>emptyList();
-                }, apiExecutor))
+                .map(breedId -> fetchBreedImagesAsync(breedId)
+                        .exceptionally(ex -> Collections.<BreedImage>emptyList()))
                 .collect(Collectors.toList());
 
         logger.info("Todas as requisições assíncronas iniciadas. Aguardando conclusão...");
@@ -299,81 +163,101 @@ public class TheCatAPIClient {
                 });
     }
 
-    public CompletableFuture<List<Category>> getCategoriesAsync() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Category> categories = new ArrayList<>();
-
-            ObjectMapper objectMapper = httpUtils.getObjectMapper();
+    // A lista é montada por tentativa: um reenvio após stream parcial não soma os elementos da tentativa que falhou
+    private CompletableFuture<List<BreedImage>> fetchBreedImagesAsync(String breedId) {
+        String url = breedImagesUrl(breedId);
 
-            //category 1 = hats, 4 = sunglasses
-            try {
+        return retryScheduler.execute("/images/search", apiExecutor, () -> {
+            logger.debug("Fazendo request para URL: {}", url);
 
+            List<BreedImage> images = new ArrayList<>();
+            streamArray(url, BreedImageDTO.class, dto -> images.add(BreedImage.fromResponse(dto)));
 
-                String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/categories"))
-                        .toUriString();
-
-                ResponseEntity<String> response = restTemplate.exchange(
-                        url, HttpMethod.GET, httpUtils.createDefaultEntity(), String.class);
-
-                categories = objectMapper.readValue(
-                        response.getBody(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, Category.class));
-
-            } catch (Exception e) {
-                throw new RuntimeException("Erro ao mapear resposta JSON", e);
-            }
-
-            return categories;
-        }, apiExecutor);
+            logger.info("Sucesso ao obter {} imagens para breed {}", images.size(), breedId);
+            return images;
+        });
     }
 
-    public CompletableFuture<List<BreedImage>> getBreedImagesByCriteriaAsync(List<String> criteria) {
-        return CompletableFuture.supplyAsync(() -> {
+    public CompletableFuture<Integer> streamBreedImagesAsync(String breedId, Consumer<BreedImageDTO> consumer) {
+        logger.debug("Processando imagens para breed ID: {}", breedId);
 
-            if (criteria == null || criteria.isEmpty()) {
-                return Collections.emptyList();
-            }
-
-            List<BreedImage> breedImages = new ArrayList<>();
-
-            ObjectMapper objectMapper = httpUtils.getObjectMapper();
+        String url = breedImagesUrl(breedId);
 
-            List<String> categoryIds = categoryService.getCategoriesByNames(criteria).stream()
-                    .map(category -> String.valueOf(category.getId()))
-                    .collect(Collectors.toList());;
+        return retryScheduler.execute("/images/search", apiExecutor, () -> {
+            logger.debug("Fazendo request para URL: {}", url);
 
-            //category 1 = hats, 4 = sunglasses
-            try {
-                String categoryIdsParam = String.join(",", categoryIds);
+            // Um reenvio após falha no meio do stream entrega de novo os elementos já emitidos: o consumidor
+            // precisa tolerar ids repetidos (BatchUpsertRepository descarta repetições antes do upsert)
+            AtomicInteger count = new AtomicInteger();
+            streamArray(url, BreedImageDTO.class, dto -> {
+                consumer.accept(dto);
+                count.incrementAndGet();
+            });
 
-                String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/images/search"))
-                        .queryParam("limit", 3)
-                        .queryParam("category_ids", categoryIdsParam)
-                        .toUriString();
-
-                ResponseEntity<String> response = restTemplate.exchange(
-                        url, HttpMethod.GET, httpUtils.createDefaultEntity(), String.class);
-
-                List<BreedImageDTO> responses = objectMapper.readValue(
-                        response.getBody(),
-                        objectMapper.getTypeFactory().constructCollectionType(List.class, BreedImageDTO.class));
+            logger.info("Sucesso ao obter {} imagens para breed {}", count.get(), breedId);
+            return count.get();
+        });
+    }
 
-                List<BreedImage> batchImages = responses.stream()
-                        .map(BreedImage::fromResponse)
-                        .collect(Collectors.toList());
+    private String breedImagesUrl(String breedId) {
+        return UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/images/search"))
+                .queryParam("limit", 3)
+                .queryParam("breed_ids", breedId)
+                .toUriString();
+    }
 
-                if (batchImages != null && !batchImages.isEmpty()) {
-                    breedImages.addAll(batchImages);
-                }
+    public CompletableFuture<List<Category>> getCategoriesAsync() {
+        //category 1 = hats, 4 = sunglasses
+        String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/categories"))
+                .toUriString();
 
+        return retryScheduler.execute("/categories", apiExecutor, () -> {
+            List<Category> categories = new ArrayList<>();
+            streamArray(url, Category.class, categories::add);
+            return categories;
+        });
+    }
 
-            } catch (Exception e) {
-                throw new RuntimeException("Erro ao mapear resposta JSON", e);
-            }
+    public CompletableFuture<List<BreedImage>> getBreedImagesByCriteriaAsync(List<String> criteria) {
+        if (criteria == null || criteria.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyList());
+        }
+
+        return CompletableFuture.supplyAsync(() -> categoryService.getCategoriesByNames(criteria).stream()
+                        .map(category -> String.valueOf(category.getId()))
+                        .collect(Collectors.joining(",")), apiExecutor)
+                .thenCompose(categoryIdsParam -> {
+                    //category 1 = hats, 4 = sunglasses
+                    String url = UriComponentsBuilder.fromHttpUrl(httpUtils.buildUrl("/images/search"))
+                            .queryParam("limit", 3)
+                            .queryParam("category_ids", categoryIdsParam)
+                            .toUriString();
 
-            return breedImages;
-        }, apiExecutor);
+                    return retryScheduler.execute("/images/search", apiExecutor, () -> {
+                        List<BreedImage> breedImages = new ArrayList<>();
+                        streamArray(url, BreedImageDTO.class, dto -> breedImages.add(BreedImage.fromResponse(dto)));
+                        return breedImages;
+                    });
+                });
+    }
 
+    // Decodifica o array JSON diretamente do InputStream, entregando um elemento por vez.
+    // A permissão de rate limit já foi obtida pelo CatApiRetryScheduler antes da chamada.
+    private <T> HttpHeaders streamArray(String url, Class<T> elementType, Consumer<T> consumer) throws Exception {
+        return catApiBulkhead.call(() -> restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().addAll(httpUtils.createDefaultHeaders()),
+                response -> {
+                    rateLimiter.update(response.getHeaders());
+                    ObjectReader reader = httpUtils.getObjectMapper().readerFor(elementType);
+                    try (MappingIterator<T> iterator = reader.readValues(response.getBody())) {
+                        while (iterator.hasNextValue()) {
+                            consumer.accept(iterator.nextValue());
+                        }
+                    }
+                    return response.getHeaders();
+                }));
     }
 
+    private record BreedPage(List<Breed> breeds, int totalElements) {
+    }
 }
@@ -0,0 +1,37 @@
+package com.itau.thecatapi.client.replay;
+
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Resposta gravada da The Cat API. A chave ignora o host e a ordem dos parâmetros
+public record CatApiRecording(String method, String path, String query, int status,
+                              Map<String, List<String>> headers, String body) {
+
+    public String key() {
+        return key(method, path, query);
+    }
+
+    public static String key(String method, String path, String query) {
+        return method + " " + path + (query == null || query.isEmpty() ? "" : "?" + query);
+    }
+
+    // Caminho relativo à base da API (ex.: /breeds) e query com os parâmetros ordenados
+    public static Target target(URI uri, String basePath) {
+        String path = uri.getRawPath();
+        if (basePath != null && !basePath.isEmpty() && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        String query = UriComponentsBuilder.fromUri(uri).build().getQueryParams().entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream().map(value -> entry.getKey() + "=" + (value == null ? "" : value)))
+                .sorted()
+                .collect(Collectors.joining("&"));
+        return new Target(path.isEmpty() ? "/" : path, query);
+    }
+
+    public record Target(String path, String query) {
+    }
+}
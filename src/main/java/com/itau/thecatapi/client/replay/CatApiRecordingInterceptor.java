@@ -0,0 +1,86 @@
+package com.itau.thecatapi.client.replay;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Modo de gravação: repassa a chamada à API real e grava as respostas 2xx para o replay
+public class CatApiRecordingInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CatApiRecordingStore store;
+    private final String basePath;
+
+    public CatApiRecordingInterceptor(CatApiRecordingStore store, String basePath) {
+        this.store = store;
+        this.basePath = basePath;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        // O corpo precisa ser lido por inteiro para ser gravado; o cliente recebe uma cópia em memória
+        byte[] content = response.getBody().readAllBytes();
+        CatApiRecording.Target target = CatApiRecording.target(request.getURI(), basePath);
+        store.save(new CatApiRecording(request.getMethod().name(), target.path(), target.query(),
+                response.getStatusCode().value(), replayableHeaders(response.getHeaders()),
+                new String(content, StandardCharsets.UTF_8)));
+        return new BufferedResponse(response, content);
+    }
+
+    // Apenas cabeçalhos que fazem parte do contrato: tipo de conteúdo e paginação. Rate limit é simulado no replay
+    private static Map<String, List<String>> replayableHeaders(HttpHeaders headers) {
+        Map<String, List<String>> kept = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (lower.equals("content-type") || lower.startsWith("pagination-")) {
+                kept.put(name, List.copyOf(values));
+            }
+        });
+        return kept;
+    }
+
+    private record BufferedResponse(ClientHttpResponse delegate, byte[] content) implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.itau.thecatapi.client.replay;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Um arquivo JSON por requisição gravada, nomeado pelo hash da chave, e um índice em memória
+public class CatApiRecordingStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatApiRecordingStore.class);
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<String, CatApiRecording> recordings = new ConcurrentHashMap<>();
+
+    public CatApiRecordingStore(Path directory) {
+        this.directory = directory;
+        load();
+    }
+
+    public Optional<CatApiRecording> find(String method, String path, String query) {
+        return Optional.ofNullable(recordings.get(CatApiRecording.key(method, path, query)));
+    }
+
+    public void save(CatApiRecording recording) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(fileName(recording.key()));
+            // Escrita atômica: o replay nunca lê uma gravação pela metade
+            Path temporary = Files.createTempFile(directory, "recording", ".tmp");
+            objectMapper.writeValue(temporary.toFile(), recording);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            recordings.put(recording.key(), recording);
+            logger.debug("Resposta gravada: {} -> {}", recording.key(), target.getFileName());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao gravar resposta " + recording.key(), e);
+        }
+    }
+
+    public int size() {
+        return recordings.size();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private void load() {
+        if (!Files.isDirectory(directory)) {
+            logger.info("Diretório de gravações {} não existe; iniciando vazio", directory);
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".json")).forEach(file -> {
+                try {
+                    CatApiRecording recording = objectMapper.readValue(file.toFile(), CatApiRecording.class);
+                    recordings.put(recording.key(), recording);
+                } catch (IOException e) {
+                    logger.warn("Gravação inválida ignorada: {} ({})", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao carregar gravações de " + directory, e);
+        }
+        logger.info("{} gravações carregadas de {}", recordings.size(), directory);
+    }
+
+    private static String fileName(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + ".json";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
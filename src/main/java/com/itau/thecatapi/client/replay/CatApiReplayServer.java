@@ -0,0 +1,179 @@
+package com.itau.thecatapi.client.replay;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Substituto local da The Cat API: devolve respostas gravadas com latência, erros e 429 configuráveis.
+// Roda fora do Tomcat da aplicação, em threads próprias, para não competir com o que está sendo medido
+public class CatApiReplayServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatApiReplayServer.class);
+
+    private final CatApiRecordingStore store;
+    private final Settings settings;
+    private final Random random;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    // Janela fixa de cota, como a da API real
+    private long windowStart;
+    private int used;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public CatApiReplayServer(CatApiRecordingStore store, Settings settings) {
+        this.store = store;
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+    }
+
+    public synchronized int start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.start();
+        windowStart = System.currentTimeMillis();
+        logger.info("Replay da The Cat API ouvindo na porta {} com {} gravações ({})",
+                server.getAddress().getPort(), store.size(), settings);
+        return server.getAddress().getPort();
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            logger.info("Replay da The Cat API encerrado - {}", getStats());
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(requests.get(), replayed.get(), missing.get(), throttled.get(), failed.get());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            Draw draw = draw();
+            sleep(draw.latencyMillis());
+
+            Headers headers = exchange.getResponseHeaders();
+            Quota quota = consumeQuota(System.currentTimeMillis());
+            if (settings.quotaCapacity() > 0) {
+                headers.set("ratelimit-limit", String.valueOf(settings.quotaCapacity()));
+                headers.set("ratelimit-remaining", String.valueOf(quota.remaining()));
+                headers.set("ratelimit-reset", String.valueOf(quota.resetSeconds()));
+            }
+
+            if (!quota.allowed() || draw.tooManyRequests()) {
+                throttled.incrementAndGet();
+                headers.set("Retry-After", String.valueOf(quota.allowed() ? 1 : quota.resetSeconds()));
+                send(exchange, 429, "{\"message\":\"Too Many Requests\"}");
+                return;
+            }
+            if (draw.error()) {
+                failed.incrementAndGet();
+                send(exchange, 503, "{\"message\":\"Service Unavailable\"}");
+                return;
+            }
+
+            CatApiRecording.Target target = CatApiRecording.target(exchange.getRequestURI(), settings.basePath());
+            Optional<CatApiRecording> recording = store.find(exchange.getRequestMethod(), target.path(), target.query());
+            if (recording.isEmpty()) {
+                missing.incrementAndGet();
+                logger.warn("Sem gravação para {}", CatApiRecording.key(exchange.getRequestMethod(), target.path(), target.query()));
+                send(exchange, 404, "{\"message\":\"Sem gravação para esta requisição\"}");
+                return;
+            }
+
+            replayed.incrementAndGet();
+            recording.get().headers().forEach((name, values) -> headers.put(name, values));
+            send(exchange, recording.get().status(), recording.get().body());
+        } catch (RuntimeException e) {
+            logger.error("Erro no replay da The Cat API: {}", e.getMessage(), e);
+        }
+    }
+
+    // Sorteios feitos juntos e sob o mesmo lock: com a mesma semente, a sequência de decisões se repete
+    private synchronized Draw draw() {
+        long jitter = settings.jitterMillis() > 0 ? (long) (random.nextDouble() * settings.jitterMillis()) : 0;
+        boolean tooManyRequests = random.nextDouble() < settings.tooManyRequestsRate();
+        boolean error = random.nextDouble() < settings.errorRate();
+        return new Draw(settings.latencyMillis() + jitter, tooManyRequests, error);
+    }
+
+    private synchronized Quota consumeQuota(long now) {
+        if (settings.quotaCapacity() <= 0) {
+            return new Quota(true, Integer.MAX_VALUE, 0);
+        }
+        if (now - windowStart >= settings.quotaWindowMillis()) {
+            windowStart = now;
+            used = 0;
+        }
+        long resetSeconds = Math.max(1, (windowStart + settings.quotaWindowMillis() - now + 999) / 1000);
+        if (used >= settings.quotaCapacity()) {
+            return new Quota(false, 0, resetSeconds);
+        }
+        used++;
+        return new Quota(true, settings.quotaCapacity() - used, resetSeconds);
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (!exchange.getResponseHeaders().containsKey("Content-Type")) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        }
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public record Settings(String basePath, long latencyMillis, long jitterMillis, double errorRate,
+                           double tooManyRequestsRate, int quotaCapacity, long quotaWindowMillis, long seed) {
+
+        public static Settings passthrough(String basePath) {
+            return new Settings(basePath, 0, 0, 0, 0, 0, 60000, 42);
+        }
+    }
+
+    public record Stats(long requests, long replayed, long missing, long throttled, long failed) {
+    }
+
+    private record Draw(long latencyMillis, boolean tooManyRequests, boolean error) {
+    }
+
+    private record Quota(boolean allowed, int remaining, long resetSeconds) {
+    }
+}
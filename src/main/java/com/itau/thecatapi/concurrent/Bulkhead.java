@@ -0,0 +1,42 @@
+package com.itau.thecatapi.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Semaphore semaphore;
+
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.semaphore = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    public <T> T call(Callable<T> call) throws Exception {
+        semaphore.acquire();
+        try {
+            return call.call();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailablePermits() {
+        return semaphore.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return semaphore.getQueueLength();
+    }
+}
@@ -0,0 +1,15 @@
+package com.itau.thecatapi.concurrent;
+
+import java.util.Locale;
+
+public enum ExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    public static ExecutionMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return PLATFORM;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
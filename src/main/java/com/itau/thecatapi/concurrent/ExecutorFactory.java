@@ -0,0 +1,72 @@
+package com.itau.thecatapi.concurrent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class ExecutorFactory implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutorFactory.class);
+
+    private final ExecutionMode mode;
+
+    // Bulkheads compartilhados: limitam a concorrência pelo recurso protegido, e não pelo tamanho de cada pool
+    private final Bulkhead databaseBulkhead;
+    private final Bulkhead catApiBulkhead;
+
+    public ExecutorFactory(@Value("${thecatapi.execution.mode:platform}") String mode,
+                           @Value("${thecatapi.execution.bulkhead.database:10}") int databasePermits,
+                           @Value("${thecatapi.execution.bulkhead.catapi:20}") int catApiPermits) {
+        this.mode = ExecutionMode.from(mode);
+        this.databaseBulkhead = new Bulkhead("database", databasePermits);
+        this.catApiBulkhead = new Bulkhead("catapi", catApiPermits);
+        logger.info("Modo de execução: {} (bulkheads - database: {}, catapi: {})",
+                this.mode, databasePermits, catApiPermits);
+    }
+
+    public ExecutorService newExecutor(String name, int platformThreads) {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(platformThreads, Thread.ofPlatform().name(name + "-", 0).factory());
+    }
+
+    public ExecutionMode getMode() {
+        return mode;
+    }
+
+    public boolean isVirtual() {
+        return mode == ExecutionMode.VIRTUAL;
+    }
+
+    public Bulkhead database() {
+        return databaseBulkhead;
+    }
+
+    public Bulkhead catApi() {
+        return catApiBulkhead;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : List.of(databaseBulkhead, catApiBulkhead)) {
+            Gauge.builder("thecatapi.bulkhead.available", bulkhead, Bulkhead::getAvailablePermits)
+                    .description("Permissões livres no bulkhead")
+                    .tag("name", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("thecatapi.bulkhead.waiting", bulkhead, Bulkhead::getQueueLength)
+                    .description("Chamadas aguardando permissão no bulkhead")
+                    .tag("name", bulkhead.getName())
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.itau.thecatapi.concurrent;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public final class Streams {
+
+    // Abaixo deste tamanho o custo de dividir o trabalho no ForkJoinPool comum supera o do mapeamento
+    public static final int PARALLEL_THRESHOLD = 1000;
+
+    private Streams() {
+    }
+
+    public static <T> Stream<T> of(Collection<T> elements) {
+        return elements.size() >= PARALLEL_THRESHOLD ? elements.parallelStream() : elements.stream();
+    }
+}
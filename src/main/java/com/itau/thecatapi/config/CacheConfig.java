@@ -1,24 +1,50 @@
 package com.itau.thecatapi.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCache;
-import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    public static final String BREED_BY_ID = "breedById";
+    public static final String BREED_QUERIES = "breedQueries";
+    public static final String IMAGES_BY_BREED = "imagesByBreed";
+
     @Bean
-    public CacheManager cacheManager() {
-        SimpleCacheManager cacheManager = new SimpleCacheManager();
-        cacheManager.setCaches(Arrays.asList(
-                new ConcurrentMapCache("categories")
-        ));
+    public CacheManager cacheManager(
+            @Value("${thecatapi.cache.breed-by-id.spec:maximumSize=1000,expireAfterWrite=30m}") String breedByIdSpec,
+            @Value("${thecatapi.cache.breed-queries.spec:maximumSize=500,expireAfterWrite=10m}") String breedQueriesSpec,
+            @Value("${thecatapi.cache.images-by-breed.spec:maximumSize=2000,expireAfterWrite=10m}") String imagesByBreedSpec) {
+        return cacheManager(Map.of(
+                BREED_BY_ID, breedByIdSpec,
+                BREED_QUERIES, breedQueriesSpec,
+                IMAGES_BY_BREED, imagesByBreedSpec));
+    }
+
+    static CaffeineCacheManager cacheManager(Map<String, String> specs) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Modo assíncrono: os serviços retornam CompletableFuture, que o Caffeine guarda sem bloquear
+        cacheManager.setAsyncCacheMode(true);
+        // Sem caches dinâmicos: um nome inexistente em @Cacheable falha em vez de criar um cache sem limite
+        cacheManager.setCacheNames(List.of());
+
+        specs.forEach((name, spec) -> {
+            if (spec.contains("refreshAfterWrite")) {
+                // refreshAfterWrite exige um CacheLoader, que não existe para caches preenchidos por @Cacheable
+                throw new IllegalArgumentException("refreshAfterWrite não é suportado no cache " + name
+                        + "; use expireAfterWrite e a evicção por evento de coleta");
+            }
+            cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().buildAsync());
+        });
         return cacheManager;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.itau.thecatapi.config;
+
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidationListener(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Executa depois da reconstrução do read model, para que nenhuma leitura volte a cachear o snapshot antigo,
+    // e antes do cache de respostas serializadas, que é montado a partir destes caches
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE - 1)
+    public void onDataCollectionCompleted(DataCollectionCompletedEvent event) {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.invalidate();
+            }
+        }
+        logger.info("Caches {} invalidados após coleta concluída em {}", cacheManager.getCacheNames(), event.completedAt());
+    }
+}
@@ -0,0 +1,55 @@
+package com.itau.thecatapi.config;
+
+import com.itau.thecatapi.client.replay.CatApiRecordingInterceptor;
+import com.itau.thecatapi.client.replay.CatApiRecordingStore;
+import com.itau.thecatapi.client.replay.CatApiReplayServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+// Perfil "record": grava as respostas da API real. Perfil "replay": sobe o substituto local e
+// aponta thecatapi.base-url para ele, para medir a coleta sem depender da rede nem da cota
+@Configuration
+@Profile({"record", "replay"})
+public class CatApiReplayConfig {
+
+    static final String BASE_PATH = "/v1";
+
+    @Value("${thecatapi.replay.recordings-dir:recordings/thecatapi}")
+    private String recordingsDir;
+
+    @Bean
+    public CatApiRecordingStore catApiRecordingStore() {
+        return new CatApiRecordingStore(Path.of(recordingsDir));
+    }
+
+    @Bean
+    @Profile("record")
+    public CatApiRecordingInterceptor catApiRecordingInterceptor(CatApiRecordingStore catApiRecordingStore,
+                                                                 @Value("${thecatapi.base-url}") String baseUrl) {
+        return new CatApiRecordingInterceptor(catApiRecordingStore, URI.create(baseUrl).getPath());
+    }
+
+    @Bean(destroyMethod = "stop")
+    @Profile("replay")
+    public CatApiReplayServer catApiReplayServer(CatApiRecordingStore catApiRecordingStore,
+                                                 @Value("${thecatapi.replay.port:8089}") int port,
+                                                 @Value("${thecatapi.replay.latency-ms:0}") long latencyMillis,
+                                                 @Value("${thecatapi.replay.jitter-ms:0}") long jitterMillis,
+                                                 @Value("${thecatapi.replay.error-rate:0}") double errorRate,
+                                                 @Value("${thecatapi.replay.too-many-requests-rate:0}") double tooManyRequestsRate,
+                                                 @Value("${thecatapi.replay.quota.capacity:0}") int quotaCapacity,
+                                                 @Value("${thecatapi.replay.quota.window-ms:60000}") long quotaWindowMillis,
+                                                 @Value("${thecatapi.replay.seed:42}") long seed) throws IOException {
+        CatApiReplayServer server = new CatApiReplayServer(catApiRecordingStore, new CatApiReplayServer.Settings(
+                BASE_PATH, latencyMillis, jitterMillis, errorRate, tooManyRequestsRate,
+                quotaCapacity, quotaWindowMillis, seed));
+        server.start(port);
+        return server;
+    }
+}
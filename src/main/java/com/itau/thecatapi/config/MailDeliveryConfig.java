@@ -0,0 +1,32 @@
+package com.itau.thecatapi.config;
+
+import com.itau.thecatapi.service.mail.MailDeliveryEngine;
+import com.itau.thecatapi.service.mail.SmtpTransportPool;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.TimeUnit;
+
+// Reaproveita a sessão e as credenciais do JavaMailSender do Spring Boot (spring.mail.*), trocando a conexão
+// nova por mensagem do mailSender.send() por conexões autenticadas mantidas em pool
+@Configuration
+public class MailDeliveryConfig {
+
+    @Bean(destroyMethod = "close")
+    public MailDeliveryEngine mailDeliveryEngine(JavaMailSenderImpl mailSender,
+                                                 @Value("${thecatapi.mail.delivery.max-connections:4}") int maxConnections,
+                                                 @Value("${thecatapi.mail.delivery.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                                                 @Value("${thecatapi.mail.delivery.max-idle-seconds:30}") long maxIdleSeconds,
+                                                 @Value("${thecatapi.mail.delivery.batch-size:20}") int batchSize,
+                                                 @Value("${thecatapi.mail.delivery.max-attempts:4}") int maxAttempts,
+                                                 @Value("${thecatapi.mail.delivery.retry-backoff-ms:1000}") long retryBackoffMillis,
+                                                 @Value("${thecatapi.mail.delivery.domain-rate-per-minute:120}") int domainRatePerMinute) {
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender.getSession(), mailSender.getProtocol(),
+                mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword(),
+                maxConnections, maxMessagesPerConnection, TimeUnit.SECONDS.toMillis(maxIdleSeconds));
+        // Um worker por conexão: cada um envia seu lote pela conexão que pegou do pool
+        return new MailDeliveryEngine(pool, maxConnections, batchSize, maxAttempts, retryBackoffMillis, domainRatePerMinute);
+    }
+}
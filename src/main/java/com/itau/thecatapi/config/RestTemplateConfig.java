@@ -1,14 +1,79 @@
 package com.itau.thecatapi.config;
 
+import com.itau.thecatapi.client.replay.CatApiRecordingInterceptor;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${thecatapi.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${thecatapi.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${thecatapi.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMillis;
+
+    @Value("${thecatapi.http.read-timeout-ms:10000}")
+    private long readTimeoutMillis;
+
+    @Value("${thecatapi.http.idle-eviction-ms:30000}")
+    private long idleEvictionMillis;
+
+    @Bean
+    public PoolingHttpClientConnectionManager catApiConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public CloseableHttpClient catApiHttpClient(PoolingHttpClientConnectionManager catApiConnectionManager) {
+        // A compressão fica habilitada por padrão: envia Accept-Encoding gzip/deflate e descompacta a resposta
+        return HttpClients.custom()
+                .setConnectionManager(catApiConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMillis))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient catApiHttpClient,
+                                     ObjectProvider<CatApiRecordingInterceptor> recordingInterceptor) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(catApiHttpClient));
+        // Só existe no perfil "record"
+        recordingInterceptor.ifAvailable(restTemplate.getInterceptors()::add);
+        return restTemplate;
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder catApiConnectionPoolMetrics(PoolingHttpClientConnectionManager catApiConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(catApiConnectionManager, "thecatapi");
     }
 }
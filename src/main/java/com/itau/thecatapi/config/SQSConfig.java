@@ -1,18 +1,26 @@
 package com.itau.thecatapi.config;
 
+import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
+import io.awspring.cloud.sqs.listener.ListenerMode;
+import io.awspring.cloud.sqs.listener.acknowledgement.handler.AcknowledgementMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 
+import java.time.Duration;
+
 @Configuration
 public class SQSConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(SQSConfig.class);
 
+    public static final String BATCH_LISTENER_FACTORY = "batchSqsListenerContainerFactory";
+
     @Value("${spring.cloud.aws.sqs.queue.url}")
     private String breedQueueUrl;
 
@@ -27,4 +35,25 @@ public class SQSConfig {
     public String breedQueueUrl() {
         return breedQueueUrl;
     }
+
+    // Só existe no modo em lote: declarar uma fábrica desativa a padrão da autoconfiguração,
+    // usada pelo listener unitário
+    @Bean(BATCH_LISTENER_FACTORY)
+    @ConditionalOnProperty(name = "thecatapi.sqs.listener.mode", havingValue = "batch")
+    public SqsMessageListenerContainerFactory<Object> batchSqsListenerContainerFactory(
+            SqsAsyncClient sqsAsyncClient,
+            @Value("${thecatapi.sqs.batch.max-messages-per-poll:10}") int maxMessagesPerPoll,
+            @Value("${thecatapi.sqs.batch.max-in-flight:20}") int maxInFlight,
+            @Value("${thecatapi.sqs.batch.visibility-timeout-seconds:30}") int visibilityTimeoutSeconds) {
+        logger.info("Fábrica SQS em lote - {} mensagens por poll, {} em voo", maxMessagesPerPoll, maxInFlight);
+        return SqsMessageListenerContainerFactory.builder()
+                .sqsAsyncClient(sqsAsyncClient)
+                .configure(options -> options
+                        .listenerMode(ListenerMode.BATCH)
+                        .acknowledgementMode(AcknowledgementMode.MANUAL)
+                        .maxMessagesPerPoll(maxMessagesPerPoll)
+                        .maxConcurrentMessages(maxInFlight)
+                        .messageVisibility(Duration.ofSeconds(visibilityTimeoutSeconds)))
+                .build();
+    }
 }
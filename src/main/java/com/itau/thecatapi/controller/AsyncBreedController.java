@@ -1,16 +1,18 @@
 package com.itau.thecatapi.controller;
 
 import com.itau.thecatapi.message.BreedRequestMessage;
-import com.itau.thecatapi.service.SQSMessagingService;
+import com.itau.thecatapi.service.BreedRequestPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/async/breeds")
@@ -19,70 +21,64 @@ public class AsyncBreedController {
     private static final Logger logger = LoggerFactory.getLogger(AsyncBreedController.class);
 
     @Autowired
-    private SQSMessagingService sqsMessagingService;
+    private BreedRequestPublisher breedRequestPublisher;
 
     @PostMapping("/all")
-    public ResponseEntity<Map<String, Object>> getAllBreedsAsync(@RequestParam String email) {
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getAllBreedsAsync(@RequestParam String email) {
         logger.info("Recebida requisição assíncrona para listar todas as raças. Email: {}", email);
 
         BreedRequestMessage request = new BreedRequestMessage(email, null, null, null);
-        sqsMessagingService.sendBreedRequest(request);
-
-        Map<String, Object> response = new HashMap<>();
-        response.put("message", "Requisição recebida com sucesso");
-        response.put("status", "processing");
-        response.put("email", email);
-        response.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.accepted().body(response);
+        return enqueue(request, "Requisição recebida com sucesso");
     }
 
     @PostMapping("/breed/{breedId}")
-    public ResponseEntity<Map<String, Object>> getBreedByIdAsync(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getBreedByIdAsync(
             @PathVariable String breedId,
             @RequestParam String email) {
 
         logger.info("Recebida requisição assíncrona para raça: {}. Email: {}", breedId, email);
 
         BreedRequestMessage request = new BreedRequestMessage(email, breedId, null, null);
-        sqsMessagingService.sendBreedRequest(request);
-
-        Map<String, Object> response = buildResponse("Informações da raça serão enviadas por email", email);
-        return ResponseEntity.accepted().body(response);
+        return enqueue(request, "Informações da raça serão enviadas por email");
     }
 
     @PostMapping("/temperament")
-    public ResponseEntity<Map<String, Object>> getBreedsByTemperamentAsync(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getBreedsByTemperamentAsync(
             @RequestParam String temperament,
             @RequestParam String email) {
 
         logger.info("Recebida requisição assíncrona por temperamento: {}. Email: {}", temperament, email);
 
         BreedRequestMessage request = new BreedRequestMessage(email, null, null, temperament);
-        sqsMessagingService.sendBreedRequest(request);
-
-        Map<String, Object> response = buildResponse("Raças por temperamento serão enviadas por email", email);
-        return ResponseEntity.accepted().body(response);
+        return enqueue(request, "Raças por temperamento serão enviadas por email");
     }
 
     @PostMapping("/origin")
-    public ResponseEntity<Map<String, Object>> getBreedsByOriginAsync(
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getBreedsByOriginAsync(
             @RequestParam String origin,
             @RequestParam String email) {
 
         logger.info("Recebida requisição assíncrona por origem: {}. Email: {}", origin, email);
 
         BreedRequestMessage request = new BreedRequestMessage(email, null, origin, null);
-        sqsMessagingService.sendBreedRequest(request);
+        return enqueue(request, "Raças por origem serão enviadas por email");
+    }
 
-        Map<String, Object> response = buildResponse("Raças por origem serão enviadas por email", email);
-        return ResponseEntity.accepted().body(response);
+    // 202 só depois que a fila aceitou a mensagem; uma falha no envio (já com as retentativas do lote) vira 503
+    private CompletableFuture<ResponseEntity<Map<String, Object>>> enqueue(BreedRequestMessage request, String message) {
+        return breedRequestPublisher.sendBreedRequest(request)
+                .thenApply(sent -> ResponseEntity.accepted().body(buildResponse(message, "processing", request.getEmail())))
+                .exceptionally(ex -> {
+                    logger.error("Falha ao enfileirar requisição assíncrona. Email: {}: {}", request.getEmail(), ex.getMessage());
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(buildResponse(
+                            "Não foi possível registrar a requisição; tente novamente", "failed", request.getEmail()));
+                });
     }
 
-    private Map<String, Object> buildResponse(String message, String email) {
+    private Map<String, Object> buildResponse(String message, String status, String email) {
         Map<String, Object> response = new HashMap<>();
         response.put("message", message);
-        response.put("status", "processing");
+        response.put("status", status);
         response.put("email", email);
         response.put("timestamp", LocalDateTime.now());
         return response;
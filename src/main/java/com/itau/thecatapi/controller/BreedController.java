@@ -1,17 +1,24 @@
 package com.itau.thecatapi.controller;
 
 import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
 import com.itau.thecatapi.exception.ResourceNotFoundException;
 import com.itau.thecatapi.service.BreedService;
+import com.itau.thecatapi.service.BreedStreamService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -21,9 +28,14 @@ public class BreedController {
 
     private static final Logger logger = LoggerFactory.getLogger(BreedController.class);
 
+    static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private BreedService breedService;
 
+    @Autowired
+    private BreedStreamService breedStreamService;
+
     @GetMapping
     public CompletableFuture<ResponseEntity<List<BreedResponseDTO>>> getBreeds(
             @RequestParam(required = false) String temperament,
@@ -128,6 +140,40 @@ public class BreedController {
         }
     }
 
+    // Paginação por cursor: ativada pelo parâmetro limit, mantendo a resposta em lista para os clientes atuais
+    @GetMapping(params = "limit")
+    public CompletableFuture<ResponseEntity<CursorPageDTO<BreedResponseDTO>>> getBreedsPage(
+            @RequestParam(required = false) String temperament,
+            @RequestParam(required = false) String origin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam int limit,
+            UriComponentsBuilder uriBuilder) {
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        logger.info("Iniciando consulta paginada de raças - temperament: {}, origin: {}, limit: {}",
+                temperament, origin, pageSize);
+
+        return breedService.getBreedsPage(temperament, origin, cursor, pageSize)
+                .thenApply(page -> {
+                    logger.info("Página com {} raças retornada", page.items().size());
+                    return ResponseEntity.ok()
+                            .header(HttpHeaders.LINK, links(uriBuilder, temperament, origin, pageSize, page.next()))
+                            .body(page);
+                });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBreeds(
+            @RequestParam(required = false) String temperament,
+            @RequestParam(required = false) String origin) {
+
+        logger.info("Iniciando streaming NDJSON de raças - temperament: {}, origin: {}", temperament, origin);
+        StreamingResponseBody body = outputStream -> breedStreamService.writeNdjson(temperament, origin, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     public CompletableFuture<ResponseEntity<BreedResponseDTO>> getBreedById(@PathVariable String id) {
         logger.info("Iniciando consulta de raça por ID: {}", id);
@@ -155,5 +201,19 @@ public class BreedController {
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
                 });
     }
-}
 
+    private static String links(UriComponentsBuilder uriBuilder, String temperament, String origin,
+                                int limit, String next) {
+        UriComponentsBuilder base = uriBuilder.cloneBuilder()
+                .path("/api/breeds")
+                .queryParamIfPresent("temperament", Optional.ofNullable(temperament))
+                .queryParamIfPresent("origin", Optional.ofNullable(origin))
+                .queryParam("limit", limit);
+
+        String first = "<" + base.cloneBuilder().encode().toUriString() + ">; rel=\"first\"";
+        if (next == null) {
+            return first;
+        }
+        return first + ", <" + base.cloneBuilder().queryParam("cursor", next).encode().toUriString() + ">; rel=\"next\"";
+    }
+}
@@ -0,0 +1,52 @@
+package com.itau.thecatapi.controller;
+
+import com.itau.thecatapi.dto.BreedImageResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
+import com.itau.thecatapi.service.BreedImageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+@RestController
+@RequestMapping("/api/images")
+public class BreedImageController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedImageController.class);
+
+    static final int MAX_LIMIT = 100;
+
+    private final BreedImageService breedImageService;
+
+    public BreedImageController(BreedImageService breedImageService) {
+        this.breedImageService = breedImageService;
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<CursorPageDTO<BreedImageResponseDTO>>> getImages(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        logger.info("Recebida requisição de página de imagens - limit: {}", limit);
+        return breedImageService.getImagesPage(cursor, clamp(limit))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @GetMapping("/breed/{breedId}")
+    public CompletableFuture<ResponseEntity<CursorPageDTO<BreedImageResponseDTO>>> getImagesByBreed(
+            @PathVariable String breedId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        logger.info("Recebida requisição de página de imagens da raça {} - limit: {}", breedId, limit);
+        return breedImageService.getImagesByBreedIdPage(breedId, cursor, clamp(limit))
+                .thenApply(ResponseEntity::ok);
+    }
+
+    // O tamanho da página é limitado para que nenhuma requisição volte a carregar a tabela inteira
+    private static int clamp(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
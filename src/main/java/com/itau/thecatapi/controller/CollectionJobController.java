@@ -0,0 +1,48 @@
+package com.itau.thecatapi.controller;
+
+import com.itau.thecatapi.dto.CollectionJobStatusDTO;
+import com.itau.thecatapi.service.job.CollectionJobService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/external/jobs")
+public class CollectionJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionJobController.class);
+
+    private final CollectionJobService collectionJobService;
+
+    public CollectionJobController(CollectionJobService collectionJobService) {
+        this.collectionJobService = collectionJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<CollectionJobStatusDTO> startJob() {
+        logger.info("Recebida requisição para iniciar job de coleta");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(collectionJobService.startJob());
+    }
+
+    @GetMapping("/latest")
+    public ResponseEntity<CollectionJobStatusDTO> getLatestJob() {
+        logger.info("Recebida requisição para consultar o último job de coleta");
+        return collectionJobService.getLatestStatus()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CollectionJobStatusDTO> getJob(@PathVariable Long id) {
+        logger.info("Recebida requisição para consultar job de coleta {}", id);
+        return ResponseEntity.ok(collectionJobService.getStatus(id));
+    }
+
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<CollectionJobStatusDTO> retryJob(@PathVariable Long id) {
+        logger.info("Recebida requisição para reprocessar unidades com falha do job {}", id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(collectionJobService.retryFailedUnits(id));
+    }
+}
@@ -1,12 +1,16 @@
 package com.itau.thecatapi.controller;
 
 import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.dto.SyncSummaryDTO;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.model.BreedImage;
 import com.itau.thecatapi.model.Category;
 import com.itau.thecatapi.service.DataCollectionService;
+import com.itau.thecatapi.service.IncrementalSyncService;
+import com.itau.thecatapi.service.scheduler.DataCollectionLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -23,10 +27,15 @@ public class ExternalApiController {
 
     private final TheCatAPIClient theCatAPIClient;
     private final DataCollectionService dataCollectionService;
+    private final IncrementalSyncService incrementalSyncService;
+    private final DataCollectionLock dataCollectionLock;
 
-    public ExternalApiController(TheCatAPIClient theCatAPIClient, DataCollectionService dataCollectionService) {
+    public ExternalApiController(TheCatAPIClient theCatAPIClient, DataCollectionService dataCollectionService,
+                                 IncrementalSyncService incrementalSyncService, DataCollectionLock dataCollectionLock) {
         this.theCatAPIClient = theCatAPIClient;
         this.dataCollectionService = dataCollectionService;
+        this.incrementalSyncService = incrementalSyncService;
+        this.dataCollectionLock = dataCollectionLock;
     }
 
     @GetMapping("/breeds")
@@ -66,12 +75,32 @@ public class ExternalApiController {
 
     @GetMapping("/collect-data")
     public CompletableFuture<ResponseEntity<Void>> collectData() {
-        logger.info("Recebida requisição para listar categorias");
-        return dataCollectionService.collectAllData()
-                .thenApply(ResponseEntity::ok)
-                .exceptionally(ex -> {
-                    logger.error("Erro ao coletar dados", ex);
-                    return ResponseEntity.internalServerError().build();
-                });
+        logger.info("Recebida requisição para coletar dados");
+        return dataCollectionLock.runExclusive(dataCollectionService::collectAllData)
+                .map(collection -> collection
+                        .thenApply(ResponseEntity::ok)
+                        .exceptionally(ex -> {
+                            logger.error("Erro ao coletar dados", ex);
+                            return ResponseEntity.internalServerError().build();
+                        }))
+                .orElseGet(ExternalApiController::collectionInProgress);
+    }
+
+    @GetMapping("/sync-data")
+    public CompletableFuture<ResponseEntity<SyncSummaryDTO>> syncData() {
+        logger.info("Recebida requisição para sincronização incremental");
+        return dataCollectionLock.runExclusive(incrementalSyncService::syncAsync)
+                .map(sync -> sync
+                        .thenApply(ResponseEntity::ok)
+                        .exceptionally(ex -> {
+                            logger.error("Erro ao sincronizar dados", ex);
+                            return ResponseEntity.internalServerError().build();
+                        }))
+                .orElseGet(ExternalApiController::collectionInProgress);
+    }
+
+    private static <T> CompletableFuture<ResponseEntity<T>> collectionInProgress() {
+        logger.info("Coleta recusada: outra instância está coletando");
+        return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).build());
     }
 }
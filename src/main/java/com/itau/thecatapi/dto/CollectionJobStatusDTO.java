@@ -0,0 +1,21 @@
+package com.itau.thecatapi.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record CollectionJobStatusDTO(Long id,
+                                     String status,
+                                     Instant startedAt,
+                                     Instant finishedAt,
+                                     int totalUnits,
+                                     int completedUnits,
+                                     int failedUnits,
+                                     int pendingUnits,
+                                     long itemsCollected,
+                                     double unitsPerSecond,
+                                     Long etaSeconds,
+                                     List<FailedUnit> failures) {
+
+    public record FailedUnit(String type, String key, int attempts, String lastError) {
+    }
+}
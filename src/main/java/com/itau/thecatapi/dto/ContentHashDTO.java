@@ -0,0 +1,4 @@
+package com.itau.thecatapi.dto;
+
+public record ContentHashDTO(String id, String contentHash) {
+}
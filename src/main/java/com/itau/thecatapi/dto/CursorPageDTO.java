@@ -0,0 +1,43 @@
+package com.itau.thecatapi.dto;
+
+import com.itau.thecatapi.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// Página de uma consulta por cursor. "next" é opaco para o cliente e vem nulo na última página
+public record CursorPageDTO<T>(List<T> items, String next) {
+
+    // Início da paginação: todo id é maior que a string vazia
+    public static final String FIRST = "";
+
+    // Recebe até limit + 1 itens; o item excedente só indica que existe uma próxima página
+    public static <T> CursorPageDTO<T> of(List<T> fetched, int limit, Function<T, String> keyExtractor) {
+        if (fetched.size() <= limit) {
+            return new CursorPageDTO<>(List.copyOf(fetched), null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, limit));
+        return new CursorPageDTO<>(items, encode(keyExtractor.apply(items.get(limit - 1))));
+    }
+
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (key.isEmpty()) {
+                throw new InvalidCursorException("Cursor inválido: " + cursor);
+            }
+            return key;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.itau.thecatapi.dto;
+
+public record ImageSyncStateDTO(String id, String contentHash, String breedId, Integer categoryId) {
+}
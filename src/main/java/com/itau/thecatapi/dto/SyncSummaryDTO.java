@@ -0,0 +1,16 @@
+package com.itau.thecatapi.dto;
+
+public record SyncSummaryDTO(EntityChanges breeds, EntityChanges categories, EntityChanges images,
+                             long durationMillis) {
+
+    public boolean hasChanges() {
+        return breeds.hasChanges() || categories.hasChanges() || images.hasChanges();
+    }
+
+    public record EntityChanges(int inserted, int updated, int deleted, int unchanged) {
+
+        public boolean hasChanges() {
+            return inserted + updated + deleted > 0;
+        }
+    }
+}
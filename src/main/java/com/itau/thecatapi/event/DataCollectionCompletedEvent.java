@@ -0,0 +1,6 @@
+package com.itau.thecatapi.event;
+
+import java.time.Instant;
+
+public record DataCollectionCompletedEvent(Instant completedAt) {
+}
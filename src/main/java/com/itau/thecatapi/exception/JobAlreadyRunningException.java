@@ -0,0 +1,7 @@
+package com.itau.thecatapi.exception;
+
+public class JobAlreadyRunningException extends RuntimeException {
+    public JobAlreadyRunningException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package com.itau.thecatapi.message;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+// A consulta de uma BreedRequestMessage, sem o destinatário. Origem e temperamento são comparados sem
+// diferenciar maiúsculas, como nas consultas do BreedService
+public record BreedQuery(String breedId, String origin, String temperament) {
+
+    public static BreedQuery of(BreedRequestMessage message) {
+        return new BreedQuery(trim(message.getBreedId()), normalize(message.getOrigin()),
+                normalize(message.getTemperament()));
+    }
+
+    // Mesma consulta para o mesmo destinatário gera o mesmo id: reenvios dentro da janela de
+    // deduplicação da fila FIFO (5 minutos) não chegam ao consumidor
+    public static String deduplicationId(BreedRequestMessage message) {
+        BreedQuery query = of(message);
+        String content = String.join("\u0000", String.valueOf(normalize(message.getEmail())),
+                String.valueOf(query.breedId()), String.valueOf(query.origin()), String.valueOf(query.temperament()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,6 @@
 package com.itau.thecatapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.hibernate.annotations.DynamicUpdate;
@@ -122,6 +123,11 @@ public class Breed {
     @Embedded
     private Weight weight;
 
+    // Impressão digital do registro no upstream, usada pela sincronização incremental
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     public Breed(String id, String name, String temperament, String origin, String countryCodes, String countryCode, String description, String lifeSpan, Integer indoor, Integer lap, String altNames, Integer adaptability, Integer affectionLevel, Integer childFriendly, Integer dogFriendly, Integer energyLevel, Integer grooming, Integer healthIssues, Integer intelligence, Integer sheddingLevel, Integer socialNeeds, Integer strangerFriendly, Integer vocalisation, Integer experimental, Integer hairless, Integer natural, Integer rare, Integer rex, Integer suppressedTail, Integer shortLegs, String wikipediaUrl, Integer hypoallergenic, String cfaUrl, String vetstreetUrl, String vcahospitalsUrl, String referenceImageId, Weight weight) {
         this.id = id;
         this.name = name;
@@ -461,6 +467,14 @@ public class Breed {
         this.weight = weight;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     @Embeddable
     public static class Weight {
 
@@ -1,5 +1,6 @@
 package com.itau.thecatapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.itau.thecatapi.dto.BreedImageDTO;
 import jakarta.persistence.*;
@@ -7,7 +8,8 @@ import lombok.Data;
 import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "images")
+// Índice composto para a paginação por cursor dentro de uma raça (where breed_id = ? and id > ? order by id)
+@Table(name = "images", indexes = @Index(name = "idx_images_breed_id_id", columnList = "breed_id, id"))
 @Data
 @DynamicUpdate
 public class BreedImage {
@@ -36,6 +38,11 @@ public class BreedImage {
     @JoinColumn(name = "category_id", referencedColumnName = "id")
     private Category category;
 
+    // Impressão digital do registro no upstream, usada pela sincronização incremental
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @JsonProperty("breed")
     public String getBreedIdOnly() {
         return breed != null ? breed.getId() : null;
@@ -115,6 +122,14 @@ public class BreedImage {
         this.category = category;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public static BreedImage fromResponse(BreedImageDTO response) {
         Breed breed = null;
         if (response.getBreeds() != null && !response.getBreeds().isEmpty()) {
@@ -1,5 +1,6 @@
 package com.itau.thecatapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -22,6 +23,11 @@ public class Category { // CATegory
     @Column(name = "name")
     private String name;
 
+    // Impressão digital do registro no upstream, usada pela sincronização incremental
+    @JsonIgnore
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     public Category() {
     }
 
@@ -46,6 +52,14 @@ public class Category { // CATegory
         this.name = name;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     @Override
     public String toString() {
         return "Category{" +
@@ -0,0 +1,37 @@
+package com.itau.thecatapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+// Tabela de lock compartilhada entre as instâncias; lida e escrita via ClusterLockRepository (JDBC)
+@Entity
+@Table(name = "cluster_lock")
+@Data
+public class ClusterLock {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private OffsetDateTime lockedAt;
+
+    // Expiração do lock: protege contra um líder que caiu sem liberar
+    @Column(name = "lock_until", nullable = false)
+    private OffsetDateTime lockUntil;
+
+    // Última coleta que alterou dados; as demais instâncias acompanham esta coluna para atualizar caches
+    @Column(name = "data_changed_at")
+    private OffsetDateTime dataChangedAt;
+
+    public ClusterLock() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.itau.thecatapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "collection_job")
+@Data
+public class CollectionJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    // Início da execução atual (criação, retomada após restart ou retry); base do cálculo de vazão
+    @Column(name = "resumed_at", nullable = false)
+    private Instant resumedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public CollectionJob() {
+    }
+
+    public static CollectionJob start(Instant now) {
+        CollectionJob job = new CollectionJob();
+        job.setStatus(Status.RUNNING);
+        job.setStartedAt(now);
+        job.setResumedAt(now);
+        return job;
+    }
+}
@@ -0,0 +1,62 @@
+package com.itau.thecatapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "collection_job_unit",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"job_id", "type", "unit_key"}),
+        indexes = @Index(columnList = "job_id"))
+@Data
+public class CollectionJobUnit {
+
+    public enum Type { CATEGORIES, BREEDS, BREED_IMAGES, CRITERIA_IMAGES }
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 20, nullable = false)
+    private Type type;
+
+    // ID da raça ou nome da categoria, conforme o tipo da unidade
+    @Column(name = "unit_key", length = 100, nullable = false)
+    private String unitKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "item_count", nullable = false)
+    private int itemCount;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public CollectionJobUnit() {
+    }
+
+    public static CollectionJobUnit pending(Long jobId, Type type, String unitKey) {
+        CollectionJobUnit unit = new CollectionJobUnit();
+        unit.setJobId(jobId);
+        unit.setType(type);
+        unit.setUnitKey(unitKey);
+        unit.setStatus(Status.PENDING);
+        return unit;
+    }
+}
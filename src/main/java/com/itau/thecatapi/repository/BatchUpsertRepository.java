@@ -0,0 +1,225 @@
+package com.itau.thecatapi.repository;
+
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.Category;
+import com.itau.thecatapi.utils.ContentHashes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Persistência em lote para a coleta: INSERT ... ON CONFLICT DO UPDATE via JDBC, sem o SELECT por entidade do merge
+@Repository
+public class BatchUpsertRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchUpsertRepository.class);
+
+    private static final List<Column<Breed>> BREED_COLUMNS = List.of(
+            new Column<>("id", Types.VARCHAR, Breed::getId),
+            new Column<>("name", Types.VARCHAR, Breed::getName),
+            new Column<>("temperament", Types.VARCHAR, Breed::getTemperament),
+            new Column<>("origin", Types.VARCHAR, Breed::getOrigin),
+            new Column<>("country_codes", Types.VARCHAR, Breed::getCountryCodes),
+            new Column<>("country_code", Types.VARCHAR, Breed::getCountryCode),
+            new Column<>("description", Types.VARCHAR, Breed::getDescription),
+            new Column<>("life_span", Types.VARCHAR, Breed::getLifeSpan),
+            new Column<>("indoor", Types.INTEGER, Breed::getIndoor),
+            new Column<>("lap", Types.INTEGER, Breed::getLap),
+            new Column<>("alt_names", Types.VARCHAR, Breed::getAltNames),
+            new Column<>("adaptability", Types.INTEGER, Breed::getAdaptability),
+            new Column<>("affection_level", Types.INTEGER, Breed::getAffectionLevel),
+            new Column<>("child_friendly", Types.INTEGER, Breed::getChildFriendly),
+            new Column<>("dog_friendly", Types.INTEGER, Breed::getDogFriendly),
+            new Column<>("energy_level", Types.INTEGER, Breed::getEnergyLevel),
+            new Column<>("grooming", Types.INTEGER, Breed::getGrooming),
+            new Column<>("health_issues", Types.INTEGER, Breed::getHealthIssues),
+            new Column<>("intelligence", Types.INTEGER, Breed::getIntelligence),
+            new Column<>("shedding_level", Types.INTEGER, Breed::getSheddingLevel),
+            new Column<>("social_needs", Types.INTEGER, Breed::getSocialNeeds),
+            new Column<>("stranger_friendly", Types.INTEGER, Breed::getStrangerFriendly),
+            new Column<>("vocalisation", Types.INTEGER, Breed::getVocalisation),
+            new Column<>("experimental", Types.INTEGER, Breed::getExperimental),
+            new Column<>("hairless", Types.INTEGER, Breed::getHairless),
+            new Column<>("\"natural\"", Types.INTEGER, Breed::getNatural),
+            new Column<>("rare", Types.INTEGER, Breed::getRare),
+            new Column<>("rex", Types.INTEGER, Breed::getRex),
+            new Column<>("suppressed_tail", Types.INTEGER, Breed::getSuppressedTail),
+            new Column<>("short_legs", Types.INTEGER, Breed::getShortLegs),
+            new Column<>("wikipedia_url", Types.VARCHAR, Breed::getWikipediaUrl),
+            new Column<>("hypoallergenic", Types.INTEGER, Breed::getHypoallergenic),
+            new Column<>("cfa_url", Types.VARCHAR, Breed::getCfaUrl),
+            new Column<>("vetstreet_url", Types.VARCHAR, Breed::getVetstreetUrl),
+            new Column<>("vcahospitals_url", Types.VARCHAR, Breed::getVcahospitalsUrl),
+            new Column<>("reference_image_id", Types.VARCHAR, Breed::getReferenceImageId),
+            new Column<>("weight_imperial", Types.VARCHAR,
+                    breed -> breed.getWeight() != null ? breed.getWeight().getImperial() : null),
+            new Column<>("weight_metric", Types.VARCHAR,
+                    breed -> breed.getWeight() != null ? breed.getWeight().getMetric() : null),
+            new Column<>("content_hash", Types.VARCHAR, ContentHashes::breed));
+
+    private static final List<Column<Category>> CATEGORY_COLUMNS = List.of(
+            new Column<>("id", Types.INTEGER, Category::getId),
+            new Column<>("name", Types.VARCHAR, Category::getName),
+            new Column<>("content_hash", Types.VARCHAR, ContentHashes::category));
+
+    private static final List<Column<BreedImage>> IMAGE_COLUMNS = List.of(
+            new Column<>("id", Types.VARCHAR, BreedImage::getId),
+            new Column<>("url", Types.VARCHAR, BreedImage::getUrl),
+            new Column<>("width", Types.INTEGER, BreedImage::getWidth),
+            new Column<>("height", Types.INTEGER, BreedImage::getHeight),
+            new Column<>("favourite", Types.BOOLEAN, BreedImage::getFavourite),
+            new Column<>("breed_id", Types.VARCHAR, BreedImage::getBreedIdOnly),
+            new Column<>("category_id", Types.INTEGER, BreedImage::getCategoryIdOnly),
+            new Column<>("content_hash", Types.VARCHAR, ContentHashes::image));
+
+    // A mesma imagem chega pela busca por raça e pela busca por categoria, e o favorito é
+    // alterado pelo usuário: valores nulos do upstream não sobrescrevem o que já está salvo
+    private static final Map<String, String> IMAGE_UPDATE_OVERRIDES = Map.of(
+            "favourite", "COALESCE(EXCLUDED.favourite, images.favourite)",
+            "breed_id", "COALESCE(EXCLUDED.breed_id, images.breed_id)",
+            "category_id", "COALESCE(EXCLUDED.category_id, images.category_id)");
+
+    static final String BREED_UPSERT_SQL = upsertSql("breeds", BREED_COLUMNS, Map.of());
+    static final String CATEGORY_UPSERT_SQL = upsertSql("category", CATEGORY_COLUMNS, Map.of());
+    static final String IMAGE_UPSERT_SQL = upsertSql("images", IMAGE_COLUMNS, IMAGE_UPDATE_OVERRIDES);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+
+    public BatchUpsertRepository(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                                 @Value("${thecatapi.persistence.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public List<Breed> upsertBreeds(List<Breed> breeds) {
+        return upsert("breeds", BREED_UPSERT_SQL, BREED_COLUMNS, distinctById(breeds, Breed::getId));
+    }
+
+    @Transactional
+    public List<Category> upsertCategories(List<Category> categories) {
+        return upsert("category", CATEGORY_UPSERT_SQL, CATEGORY_COLUMNS, distinctById(categories, Category::getId));
+    }
+
+    @Transactional
+    public List<BreedImage> upsertImages(List<BreedImage> images) {
+        return upsert("images", IMAGE_UPSERT_SQL, IMAGE_COLUMNS, distinctById(images, BreedImage::getId));
+    }
+
+    // Imagens da raça removida deixam de fazer sentido; são apagadas antes por causa da FK
+    @Transactional
+    public int deleteBreeds(List<String> breedIds) {
+        if (breedIds.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM images WHERE breed_id = ?", breedIds, batchSize,
+                (ps, id) -> ps.setString(1, id));
+        jdbcTemplate.batchUpdate("DELETE FROM breeds WHERE id = ?", breedIds, batchSize,
+                (ps, id) -> ps.setString(1, id));
+        logger.info("{} raças removidas do upstream foram apagadas", breedIds.size());
+        return breedIds.size();
+    }
+
+    // As imagens continuam válidas sem a categoria; apenas a referência é desfeita
+    @Transactional
+    public int deleteCategories(List<Integer> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate("UPDATE images SET category_id = NULL WHERE category_id = ?", categoryIds, batchSize,
+                (ps, id) -> ps.setInt(1, id));
+        jdbcTemplate.batchUpdate("DELETE FROM category WHERE id = ?", categoryIds, batchSize,
+                (ps, id) -> ps.setInt(1, id));
+        logger.info("{} categorias removidas do upstream foram apagadas", categoryIds.size());
+        return categoryIds.size();
+    }
+
+    private <T> List<T> upsert(String table, String sql, List<Column<T>> columns, List<T> rows) {
+        if (rows == null || rows.isEmpty()) {
+            return rows == null ? List.of() : rows;
+        }
+
+        long startTime = System.nanoTime();
+        jdbcTemplate.batchUpdate(sql, rows, batchSize, (ps, row) -> bind(ps, columns, row));
+        long elapsedNanos = System.nanoTime() - startTime;
+
+        double rowsPerSecond = rows.size() / Math.max(elapsedNanos / 1_000_000_000.0, 1e-9);
+        logger.info("Upsert em lote de {} linhas em '{}' concluído em {} ms ({} linhas/s)",
+                rows.size(), table, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), String.format("%.0f", rowsPerSecond));
+
+        Timer.builder("thecatapi.persistence.upsert")
+                .description("Tempo de upsert em lote por tabela")
+                .tag("table", table)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Counter.builder("thecatapi.persistence.rows")
+                .description("Linhas gravadas por upsert em lote")
+                .tag("table", table)
+                .register(meterRegistry)
+                .increment(rows.size());
+        return rows;
+    }
+
+    // Com reWriteBatchedInserts o lote vira um único INSERT de várias linhas, e o Postgres recusa o ON CONFLICT
+    // que afeta a mesma linha duas vezes. Ids repetidos aparecem quando um stream é reenviado após falhar no meio
+    // ou quando buscas diferentes devolvem a mesma imagem; vale a primeira ocorrência
+    static <T> List<T> distinctById(List<T> rows, Function<T, Object> id) {
+        if (rows == null || rows.size() < 2) {
+            return rows;
+        }
+        Map<Object, T> byId = new LinkedHashMap<>();
+        rows.forEach(row -> byId.putIfAbsent(id.apply(row), row));
+        if (byId.size() == rows.size()) {
+            return rows;
+        }
+        logger.debug("{} linhas com id repetido descartadas do lote", rows.size() - byId.size());
+        return new ArrayList<>(byId.values());
+    }
+
+    private static <T> void bind(PreparedStatement ps, List<Column<T>> columns, T row) throws SQLException {
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T> column = columns.get(i);
+            Object value = column.extractor().apply(row);
+            if (value == null) {
+                ps.setNull(i + 1, column.sqlType());
+            } else {
+                ps.setObject(i + 1, value, column.sqlType());
+            }
+        }
+    }
+
+    private static <T> String upsertSql(String table, List<Column<T>> columns, Map<String, String> updateOverrides) {
+        String names = columns.stream().map(Column::name).collect(Collectors.joining(", "));
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        String updates = columns.stream()
+                .skip(1)
+                .map(column -> column.name() + " = "
+                        + updateOverrides.getOrDefault(column.name(), "EXCLUDED." + column.name()))
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + names + ") VALUES (" + placeholders + ") "
+                + "ON CONFLICT (" + columns.get(0).name() + ") DO UPDATE SET " + updates;
+    }
+
+    private record Column<T>(String name, int sqlType, Function<T, Object> extractor) {
+    }
+}
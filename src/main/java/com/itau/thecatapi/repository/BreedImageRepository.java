@@ -1,14 +1,28 @@
 package com.itau.thecatapi.repository;
 
+import com.itau.thecatapi.dto.BreedImageResponseDTO;
+import com.itau.thecatapi.dto.ImageSyncStateDTO;
 import com.itau.thecatapi.model.BreedImage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BreedImageRepository extends JpaRepository<BreedImage, String> {
 
+    // Projeção direta no DTO com left join: uma única consulta, sem carregar breed/category de forma lazy
+    String RESPONSE_PROJECTION = "select new com.itau.thecatapi.dto.BreedImageResponseDTO("
+            + "i.id, i.url, i.width, i.height, i.favourite, b.id, b.name, c.id, c.name) "
+            + "from BreedImage i left join i.breed b left join i.category c";
+
     List<BreedImage> findByBreedId(String breedId);
 
     List<BreedImage> findByCategoryId(Integer categoryId);
@@ -16,4 +30,43 @@ public interface BreedImageRepository extends JpaRepository<BreedImage, String>
     List<BreedImage> findByBreedIdAndCategoryId(String breedId, Integer categoryId);
 
     List<BreedImage> findByFavouriteTrue();
+
+    // Paginação por cursor (keyset): o custo de cada página independe da posição, ao contrário de OFFSET
+    @Query(RESPONSE_PROJECTION + " where i.id > :afterId order by i.id")
+    List<BreedImageResponseDTO> findResponsesAfter(@Param("afterId") String afterId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + " where b.id = :breedId and i.id > :afterId order by i.id")
+    List<BreedImageResponseDTO> findResponsesByBreedIdAfter(@Param("breedId") String breedId,
+                                                            @Param("afterId") String afterId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + " where i.id = :id")
+    Optional<BreedImageResponseDTO> findResponseById(@Param("id") String id);
+
+    @Query(RESPONSE_PROJECTION + " where b.id = :breedId order by i.id")
+    List<BreedImageResponseDTO> findResponsesByBreedId(@Param("breedId") String breedId);
+
+    @Query(RESPONSE_PROJECTION + " where b.id = :breedId order by i.id")
+    List<BreedImageResponseDTO> findResponsesByBreedId(@Param("breedId") String breedId, Limit limit);
+
+    @Query("select i.url from BreedImage i where i.breed.id = :breedId order by i.id")
+    List<String> findUrlsByBreedId(@Param("breedId") String breedId, Limit limit);
+
+    @Query(RESPONSE_PROJECTION + " where c.id = :categoryId")
+    List<BreedImageResponseDTO> findResponsesByCategoryId(@Param("categoryId") Integer categoryId);
+
+    @Query(RESPONSE_PROJECTION + " where b.id = :breedId and c.id = :categoryId")
+    List<BreedImageResponseDTO> findResponsesByBreedIdAndCategoryId(@Param("breedId") String breedId,
+                                                                    @Param("categoryId") Integer categoryId);
+
+    @Query(RESPONSE_PROJECTION + " where i.favourite = true")
+    List<BreedImageResponseDTO> findFavouriteResponses();
+
+    @Query("select new com.itau.thecatapi.dto.ImageSyncStateDTO(i.id, i.contentHash, b.id, c.id) "
+            + "from BreedImage i left join i.breed b left join i.category c where i.id in :ids")
+    List<ImageSyncStateDTO> findSyncStatesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update BreedImage i set i.favourite = case when i.favourite = true then false else true end where i.id = :id")
+    int toggleFavourite(@Param("id") String id);
 }
@@ -1,7 +1,11 @@
 package com.itau.thecatapi.repository;
 
+import com.itau.thecatapi.dto.ContentHashDTO;
 import com.itau.thecatapi.model.Breed;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,9 +13,20 @@ import java.util.List;
 @Repository
 public interface BreedRepository extends JpaRepository<Breed, String> {
 
+    // Filtros vazios não restringem; strings vazias em vez de null evitam parâmetros sem tipo no PostgreSQL
+    String FILTER = "(:temperament = '' or lower(b.temperament) like lower(concat('%', :temperament, '%'))) "
+            + "and (:origin = '' or lower(b.origin) like lower(concat('%', :origin, '%')))";
+
     List<Breed> findByTemperamentContainingIgnoreCase(String temperament);
 
     List<Breed> findByOriginContainingIgnoreCase(String origin);
 
-    List<Breed> findByTemperamentContainingAndOriginContainingIgnoreCase(String temperament, String origin);
+    List<Breed> findByTemperamentContainingIgnoreCaseAndOriginContainingIgnoreCase(String temperament, String origin);
+
+    @Query("select b from Breed b where b.id > :afterId and " + FILTER + " order by b.id")
+    List<Breed> findPage(@Param("afterId") String afterId, @Param("temperament") String temperament,
+                         @Param("origin") String origin, Limit limit);
+
+    @Query("select new com.itau.thecatapi.dto.ContentHashDTO(b.id, b.contentHash) from Breed b")
+    List<ContentHashDTO> findContentHashes();
 }
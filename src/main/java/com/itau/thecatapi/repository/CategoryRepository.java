@@ -1,5 +1,6 @@
 package com.itau.thecatapi.repository;
 
+import com.itau.thecatapi.dto.ContentHashDTO;
 import com.itau.thecatapi.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -17,4 +18,7 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
 
     @Query("SELECT c FROM Category c ORDER BY c.id")
     List<Category> findAllOrderedById();
+
+    @Query("select new com.itau.thecatapi.dto.ContentHashDTO(cast(c.id as String), c.contentHash) from Category c")
+    List<ContentHashDTO> findContentHashes();
 }
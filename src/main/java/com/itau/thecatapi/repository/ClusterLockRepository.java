@@ -0,0 +1,99 @@
+package com.itau.thecatapi.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Lock por linha na tabela cluster_lock. Cada operação é um único UPDATE condicional, atômico no banco,
+// sem manter conexão presa durante a coleta como exigiria um advisory lock de sessão. Os horários vêm do relógio
+// do banco: instâncias com relógios diferentes não podem considerar expirado um lock que ainda vale
+@Repository
+public class ClusterLockRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterLockRepository.class);
+
+    private static final OffsetDateTime UNLOCKED = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClusterLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean tryAcquire(String name, String owner, Duration lockAtMost) {
+        OffsetDateTime now = databaseNow();
+        OffsetDateTime until = now.plus(lockAtMost);
+
+        int updated = jdbcTemplate.update(
+                "UPDATE cluster_lock SET locked_by = ?, locked_at = ?, lock_until = ? WHERE name = ? AND lock_until <= ?",
+                owner, now, until, name, now);
+        if (updated == 1) {
+            return true;
+        }
+
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO cluster_lock (name, locked_by, locked_at, lock_until) VALUES (?, ?, ?, ?)",
+                    name, owner, now, until);
+            return true;
+        } catch (DuplicateKeyException e) {
+            // Linha já existe e o lock está com outra instância
+            return false;
+        }
+    }
+
+    // Estende o prazo de um lock ainda válido; false quando ele já expirou ou foi tomado por outra instância
+    public boolean renew(String name, String owner, Duration lockAtMost) {
+        OffsetDateTime now = databaseNow();
+        return jdbcTemplate.update(
+                "UPDATE cluster_lock SET lock_until = ? WHERE name = ? AND locked_by = ? AND lock_until > ?",
+                now.plus(lockAtMost), name, owner, now) == 1;
+    }
+
+    public void release(String name, String owner) {
+        int updated = jdbcTemplate.update(
+                "UPDATE cluster_lock SET lock_until = ? WHERE name = ? AND locked_by = ?", databaseNow(), name, owner);
+        if (updated == 0) {
+            logger.warn("Lock {} já não pertencia a {} ao ser liberado (expirou?)", name, owner);
+        }
+    }
+
+    // Só avança o marcador; notificações antigas ou repetidas não o fazem voltar
+    public void markDataChanged(String name, Instant changedAt) {
+        OffsetDateTime at = changedAt.atOffset(ZoneOffset.UTC);
+        int updated = jdbcTemplate.update(
+                "UPDATE cluster_lock SET data_changed_at = ? WHERE name = ? AND (data_changed_at IS NULL OR data_changed_at < ?)",
+                at, name, at);
+        if (updated == 0 && findDataChangedAt(name).isEmpty()) {
+            try {
+                jdbcTemplate.update(
+                        "INSERT INTO cluster_lock (name, lock_until, data_changed_at) VALUES (?, ?, ?)",
+                        name, UNLOCKED, at);
+            } catch (DuplicateKeyException e) {
+                markDataChanged(name, changedAt);
+            }
+        }
+    }
+
+    public Optional<Instant> findDataChangedAt(String name) {
+        List<OffsetDateTime> result = jdbcTemplate.query(
+                "SELECT data_changed_at FROM cluster_lock WHERE name = ?",
+                (rs, rowNum) -> rs.getObject(1, OffsetDateTime.class), name);
+        // A linha criada por tryAcquire ainda não tem marcador
+        return result.stream().filter(Objects::nonNull).findFirst().map(OffsetDateTime::toInstant);
+    }
+
+    private OffsetDateTime databaseNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class);
+    }
+}
@@ -0,0 +1,16 @@
+package com.itau.thecatapi.repository;
+
+import com.itau.thecatapi.model.CollectionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CollectionJobRepository extends JpaRepository<CollectionJob, Long> {
+
+    List<CollectionJob> findByStatus(CollectionJob.Status status);
+
+    Optional<CollectionJob> findFirstByOrderByIdDesc();
+}
@@ -0,0 +1,15 @@
+package com.itau.thecatapi.repository;
+
+import com.itau.thecatapi.model.CollectionJobUnit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CollectionJobUnitRepository extends JpaRepository<CollectionJobUnit, Long> {
+
+    List<CollectionJobUnit> findByJobId(Long jobId);
+
+    List<CollectionJobUnit> findByJobIdAndType(Long jobId, CollectionJobUnit.Type type);
+}
@@ -1,60 +1,69 @@
 package com.itau.thecatapi.service;
 
+import com.itau.thecatapi.concurrent.Bulkhead;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.config.CacheConfig;
 import com.itau.thecatapi.dto.BreedImageResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
 import com.itau.thecatapi.model.BreedImage;
 import com.itau.thecatapi.repository.BreedImageRepository;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 @Service
 public class BreedImageService {
 
     private static final Logger logger = LoggerFactory.getLogger(BreedImageService.class);
 
-    @Autowired
-    private BreedImageRepository breedImageRepository;
+    private final BreedImageRepository breedImageRepository;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    // Modelo de execução único: cada consulta faz um só salto, do chamador para este executor
+    private final ExecutorService executorService;
 
-    @Async
-    public CompletableFuture<List<BreedImageResponseDTO>> getAllImages() {
-        logger.info("Iniciando busca de todas as imagens - Thread: {}", Thread.currentThread().getName());
+    private final Bulkhead databaseBulkhead;
+
+    public BreedImageService(BreedImageRepository breedImageRepository, ExecutorFactory executorFactory) {
+        this.breedImageRepository = breedImageRepository;
+        this.executorService = executorFactory.newExecutor("BreedImageService", 4);
+        this.databaseBulkhead = executorFactory.database();
+    }
+
+    public CompletableFuture<CursorPageDTO<BreedImageResponseDTO>> getImagesPage(String cursor, int limit) {
+        logger.info("Iniciando busca de página de imagens (limite: {}) - Thread: {}",
+                limit, Thread.currentThread().getName());
         long startTime = System.currentTimeMillis();
+        // Decodificado no chamador para que um cursor inválido vire 400, e não falha da consulta
+        String afterId = CursorPageDTO.decode(cursor);
 
         return CompletableFuture.supplyAsync(() -> {
             try {
-                logger.debug("Buscando todas as imagens no repositório");
-                List<BreedImage> images = breedImageRepository.findAll();
-                logger.info("Encontradas {} imagens no total", images.size());
-
-                List<BreedImageResponseDTO> result = images.parallelStream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                logger.debug("Buscando até {} imagens após o ID '{}'", limit, afterId);
+                List<BreedImageResponseDTO> fetched = databaseBulkhead.call(
+                        () -> breedImageRepository.findResponsesAfter(afterId, Limit.of(limit + 1)));
+                CursorPageDTO<BreedImageResponseDTO> page = CursorPageDTO.of(fetched, limit, BreedImageResponseDTO::getId);
 
                 long duration = System.currentTimeMillis() - startTime;
-                logger.info("Busca de todas as imagens concluída em {} ms - Thread: {}",
-                        duration, Thread.currentThread().getName());
+                logger.info("Página de imagens concluída em {} ms - {} resultados, próxima página: {}",
+                        duration, page.items().size(), page.next() != null);
 
-                return result;
+                return page;
             } catch (Exception e) {
-                logger.error("Erro ao buscar todas as imagens: {}", e.getMessage(), e);
+                logger.error("Erro ao buscar página de imagens: {}", e.getMessage(), e);
                 throw new RuntimeException("Falha ao buscar imagens", e);
             }
         }, executorService);
     }
 
-    @Async
     public CompletableFuture<BreedImageResponseDTO> getImageById(String id) {
         logger.info("Iniciando busca da imagem com ID: {} - Thread: {}", id, Thread.currentThread().getName());
         long startTime = System.currentTimeMillis();
@@ -62,12 +71,13 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando imagem com ID: {}", id);
-                BreedImage image = breedImageRepository.findById(id).orElse(new BreedImage());
+                BreedImageResponseDTO image = databaseBulkhead.call(() -> breedImageRepository.findResponseById(id))
+                        .orElseGet(() -> convertToDTO(new BreedImage()));
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca da imagem com ID {} concluída em {} ms", id, duration);
 
-                return convertToDTO(image);
+                return image;
             } catch (Exception e) {
                 logger.error("Erro ao buscar imagem com ID {}: {}", id, e.getMessage(), e);
                 throw new RuntimeException("Falha ao buscar imagem", e);
@@ -75,7 +85,7 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
+    @Cacheable(value = CacheConfig.IMAGES_BY_BREED, key = "#breedId")
     public CompletableFuture<List<BreedImageResponseDTO>> getImagesByBreedId(String breedId) {
         logger.info("Iniciando busca de imagens para a raça com ID: {} - Thread: {}",
                 breedId, Thread.currentThread().getName());
@@ -84,12 +94,8 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando imagens para a raça com ID: {}", breedId);
-                List<BreedImage> images = breedImageRepository.findByBreedId(breedId);
-                logger.info("Encontradas {} imagens para a raça com ID: {}", images.size(), breedId);
-
-                List<BreedImageResponseDTO> result = images.parallelStream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<BreedImageResponseDTO> result = databaseBulkhead.call(() -> breedImageRepository.findResponsesByBreedId(breedId));
+                logger.info("Encontradas {} imagens para a raça com ID: {}", result.size(), breedId);
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca de imagens para raça ID '{}' concluída em {} ms - {} resultados",
@@ -104,7 +110,7 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
+    @Cacheable(value = CacheConfig.IMAGES_BY_BREED, key = "#breedId + ':' + #limit")
     public CompletableFuture<List<BreedImageResponseDTO>> getImagesByBreedId(String breedId, int limit) {
         logger.info("Iniciando busca de até {} imagens para a raça com ID: {} - Thread: {}",
                 limit, breedId, Thread.currentThread().getName());
@@ -113,18 +119,12 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando até {} imagens para a raça com ID: {}", limit, breedId);
-                List<BreedImage> images = breedImageRepository.findByBreedId(breedId);
-
-                List<BreedImage> limitedImages = images.stream()
-                        .limit(limit)
-                        .collect(Collectors.toList());
+                // O limite é aplicado na consulta, em vez de carregar todas as imagens da raça
+                List<BreedImageResponseDTO> result = databaseBulkhead.call(
+                        () -> breedImageRepository.findResponsesByBreedId(breedId, Limit.of(limit)));
 
                 logger.info("Encontradas {} imagens (limitado a {}) para a raça com ID: {}",
-                        limitedImages.size(), limit, breedId);
-
-                List<BreedImageResponseDTO> result = limitedImages.parallelStream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                        result.size(), limit, breedId);
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca de imagens para raça ID '{}' concluída em {} ms - {} resultados (limite: {})",
@@ -139,7 +139,34 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
+    public CompletableFuture<CursorPageDTO<BreedImageResponseDTO>> getImagesByBreedIdPage(String breedId, String cursor,
+                                                                                        int limit) {
+        logger.info("Iniciando busca de página de imagens para a raça com ID: {} (limite: {}) - Thread: {}",
+                breedId, limit, Thread.currentThread().getName());
+        long startTime = System.currentTimeMillis();
+        String afterId = CursorPageDTO.decode(cursor);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                logger.debug("Buscando até {} imagens da raça {} após o ID '{}'", limit, breedId, afterId);
+                List<BreedImageResponseDTO> fetched = databaseBulkhead.call(
+                        () -> breedImageRepository.findResponsesByBreedIdAfter(breedId, afterId, Limit.of(limit + 1)));
+                CursorPageDTO<BreedImageResponseDTO> page = CursorPageDTO.of(fetched, limit, BreedImageResponseDTO::getId);
+
+                long duration = System.currentTimeMillis() - startTime;
+                logger.info("Página de imagens para raça ID '{}' concluída em {} ms - {} resultados, próxima página: {}",
+                        breedId, duration, page.items().size(), page.next() != null);
+
+                return page;
+            } catch (Exception e) {
+                logger.error("Erro ao buscar página de imagens para a raça com ID {}: {}",
+                        breedId, e.getMessage(), e);
+                throw new RuntimeException("Falha ao buscar imagens por raça", e);
+            }
+        }, executorService);
+    }
+
+    @Cacheable(value = CacheConfig.IMAGES_BY_BREED, key = "'urls:' + #breedId + ':' + #limit")
     public CompletableFuture<List<String>> getImageUrlsByBreedId(String breedId, int limit) {
         logger.info("Iniciando busca de até {} imagens para a raça com ID: {} - Thread: {}",
                 limit, breedId, Thread.currentThread().getName());
@@ -148,19 +175,11 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando até {} imagens para a raça com ID: {}", limit, breedId);
-                List<BreedImage> images = breedImageRepository.findByBreedId(breedId);
-
-                List<BreedImage> limitedImages = images.stream()
-                        .limit(limit)
-                        .collect(Collectors.toList());
+                List<String> result = databaseBulkhead.call(
+                        () -> breedImageRepository.findUrlsByBreedId(breedId, Limit.of(limit)));
 
                 logger.info("Encontradas {} imagens (limitado a {}) para a raça com ID: {}",
-                        limitedImages.size(), limit, breedId);
-
-                List<String> result = limitedImages.parallelStream()
-                        .map(this::convertToDTO) // Converte para DTO primeiro
-                        .map(BreedImageResponseDTO::getUrl) // Extrai a URL do DTO
-                        .collect(Collectors.toList());
+                        result.size(), limit, breedId);
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca de URLs para raça ID '{}' concluída em {} ms - {} resultados (limite: {})",
@@ -175,7 +194,6 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
     public CompletableFuture<List<BreedImageResponseDTO>> getImagesByCategoryId(Integer categoryId) {
         logger.info("Iniciando busca de imagens para a categoria com ID: {} - Thread: {}",
                 categoryId, Thread.currentThread().getName());
@@ -184,12 +202,8 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando imagens para a categoria com ID: {}", categoryId);
-                List<BreedImage> images = breedImageRepository.findByCategoryId(categoryId);
-                logger.info("Encontradas {} imagens para a categoria com ID: {}", images.size(), categoryId);
-
-                List<BreedImageResponseDTO> result = images.parallelStream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<BreedImageResponseDTO> result = databaseBulkhead.call(() -> breedImageRepository.findResponsesByCategoryId(categoryId));
+                logger.info("Encontradas {} imagens para a categoria com ID: {}", result.size(), categoryId);
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca de imagens para categoria ID '{}' concluída em {} ms - {} resultados",
@@ -204,7 +218,6 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
     public CompletableFuture<List<BreedImageResponseDTO>> getImagesByBreedIdAndCategoryId(String breedId, Integer categoryId) {
         logger.info("Iniciando busca de imagens para raça ID: '{}' e categoria ID: '{}' - Thread: {}",
                 breedId, categoryId, Thread.currentThread().getName());
@@ -213,13 +226,10 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando imagens para raça ID: '{}' e categoria ID: '{}'", breedId, categoryId);
-                List<BreedImage> images = breedImageRepository.findByBreedIdAndCategoryId(breedId, categoryId);
+                List<BreedImageResponseDTO> result = databaseBulkhead.call(
+                        () -> breedImageRepository.findResponsesByBreedIdAndCategoryId(breedId, categoryId));
                 logger.info("Encontradas {} imagens para raça ID: '{}' e categoria ID: '{}'",
-                        images.size(), breedId, categoryId);
-
-                List<BreedImageResponseDTO> result = images.parallelStream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                        result.size(), breedId, categoryId);
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca por raça ID '{}' e categoria ID '{}' concluída em {} ms - {} resultados",
@@ -234,7 +244,6 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
     public CompletableFuture<List<BreedImageResponseDTO>> getFavoriteImages() {
         logger.info("Iniciando busca de imagens favoritas - Thread: {}", Thread.currentThread().getName());
         long startTime = System.currentTimeMillis();
@@ -242,12 +251,8 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando imagens marcadas como favoritas");
-                List<BreedImage> images = breedImageRepository.findByFavouriteTrue();
-                logger.info("Encontradas {} imagens favoritas", images.size());
-
-                List<BreedImageResponseDTO> result = images.parallelStream()
-                        .map(this::convertToDTO)
-                        .collect(Collectors.toList());
+                List<BreedImageResponseDTO> result = databaseBulkhead.call(breedImageRepository::findFavouriteResponses);
+                logger.info("Encontradas {} imagens favoritas", result.size());
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca de imagens favoritas concluída em {} ms - {} resultados",
@@ -261,7 +266,8 @@ public class BreedImageService {
         }, executorService);
     }
 
-    @Async
+    // As respostas cacheadas por raça carregam o status de favorito
+    @CacheEvict(value = CacheConfig.IMAGES_BY_BREED, allEntries = true)
     public CompletableFuture<BreedImageResponseDTO> toggleFavorite(String imageId) {
         logger.info("Alternando status de favorito para imagem ID: {} - Thread: {}",
                 imageId, Thread.currentThread().getName());
@@ -270,17 +276,19 @@ public class BreedImageService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando imagem com ID: {} para alternar favorito", imageId);
-                BreedImage image = breedImageRepository.findById(imageId)
-                        .orElseThrow(() -> new RuntimeException("Imagem não encontrada com ID: " + imageId));
-
-                image.setFavourite(!image.getFavourite());
-                BreedImage updatedImage = breedImageRepository.save(image);
+                // Update direto no banco, seguido da projeção: evita carregar a entidade e suas associações lazy
+                BreedImageResponseDTO updatedImage = databaseBulkhead.call(() -> {
+                    if (breedImageRepository.toggleFavourite(imageId) == 0) {
+                        throw new RuntimeException("Imagem não encontrada com ID: " + imageId);
+                    }
+                    return breedImageRepository.findResponseById(imageId).orElseThrow();
+                });
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Status de favorito alternado para imagem ID {} em {} ms. Novo status: {}",
                         imageId, duration, updatedImage.getFavourite());
 
-                return convertToDTO(updatedImage);
+                return updatedImage;
             } catch (Exception e) {
                 logger.error("Erro ao alternar favorito para imagem ID {}: {}", imageId, e.getMessage(), e);
                 throw new RuntimeException("Falha ao alternar status de favorito", e);
@@ -0,0 +1,127 @@
+package com.itau.thecatapi.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.message.BreedQuery;
+import com.itau.thecatapi.message.BreedRequestMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Atende uma requisição de raças vinda da fila: monta o texto, busca as imagens e envia o e-mail.
+// Compartilhado pelos listeners SQS unitário e em lote
+@Service
+public class BreedRequestProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedRequestProcessor.class);
+
+    public static final String RESULT_CACHE = "breedRequestResults";
+
+    private final BreedService breedService;
+    private final BreedImageService breedImageService;
+    private final EmailService emailService;
+
+    // HTML pronto por consulta: requisições iguais numa janela curta calculam uma vez e só trocam o destinatário.
+    // Cargas simultâneas da mesma chave são coalescidas pelo próprio Caffeine
+    private final Cache<BreedQuery, String> results;
+
+    public BreedRequestProcessor(BreedService breedService,
+                                 BreedImageService breedImageService,
+                                 EmailService emailService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${thecatapi.requests.result-cache.spec:maximumSize=500,expireAfterWrite=60s}") String resultCacheSpec) {
+        this.breedService = breedService;
+        this.breedImageService = breedImageService;
+        this.emailService = emailService;
+        this.results = Caffeine.from(resultCacheSpec).recordStats().build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, results, RESULT_CACHE);
+        Gauge.builder("thecatapi.requests.dedupe.hit_ratio", results, cache -> cache.stats().hitRate())
+                .description("Fração das requisições atendidas com conteúdo já calculado para a mesma consulta")
+                .register(meterRegistry);
+    }
+
+    // Propaga a falha: quem chama decide se a mensagem é confirmada ou volta para a fila
+    public void process(BreedRequestMessage request) {
+        logger.info("Processando requisição. MessageID: {}, Email: {}",
+                request.getMessageId(), request.getEmail());
+
+        // O conteúdo sai da consulta normalizada, não do texto original: quem compartilha a chave recebe o mesmo HTML
+        String html = results.get(BreedQuery.of(request), query ->
+                EmailService.buildEmailContent(processBreedInformation(query), getImagesForRequest(query)));
+
+        // Enviar email
+        emailService.sendHtmlEmail(
+                request.getEmail(),
+                "🐱 Informações sobre Raças de Gatos",
+                html
+        );
+
+        logger.info("Requisição processada com sucesso. MessageID: {}", request.getMessageId());
+    }
+
+    public String processBreedInformation(BreedRequestMessage request) {
+        return processBreedInformation(BreedQuery.of(request));
+    }
+
+    public String processBreedInformation(BreedQuery query) {
+        StringBuilder info = new StringBuilder();
+
+        if (query.breedId() != null) {
+            BreedResponseDTO breed = breedService.getBreedById(query.breedId()).join();
+            info.append(String.format("""
+                Raça: %s
+                Origem: %s
+                Temperamento: %s
+                Descrição: %s
+                """, breed.getName(), breed.getOrigin(), breed.getTemperament(), breed.getDescription()));
+
+        } else if (query.temperament() != null) {
+            List<BreedResponseDTO> breeds = breedService.getBreedsByTemperament(query.temperament()).join();
+            info.append(String.format("Raças com temperamento '%s':\\n\\n", query.temperament()));
+            breeds.forEach(breed -> info.append(String.format(
+                    "- %s (Origem: %s)\\n", breed.getName(), breed.getOrigin())));
+
+        } else if (query.origin() != null) {
+            List<BreedResponseDTO> breeds = breedService.getBreedsByOrigin(query.origin()).join();
+            info.append(String.format("Raças da origem '%s':\\n\\n", query.origin()));
+            breeds.forEach(breed -> info.append(String.format(
+                    "- %s (Temperamento: %s)\\n", breed.getName(), breed.getTemperament())));
+
+        } else {
+            List<BreedResponseDTO> breeds = breedService.getAllBreeds().join();
+            info.append("Todas as raças de gatos:\\n\\n");
+            breeds.forEach(breed -> info.append(String.format(
+                    "- %s (Origem: %s, Temperamento: %s)\\n",
+                    breed.getName(), breed.getOrigin(), breed.getTemperament())));
+        }
+
+        return info.toString();
+    }
+
+    public List<String> getImagesForRequest(BreedRequestMessage request) {
+        return getImagesForRequest(BreedQuery.of(request));
+    }
+
+    public List<String> getImagesForRequest(BreedQuery query) {
+        if (query.breedId() != null) {
+            return breedImageService.getImageUrlsByBreedId(query.breedId(), 3).join();
+        }
+        return null;
+    }
+
+    // Conteúdo calculado com os dados anteriores à coleta não é mais reaproveitado
+    @EventListener
+    public void onDataCollectionCompleted(DataCollectionCompletedEvent event) {
+        results.invalidateAll();
+    }
+}
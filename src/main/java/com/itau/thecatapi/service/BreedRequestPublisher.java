@@ -0,0 +1,11 @@
+package com.itau.thecatapi.service;
+
+import com.itau.thecatapi.message.BreedRequestMessage;
+
+import java.util.concurrent.CompletableFuture;
+
+// Enfileira requisições de raças para processamento assíncrono: SQS nos perfis com AWS, fila embarcada no perfil local
+public interface BreedRequestPublisher {
+
+    CompletableFuture<Void> sendBreedRequest(BreedRequestMessage message);
+}
@@ -1,20 +1,29 @@
 package com.itau.thecatapi.service;
 
+import com.itau.thecatapi.concurrent.Bulkhead;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.concurrent.Streams;
+import com.itau.thecatapi.config.CacheConfig;
 import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.readmodel.BreedReadModel;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,12 +31,24 @@ public class BreedService {
 
     private static final Logger logger = LoggerFactory.getLogger(BreedService.class);
 
-    @Autowired
-    private BreedRepository breedRepository;
+    private final BreedRepository breedRepository;
 
-    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    // Modelo de execução único: cada consulta faz um só salto, do chamador para este executor
+    private final ExecutorService executorService;
 
-    @Async
+    private final Bulkhead databaseBulkhead;
+
+    private final BreedReadModelService breedReadModelService;
+
+    public BreedService(BreedRepository breedRepository, ExecutorFactory executorFactory,
+                        BreedReadModelService breedReadModelService) {
+        this.breedRepository = breedRepository;
+        this.breedReadModelService = breedReadModelService;
+        this.executorService = executorFactory.newExecutor("BreedService", 4);
+        this.databaseBulkhead = executorFactory.database();
+    }
+
+    @Cacheable(value = CacheConfig.BREED_QUERIES, key = "'all'")
     public CompletableFuture<List<BreedResponseDTO>> getAllBreeds() {
         logger.info("Iniciando busca de todas as raças - Thread: {}", Thread.currentThread().getName());
         long startTime = System.currentTimeMillis();
@@ -35,10 +56,10 @@ public class BreedService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando todas as raças no repositório");
-                List<Breed> breeds = breedRepository.findAll();
+                List<Breed> breeds = query(BreedReadModel::findAll, breedRepository::findAll);
                 logger.info("Encontradas {} raças no total", breeds.size());
 
-                List<BreedResponseDTO> result = breeds.parallelStream()
+                List<BreedResponseDTO> result = Streams.of(breeds)
                         .map(this::convertToDTO)
                         .collect(Collectors.toList());
 
@@ -54,7 +75,7 @@ public class BreedService {
         }, executorService);
     }
 
-    @Async
+    @Cacheable(value = CacheConfig.BREED_BY_ID, key = "#id")
     public CompletableFuture<BreedResponseDTO> getBreedById(String id) {
         logger.info("Iniciando busca da raça com ID: {} - Thread: {}", id, Thread.currentThread().getName());
         long startTime = System.currentTimeMillis();
@@ -62,7 +83,7 @@ public class BreedService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando raça com ID: {}", id);
-                Breed breed = breedRepository.findById(id).orElse(new Breed());
+                Breed breed = query(readModel -> readModel.findById(id), () -> breedRepository.findById(id)).orElse(new Breed());
 
                 long duration = System.currentTimeMillis() - startTime;
                 logger.info("Busca da raça com ID {} concluída em {} ms", id, duration);
@@ -75,7 +96,7 @@ public class BreedService {
         }, executorService);
     }
 
-    @Async
+    @Cacheable(value = CacheConfig.BREED_QUERIES, key = "'temperament:' + #temperament")
     public CompletableFuture<List<BreedResponseDTO>> getBreedsByTemperament(String temperament) {
         logger.info("Iniciando busca por raças com temperamento: '{}' - Thread: {}",
                 temperament, Thread.currentThread().getName());
@@ -84,10 +105,11 @@ public class BreedService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando raças com temperamento contendo: '{}'", temperament);
-                List<Breed> breeds = breedRepository.findByTemperamentContainingIgnoreCase(temperament);
+                List<Breed> breeds = query(readModel -> readModel.findByTemperament(temperament),
+                        () -> breedRepository.findByTemperamentContainingIgnoreCase(temperament));
                 logger.info("Encontradas {} raças com temperamento: '{}'", breeds.size(), temperament);
 
-                List<BreedResponseDTO> result = breeds.parallelStream()
+                List<BreedResponseDTO> result = Streams.of(breeds)
                         .map(this::convertToDTO)
                         .collect(Collectors.toList());
 
@@ -104,7 +126,7 @@ public class BreedService {
         }, executorService);
     }
 
-    @Async
+    @Cacheable(value = CacheConfig.BREED_QUERIES, key = "'origin:' + #origin")
     public CompletableFuture<List<BreedResponseDTO>> getBreedsByOrigin(String origin) {
         logger.info("Iniciando busca por raças com origem: '{}' - Thread: {}",
                 origin, Thread.currentThread().getName());
@@ -113,10 +135,11 @@ public class BreedService {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 logger.debug("Buscando raças com origem contendo: '{}'", origin);
-                List<Breed> breeds = breedRepository.findByOriginContainingIgnoreCase(origin);
+                List<Breed> breeds = query(readModel -> readModel.findByOrigin(origin),
+                        () -> breedRepository.findByOriginContainingIgnoreCase(origin));
                 logger.info("Encontradas {} raças com origem: '{}'", breeds.size(), origin);
 
-                List<BreedResponseDTO> result = breeds.parallelStream()
+                List<BreedResponseDTO> result = Streams.of(breeds)
                         .map(this::convertToDTO)
                         .collect(Collectors.toList());
 
@@ -133,7 +156,7 @@ public class BreedService {
         }, executorService);
     }
 
-    @Async
+    @Cacheable(value = CacheConfig.BREED_QUERIES, key = "'temperament:' + #temperament + '|origin:' + #origin")
     public CompletableFuture<List<BreedResponseDTO>> getBreedsByTemperamentAndOrigin(String temperament, String origin) {
         logger.info("Iniciando busca por raças com temperamento: '{}' e origem: '{}' - Thread: {}",
                 temperament, origin, Thread.currentThread().getName());
@@ -143,11 +166,12 @@ public class BreedService {
             try {
                 logger.debug("Buscando raças com temperamento contendo: '{}' e origem contendo: '{}'",
                         temperament, origin);
-                List<Breed> breeds = breedRepository.findByTemperamentContainingAndOriginContainingIgnoreCase(temperament, origin);
+                List<Breed> breeds = query(readModel -> readModel.findByTemperamentAndOrigin(temperament, origin),
+                        () -> breedRepository.findByTemperamentContainingIgnoreCaseAndOriginContainingIgnoreCase(temperament, origin));
                 logger.info("Encontradas {} raças com temperamento: '{}' e origem: '{}'",
                         breeds.size(), temperament, origin);
 
-                List<BreedResponseDTO> result = breeds.parallelStream()
+                List<BreedResponseDTO> result = Streams.of(breeds)
                         .map(this::convertToDTO)
                         .collect(Collectors.toList());
 
@@ -164,6 +188,45 @@ public class BreedService {
         }, executorService);
     }
 
+    public CompletableFuture<CursorPageDTO<BreedResponseDTO>> getBreedsPage(String temperament, String origin,
+                                                                          String cursor, int limit) {
+        logger.info("Iniciando busca de página de raças - temperament: {}, origin: {}, limite: {} - Thread: {}",
+                temperament, origin, limit, Thread.currentThread().getName());
+        long startTime = System.currentTimeMillis();
+        String afterId = CursorPageDTO.decode(cursor);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Uma raça a mais indica se existe próxima página
+                List<Breed> breeds = query(readModel -> readModel.findPage(temperament, origin, afterId, limit + 1),
+                        () -> breedRepository.findPage(afterId, Objects.toString(temperament, ""),
+                                Objects.toString(origin, ""), Limit.of(limit + 1)));
+
+                CursorPageDTO<BreedResponseDTO> page = CursorPageDTO.of(
+                        Streams.of(breeds).map(this::convertToDTO).collect(Collectors.toList()),
+                        limit, BreedResponseDTO::getId);
+
+                long duration = System.currentTimeMillis() - startTime;
+                logger.info("Página de raças concluída em {} ms - {} resultados, próxima página: {}",
+                        duration, page.items().size(), page.next() != null);
+
+                return page;
+            } catch (Exception e) {
+                logger.error("Erro ao buscar página de raças: {}", e.getMessage(), e);
+                throw new RuntimeException("Falha ao buscar raças", e);
+            }
+        }, executorService);
+    }
+
+    // Consulta o snapshot em memória quando disponível; caso contrário, segue pelo JPA
+    private <T> T query(Function<BreedReadModel, T> fromReadModel, Callable<T> fromDatabase) throws Exception {
+        BreedReadModel readModel = breedReadModelService.current();
+        if (readModel != null) {
+            return fromReadModel.apply(readModel);
+        }
+        return databaseBulkhead.call(fromDatabase);
+    }
+
     public BreedResponseDTO convertToDTO(Breed breed) {
         logger.trace("Convertendo Breed para DTO: {}", breed.getName());
         return new BreedResponseDTO(
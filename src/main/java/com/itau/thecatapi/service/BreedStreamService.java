@@ -0,0 +1,119 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.itau.thecatapi.concurrent.Bulkhead;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.readmodel.BreedReadModel;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+
+// Escreve raças em NDJSON à medida que são lidas, sem montar a lista completa de DTOs em memória
+@Service
+public class BreedStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedStreamService.class);
+
+    private static final int FLUSH_EVERY = 50;
+    private static final int CHUNK_SIZE = 100;
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private final BreedRepository breedRepository;
+    private final BreedReadModelService breedReadModelService;
+    private final BreedService breedService;
+    private final Bulkhead databaseBulkhead;
+    private final ObjectWriter writer;
+
+    public BreedStreamService(BreedRepository breedRepository,
+                              BreedReadModelService breedReadModelService,
+                              BreedService breedService,
+                              ExecutorFactory executorFactory,
+                              ObjectMapper objectMapper) {
+        this.breedRepository = breedRepository;
+        this.breedReadModelService = breedReadModelService;
+        this.breedService = breedService;
+        this.databaseBulkhead = executorFactory.database();
+        this.writer = objectMapper.writerFor(BreedResponseDTO.class);
+    }
+
+    public int writeNdjson(String temperament, String origin, OutputStream outputStream) throws IOException {
+        logger.info("Iniciando streaming NDJSON de raças - temperament: {}, origin: {} - Thread: {}",
+                temperament, origin, Thread.currentThread().getName());
+        long startTime = System.currentTimeMillis();
+        NdjsonWriter ndjson = new NdjsonWriter(outputStream);
+
+        try {
+            BreedReadModel readModel = breedReadModelService.current();
+            if (readModel != null) {
+                // Snapshot já está em memória: apenas a conversão e a escrita acontecem por item
+                readModel.findPage(temperament, origin, "", UNLIMITED).forEach(ndjson::write);
+            } else {
+                // Páginas por keyset: o bulkhead e a conexão ficam presos só durante cada consulta, nunca enquanto
+                // um cliente lento consome a resposta
+                String afterId = "";
+                List<Breed> chunk;
+                do {
+                    String after = afterId;
+                    chunk = databaseBulkhead.call(() -> breedRepository.findPage(after,
+                            Objects.toString(temperament, ""), Objects.toString(origin, ""), Limit.of(CHUNK_SIZE)));
+                    chunk.forEach(ndjson::write);
+                    if (!chunk.isEmpty()) {
+                        afterId = chunk.get(chunk.size() - 1).getId();
+                    }
+                } while (chunk.size() == CHUNK_SIZE);
+            }
+            ndjson.flush();
+        } catch (UncheckedIOException e) {
+            // Cliente desconectado no meio do streaming
+            logger.warn("Streaming NDJSON de raças interrompido após {} raças: {}", ndjson.count, e.getMessage());
+            throw e.getCause();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha no streaming de raças", e);
+        }
+
+        logger.info("Streaming NDJSON de {} raças concluído em {} ms", ndjson.count,
+                System.currentTimeMillis() - startTime);
+        return ndjson.count;
+    }
+
+    private class NdjsonWriter {
+
+        private final OutputStream outputStream;
+        private int count;
+
+        private NdjsonWriter(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        private void write(Breed breed) {
+            try {
+                outputStream.write(writer.writeValueAsBytes(breedService.convertToDTO(breed)));
+                outputStream.write('\n');
+                // Flush periódico para o cliente começar a renderizar antes do fim da consulta
+                if (++count % FLUSH_EVERY == 0) {
+                    outputStream.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void flush() throws IOException {
+            outputStream.flush();
+        }
+    }
+}
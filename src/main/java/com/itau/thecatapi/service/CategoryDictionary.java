@@ -0,0 +1,87 @@
+package com.itau.thecatapi.service;
+
+import com.itau.thecatapi.model.Category;
+
+import java.util.*;
+
+// Dicionário imutável id <-> nome das categorias, trocado por inteiro a cada recarga
+public final class CategoryDictionary {
+
+    private static final CategoryDictionary EMPTY = new CategoryDictionary(List.of());
+
+    private final List<Category> categories;
+    private final Map<Integer, Category> byId;
+    private final Map<String, Category> byName;
+    private final Map<Integer, String> namesById;
+
+    private CategoryDictionary(List<Category> categories) {
+        List<Category> ordered = new ArrayList<>(categories);
+        ordered.sort(Comparator.comparing(Category::getId));
+
+        Map<Integer, Category> ids = new HashMap<>();
+        Map<String, Category> names = new HashMap<>();
+        Map<Integer, String> namesById = new HashMap<>();
+        for (Category category : ordered) {
+            ids.put(category.getId(), category);
+            names.put(category.getName(), category);
+            namesById.put(category.getId(), category.getName());
+        }
+
+        this.categories = List.copyOf(ordered);
+        this.byId = Map.copyOf(ids);
+        this.byName = Map.copyOf(names);
+        this.namesById = Map.copyOf(namesById);
+    }
+
+    public static CategoryDictionary of(List<Category> categories) {
+        return new CategoryDictionary(categories);
+    }
+
+    public static CategoryDictionary empty() {
+        return EMPTY;
+    }
+
+    public List<Category> all() {
+        return categories;
+    }
+
+    public Map<Integer, String> namesById() {
+        return namesById;
+    }
+
+    public Optional<Category> findById(Integer id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(byId.get(id));
+    }
+
+    public Optional<Category> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(byName.get(name));
+    }
+
+    public String nameById(Integer id) {
+        return id == null ? null : namesById.get(id);
+    }
+
+    // Mantém a ordem dos nomes pedidos, ignorando repetidos e desconhecidos
+    public List<Category> findByNames(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return List.of();
+        }
+        Set<String> seen = new HashSet<>();
+        List<Category> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            Category category = name == null ? null : byName.get(name);
+            if (category != null && seen.add(name)) {
+                result.add(category);
+            }
+        }
+        return List.copyOf(result);
+    }
+
+    public int size() {
+        return categories.size();
+    }
+
+    public boolean isEmpty() {
+        return categories.isEmpty();
+    }
+}
@@ -1,71 +1,94 @@
 package com.itau.thecatapi.service;
 
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
 import com.itau.thecatapi.model.Category;
 import com.itau.thecatapi.repository.CategoryRepository;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class CategoryService {
 
+    private static final Logger logger = LoggerFactory.getLogger(CategoryService.class);
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    private volatile CategoryDictionary dictionary = CategoryDictionary.empty();
+
     @PostConstruct
     public void initCache() {
-        getAllCategoriesMap();
+        reload();
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDataCollectionCompleted(DataCollectionCompletedEvent event) {
+        reload();
+    }
+
+    public void reload() {
+        try {
+            dictionary = CategoryDictionary.of(categoryRepository.findAll());
+            logger.info("Dicionário de categorias carregado com {} categorias", dictionary.size());
+        } catch (Exception e) {
+            // Mantém o dicionário anterior
+            logger.error("Erro ao carregar dicionário de categorias: {}", e.getMessage(), e);
+        }
     }
 
-    @Cacheable(value = "categories", key = "'allCategories'")
     public List<Category> getAllCategories() {
-        return categoryRepository.findAllOrderedById();
+        return loadedDictionary().all();
     }
 
-    @Cacheable(value = "categories", key = "'categoriesMap'")
     public Map<Integer, String> getAllCategoriesMap() {
-        return categoryRepository.findAll().stream()
-                .collect(Collectors.toMap(
-                        Category::getId,
-                        Category::getName
-                ));
+        return loadedDictionary().namesById();
     }
 
-    @Cacheable(value = "categories", key = "'category-' + #id")
     public Optional<Category> getCategoryById(Integer id) {
-        return categoryRepository.findById(id);
+        return loadedDictionary().findById(id);
     }
 
-    @Cacheable(value = "categories", key = "'categoryByName-' + #name")
     public Optional<Category> getCategoryByName(String name) {
-        return categoryRepository.findByName(name);
+        return loadedDictionary().findByName(name);
     }
 
-    @Cacheable(value = "categories", key = "'categoryNameById-' + #id")
     public String getCategoryNameById(Integer id) {
-        return categoryRepository.findById(id)
-                .map(Category::getName)
-                .orElse(null);
+        return loadedDictionary().nameById(id);
     }
 
-    @Cacheable(value = "categories", key = "'categoriesByNames-' + #names.hashCode()")
     public List<Category> getCategoriesByNames(List<String> names) {
-        return categoryRepository.findByNameIn(names);
+        return loadedDictionary().findByNames(names);
     }
 
-    @CacheEvict(value = "categories", allEntries = true)
     public void clearCache() {
+        reload();
     }
 
-    @CacheEvict(value = "categories", allEntries = true)
     public Category saveCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        reload();
+        return saved;
+    }
+
+    // Na primeira coleta as categorias são gravadas antes do evento de conclusão, então um dicionário
+    // vazio é recarregado sob demanda; depois disso nenhuma leitura vai ao banco
+    private CategoryDictionary loadedDictionary() {
+        CategoryDictionary current = dictionary;
+        if (current.isEmpty()) {
+            reload();
+            current = dictionary;
+        }
+        return current;
     }
 }
@@ -2,18 +2,20 @@ package com.itau.thecatapi.service;
 
 
 import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
 import com.itau.thecatapi.exception.DataCollectionException;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.model.BreedImage;
 import com.itau.thecatapi.model.Category;
-import com.itau.thecatapi.repository.BreedImageRepository;
-import com.itau.thecatapi.repository.BreedRepository;
-import com.itau.thecatapi.repository.CategoryRepository;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import com.itau.thecatapi.service.pipeline.BreedImagePipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -24,18 +26,18 @@ public class DataCollectionService {
     private static final Logger logger = LoggerFactory.getLogger(DataCollectionService.class);
 
     private final TheCatAPIClient catApiClient;
-    private final CategoryRepository categoryRepository;
-    private final BreedRepository breedRepository;
-    private final BreedImageRepository breedImageRepository;
+    private final BatchUpsertRepository batchUpsertRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BreedImagePipeline breedImagePipeline;
 
     public DataCollectionService(TheCatAPIClient catApiClient,
-                                 CategoryRepository categoryRepository,
-                                 BreedRepository breedRepository,
-                                 BreedImageRepository breedImageRepository) {
+                                 BatchUpsertRepository batchUpsertRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 BreedImagePipeline breedImagePipeline) {
         this.catApiClient = catApiClient;
-        this.categoryRepository = categoryRepository;
-        this.breedRepository = breedRepository;
-        this.breedImageRepository = breedImageRepository;
+        this.batchUpsertRepository = batchUpsertRepository;
+        this.eventPublisher = eventPublisher;
+        this.breedImagePipeline = breedImagePipeline;
     }
 
     @Async
@@ -56,7 +58,11 @@ public class DataCollectionService {
             return saveAllBreedImagesByCriteriaAsync(List.of("sunglasses"));
         });
 
-        CompletableFuture<List<BreedImage>> futureBreedImage = futureBreed.thenComposeAsync(breeds -> {
+        CompletableFuture<BreedImagePipeline.Result> futureBreedImage = futureBreed.thenComposeAsync(breeds -> {
+            if (breeds == null) {
+                logger.warn("Coleta de raças falhou, ignorando coleta de imagens de raça");
+                return CompletableFuture.completedFuture(null);
+            }
             logger.info("Coleta de raças concluída, executando coleta de imagens de raça");
             return saveAllBreedImagesAsync(breeds);
         });
@@ -68,10 +74,24 @@ public class DataCollectionService {
                 })
                 .thenApply(ignored -> {
                     logger.info("Processo de coleta de dados concluído!");
+                    // Cada etapa absorve a própria falha; só avisa o cluster se algo foi de fato persistido
+                    BreedImagePipeline.Result imageResult = futureBreedImage.join();
+                    boolean persisted = hasItems(futureBreed.join()) || hasItems(futureCategory.join())
+                            || hasItems(futureHats.join()) || hasItems(futureSunglasses.join())
+                            || (imageResult != null && imageResult.persisted() > 0);
+                    if (persisted) {
+                        eventPublisher.publishEvent(new DataCollectionCompletedEvent(Instant.now()));
+                    } else {
+                        logger.warn("Nenhum dado foi persistido na coleta; evento de conclusão não publicado");
+                    }
                     return null;
                 });
     }
 
+    private static boolean hasItems(List<?> saved) {
+        return saved != null && !saved.isEmpty();
+    }
+
     public CompletableFuture<List<Breed>> saveAllBreedsAsync() {
         logger.info("Coletando informações das raças de forma assíncrona");
 
@@ -81,7 +101,7 @@ public class DataCollectionService {
 
                     return CompletableFuture.supplyAsync(() -> {
                         try {
-                            List<Breed> savedBreeds = breedRepository.saveAll(breeds);
+                            List<Breed> savedBreeds = batchUpsertRepository.upsertBreeds(breeds);
                             logger.info("Successfully saved {} breeds", savedBreeds.size());
                             return savedBreeds;
                         } catch (Exception e) {
@@ -96,23 +116,14 @@ public class DataCollectionService {
                 });
     }
 
-    public CompletableFuture<List<BreedImage>> saveAllBreedImagesAsync(List<Breed> breeds) {
+    // As imagens são persistidas em lotes conforme chegam, sem acumular a coleta inteira em memória
+    public CompletableFuture<BreedImagePipeline.Result> saveAllBreedImagesAsync(List<Breed> breeds) {
         logger.info("Coletando informações das imagens de raças de forma assíncrona");
 
-        return catApiClient.getBreedImagesAsync(breeds)
-                .thenCompose(breedImages -> {
-                    logger.debug("Received {} breed images, saving in batch", breedImages.size());
-
-                    return CompletableFuture.supplyAsync(() -> {
-                        try {
-                            List<BreedImage> savedBreedImages = breedImageRepository.saveAll(breedImages);
-                            logger.info("Successfully saved {} breed images", savedBreedImages.size());
-                            return savedBreedImages;
-                        } catch (Exception e) {
-                            logger.error("Error saving breed images batch", e);
-                            throw new CompletionException(e);
-                        }
-                    });
+        return breedImagePipeline.run(breeds)
+                .thenApply(result -> {
+                    logger.info("Successfully saved {} breed images", result.persisted());
+                    return result;
                 })
                 .exceptionally(ex -> {
                     logger.error("Failed to collect breed images", ex);
@@ -129,7 +140,7 @@ public class DataCollectionService {
 
                     return CompletableFuture.supplyAsync(() -> {
                         try {
-                            List<BreedImage> savedBreedImages = breedImageRepository.saveAll(breedImages);
+                            List<BreedImage> savedBreedImages = batchUpsertRepository.upsertImages(breedImages);
                             logger.info("Successfully saved {} specific ({}) breed images", savedBreedImages.size(), categories);
                             return savedBreedImages;
                         } catch (Exception e) {
@@ -150,7 +161,7 @@ public class DataCollectionService {
             logger.debug("Received {} categories, saving in batch", categories.size());
             return CompletableFuture.supplyAsync(() -> {
                 try {
-                    List<Category> savedCategories = categoryRepository.saveAll(categories);
+                    List<Category> savedCategories = batchUpsertRepository.upsertCategories(categories);
                     logger.info("Successfully saved {} categories", savedCategories.size());
                     return savedCategories;
                 } catch (Exception e) {
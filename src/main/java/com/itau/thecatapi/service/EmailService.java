@@ -1,5 +1,6 @@
 package com.itau.thecatapi.service;
 
+import com.itau.thecatapi.service.mail.MailDeliveryEngine;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,11 +21,20 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private MailDeliveryEngine mailDeliveryEngine;
+
     @Value("${spring.mail.username}")
     private String fromEmail;
 
     @Async
     public void sendBreedInfoEmail(String toEmail, String subject, String breedInfo, List<String> imageUrls) {
+        sendHtmlEmail(toEmail, subject, buildEmailContent(breedInfo, imageUrls));
+    }
+
+    // Síncrono: o listener só confirma a mensagem da fila depois do envio. O envio em si sai por uma conexão
+    // do pool, junto com as mensagens dos outros consumidores, e as falhas transitórias já chegam aqui retentadas
+    public void sendHtmlEmail(String toEmail, String subject, String htmlContent) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -33,10 +43,9 @@ public class EmailService {
             helper.setTo(toEmail);
             helper.setSubject(subject);
 
-            String htmlContent = buildEmailContent(breedInfo, imageUrls);
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            mailDeliveryEngine.submit(message).join();
 
             logger.info("Email enviado com sucesso para: {}", toEmail);
 
@@ -46,7 +55,8 @@ public class EmailService {
         }
     }
 
-    private String buildEmailContent(String breedInfo, List<String> imageUrls) {
+    // Não depende do destinatário, então pode ser reaproveitado entre requisições com a mesma consulta
+    public static String buildEmailContent(String breedInfo, List<String> imageUrls) {
         StringBuilder html = new StringBuilder();
         html.append("""
             <html>
@@ -0,0 +1,205 @@
+package com.itau.thecatapi.service;
+
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.dto.ContentHashDTO;
+import com.itau.thecatapi.dto.ImageSyncStateDTO;
+import com.itau.thecatapi.dto.SyncSummaryDTO;
+import com.itau.thecatapi.dto.SyncSummaryDTO.EntityChanges;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.exception.DataCollectionException;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.Category;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import com.itau.thecatapi.repository.BreedImageRepository;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.repository.CategoryRepository;
+import com.itau.thecatapi.utils.ContentHashes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class IncrementalSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalSyncService.class);
+
+    private final TheCatAPIClient catApiClient;
+    private final BreedRepository breedRepository;
+    private final CategoryRepository categoryRepository;
+    private final BreedImageRepository breedImageRepository;
+    private final BatchUpsertRepository batchUpsertRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public IncrementalSyncService(TheCatAPIClient catApiClient,
+                                  BreedRepository breedRepository,
+                                  CategoryRepository categoryRepository,
+                                  BreedImageRepository breedImageRepository,
+                                  BatchUpsertRepository batchUpsertRepository,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.catApiClient = catApiClient;
+        this.breedRepository = breedRepository;
+        this.categoryRepository = categoryRepository;
+        this.breedImageRepository = breedImageRepository;
+        this.batchUpsertRepository = batchUpsertRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public CompletableFuture<SyncSummaryDTO> syncAsync() {
+        logger.info("Iniciando sincronização incremental com a The Cat API");
+        long start = System.nanoTime();
+
+        CompletableFuture<List<Category>> futureCategories = catApiClient.getCategoriesAsync();
+        CompletableFuture<List<Breed>> futureBreeds = catApiClient.getAllBreedsAsync();
+
+        CompletableFuture<EntityChanges> categoryChanges = futureCategories.thenApply(this::syncCategories);
+        CompletableFuture<EntityChanges> breedChanges = futureBreeds.thenApply(this::syncBreeds);
+
+        // As imagens referenciam raças e categorias, então só são gravadas depois delas
+        CompletableFuture<List<BreedImage>> futureImages = breedChanges.thenCombine(categoryChanges, (b, c) -> b)
+                .thenCompose(ignored -> fetchImages(futureBreeds.join()));
+        CompletableFuture<EntityChanges> imageChanges = futureImages.thenApply(this::syncImages);
+
+        return CompletableFuture.allOf(categoryChanges, breedChanges, imageChanges)
+                .thenApply(ignored -> {
+                    SyncSummaryDTO summary = new SyncSummaryDTO(breedChanges.join(), categoryChanges.join(),
+                            imageChanges.join(), (System.nanoTime() - start) / 1_000_000);
+                    logger.info("Sincronização incremental concluída: {}", summary);
+                    if (summary.hasChanges()) {
+                        eventPublisher.publishEvent(new DataCollectionCompletedEvent(Instant.now()));
+                    }
+                    return summary;
+                })
+                .exceptionally(ex -> {
+                    logger.error("Falha na sincronização incremental: {}", ex.getMessage());
+                    throw new DataCollectionException("Falha na sincronização incremental: " + ex.getMessage());
+                });
+    }
+
+    EntityChanges syncCategories(List<Category> upstream) {
+        Map<String, String> stored = toHashMap(categoryRepository.findContentHashes());
+        Diff<Category> diff = diff(upstream, category -> String.valueOf(category.getId()),
+                ContentHashes::category, stored);
+
+        batchUpsertRepository.upsertCategories(diff.changed());
+        List<Integer> removed = upstream.isEmpty() ? List.of()
+                : diff.missing().stream().map(Integer::valueOf).collect(Collectors.toList());
+        int deleted = batchUpsertRepository.deleteCategories(removed);
+
+        return diff.toChanges(deleted);
+    }
+
+    EntityChanges syncBreeds(List<Breed> upstream) {
+        Map<String, String> stored = toHashMap(breedRepository.findContentHashes());
+        Diff<Breed> diff = diff(upstream, Breed::getId, ContentHashes::breed, stored);
+
+        batchUpsertRepository.upsertBreeds(diff.changed());
+        // Uma lista vazia do upstream indica falha na coleta, e não que todas as raças deixaram de existir
+        int deleted = batchUpsertRepository.deleteBreeds(upstream.isEmpty() ? List.of() : diff.missing());
+
+        return diff.toChanges(deleted);
+    }
+
+    // Imagens nunca são apagadas: a busca do upstream é aleatória e não representa o catálogo completo
+    EntityChanges syncImages(List<BreedImage> upstream) {
+        Map<String, BreedImage> byId = new LinkedHashMap<>();
+        upstream.forEach(image -> byId.putIfAbsent(image.getId(), image));
+        if (byId.isEmpty()) {
+            return new EntityChanges(0, 0, 0, 0);
+        }
+
+        Map<String, ImageSyncStateDTO> stored = breedImageRepository.findSyncStatesByIdIn(byId.keySet()).stream()
+                .collect(Collectors.toMap(ImageSyncStateDTO::id, Function.identity()));
+
+        List<BreedImage> changed = new ArrayList<>();
+        int inserted = 0;
+        int updated = 0;
+        for (BreedImage image : byId.values()) {
+            ImageSyncStateDTO state = stored.get(image.getId());
+            if (state == null) {
+                inserted++;
+                changed.add(image);
+            } else if (imageChanged(image, state)) {
+                updated++;
+                changed.add(image);
+            }
+        }
+
+        batchUpsertRepository.upsertImages(changed);
+        return new EntityChanges(inserted, updated, 0, byId.size() - changed.size());
+    }
+
+    private boolean imageChanged(BreedImage image, ImageSyncStateDTO state) {
+        if (!ContentHashes.image(image).equals(state.contentHash())) {
+            return true;
+        }
+        // O upsert mantém a associação existente quando o upstream não a envia
+        return (image.getBreedIdOnly() != null && !image.getBreedIdOnly().equals(state.breedId()))
+                || (image.getCategoryIdOnly() != null && !image.getCategoryIdOnly().equals(state.categoryId()));
+    }
+
+    private CompletableFuture<List<BreedImage>> fetchImages(List<Breed> breeds) {
+        CompletableFuture<List<BreedImage>> breedImages = catApiClient.getBreedImagesAsync(breeds);
+        CompletableFuture<List<BreedImage>> hats = catApiClient.getBreedImagesByCriteriaAsync(List.of("hats"));
+        CompletableFuture<List<BreedImage>> sunglasses = catApiClient.getBreedImagesByCriteriaAsync(List.of("sunglasses"));
+
+        return CompletableFuture.allOf(breedImages, hats, sunglasses)
+                .thenApply(ignored -> {
+                    List<BreedImage> images = new ArrayList<>(breedImages.join());
+                    images.addAll(hats.join());
+                    images.addAll(sunglasses.join());
+                    return images;
+                });
+    }
+
+    private static Map<String, String> toHashMap(List<ContentHashDTO> hashes) {
+        Map<String, String> map = new HashMap<>();
+        hashes.forEach(hash -> map.put(hash.id(), hash.contentHash()));
+        return map;
+    }
+
+    private static <T> Diff<T> diff(List<T> upstream, Function<T, String> id, Function<T, String> hash,
+                                    Map<String, String> stored) {
+        List<T> changed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        int inserted = 0;
+        int updated = 0;
+        int unchanged = 0;
+
+        for (T item : upstream) {
+            String key = id.apply(item);
+            if (!seen.add(key)) {
+                continue;
+            }
+            if (!stored.containsKey(key)) {
+                inserted++;
+                changed.add(item);
+            } else if (!hash.apply(item).equals(stored.get(key))) {
+                updated++;
+                changed.add(item);
+            } else {
+                unchanged++;
+            }
+        }
+
+        List<String> missing = stored.keySet().stream()
+                .filter(key -> !seen.contains(key))
+                .collect(Collectors.toList());
+
+        return new Diff<>(changed, missing, inserted, updated, unchanged);
+    }
+
+    private record Diff<T>(List<T> changed, List<String> missing, int inserted, int updated, int unchanged) {
+
+        EntityChanges toChanges(int deleted) {
+            return new EntityChanges(inserted, updated, deleted, unchanged);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.thecatapi.message.BreedRequestMessage;
+import com.itau.thecatapi.service.queue.QueueService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+// Publica no journal da fila local; a gravação é local e rápida, então o envio é síncrono
+@Profile("local")
+@Service
+public class LocalMessagingService implements BreedRequestPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMessagingService.class);
+
+    private final QueueService queueService;
+    private final ObjectMapper objectMapper;
+
+    public LocalMessagingService(QueueService queueService, ObjectMapper objectMapper) {
+        this.queueService = queueService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public CompletableFuture<Void> sendBreedRequest(BreedRequestMessage message) {
+        try {
+            message.setMessageId(UUID.randomUUID().toString());
+            queueService.sendMessage(objectMapper.writeValueAsString(message));
+            logger.info("Mensagem enviada para a fila local. MessageID: {}, Email: {}",
+                    message.getMessageId(), message.getEmail());
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            logger.error("Erro ao enviar mensagem para a fila local: {}", e.getMessage(), e);
+            return CompletableFuture.failedFuture(new RuntimeException("Falha no envio para a fila local", e));
+        }
+    }
+}
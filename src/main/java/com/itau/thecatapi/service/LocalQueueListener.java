@@ -0,0 +1,121 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.message.BreedRequestMessage;
+import com.itau.thecatapi.service.queue.JournalQueue;
+import com.itau.thecatapi.service.queue.LocalQueueService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Consumidor da fila embarcada do perfil local: faz o papel dos listeners SQS, com o mesmo BreedRequestProcessor.
+// Mensagens com falha não são confirmadas e voltam a ser entregues ao fim da visibilidade
+@Profile("local")
+@Service
+public class LocalQueueListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalQueueListener.class);
+
+    private static final int MAX_MESSAGES_PER_POLL = 10;
+
+    private final LocalQueueService queueService;
+    private final BreedRequestProcessor breedRequestProcessor;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService processingExecutor;
+    private final Semaphore permits;
+    private final long pollIntervalMillis;
+
+    private volatile boolean running;
+    private Thread poller;
+
+    public LocalQueueListener(LocalQueueService queueService,
+                              BreedRequestProcessor breedRequestProcessor,
+                              ObjectMapper objectMapper,
+                              ExecutorFactory executorFactory,
+                              @Value("${thecatapi.queue.local.max-in-flight:20}") int maxInFlight,
+                              @Value("${thecatapi.queue.local.poll-interval-ms:50}") long pollIntervalMillis) {
+        this.queueService = queueService;
+        this.breedRequestProcessor = breedRequestProcessor;
+        this.objectMapper = objectMapper;
+        this.processingExecutor = executorFactory.newExecutor("LocalQueueConsumer", maxInFlight);
+        this.permits = new Semaphore(maxInFlight);
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        poller = Thread.ofPlatform().name("LocalQueuePoller").daemon(true).start(this::pollLoop);
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                // Só busca o que pode processar: o restante fica no journal, sem contar visibilidade
+                permits.acquire();
+                int available = 1 + drainPermits(MAX_MESSAGES_PER_POLL - 1);
+                List<JournalQueue.Delivery> deliveries = queueService.receiveMessages(available);
+                permits.release(available - deliveries.size());
+
+                if (deliveries.isEmpty()) {
+                    Thread.sleep(pollIntervalMillis);
+                    continue;
+                }
+                deliveries.forEach(delivery -> processingExecutor.execute(() -> process(delivery)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Erro ao consumir a fila local: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    void process(JournalQueue.Delivery delivery) {
+        try {
+            BreedRequestMessage request = objectMapper.readValue(delivery.body(), BreedRequestMessage.class);
+            breedRequestProcessor.process(request);
+            queueService.acknowledge(delivery);
+        } catch (Exception e) {
+            logger.error("Erro ao processar mensagem da fila local (offset {}, entrega {}): {}",
+                    delivery.offset(), delivery.deliveryCount(), e.getMessage(), e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private int drainPermits(int max) {
+        int acquired = 0;
+        while (acquired < max && permits.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (poller != null) {
+            poller.interrupt();
+        }
+        processingExecutor.shutdown();
+        try {
+            if (!processingExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                processingExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            processingExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
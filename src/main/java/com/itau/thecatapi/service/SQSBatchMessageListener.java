@@ -0,0 +1,177 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.config.SQSConfig;
+import com.itau.thecatapi.message.BreedRequestMessage;
+import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Consome a fila em lotes (até 10 mensagens por poll) e processa as mensagens do lote em paralelo.
+// Cada mensagem é confirmada individualmente; as que falham voltam para a fila ao fim da visibilidade
+@Service
+@Profile("!local")
+@ConditionalOnProperty(name = "thecatapi.sqs.listener.mode", havingValue = "batch")
+public class SQSBatchMessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SQSBatchMessageListener.class);
+
+    private final BreedRequestProcessor breedRequestProcessor;
+    private final ObjectMapper objectMapper;
+    private final int visibilityTimeoutSeconds;
+
+    private final ExecutorService processingExecutor;
+    private final ScheduledExecutorService visibilityScheduler;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer processingTimer;
+    private final Counter processedCounter;
+    private final Counter failedCounter;
+    private final Counter visibilityExtensions;
+
+    public SQSBatchMessageListener(BreedRequestProcessor breedRequestProcessor,
+                                   ObjectMapper objectMapper,
+                                   ExecutorFactory executorFactory,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${thecatapi.sqs.batch.max-in-flight:20}") int maxInFlight,
+                                   @Value("${thecatapi.sqs.batch.visibility-timeout-seconds:30}") int visibilityTimeoutSeconds) {
+        this.breedRequestProcessor = breedRequestProcessor;
+        this.objectMapper = objectMapper;
+        this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        // O container já limita as mensagens em voo a maxInFlight; o pool acompanha esse limite
+        this.processingExecutor = executorFactory.newExecutor("SqsConsumer", maxInFlight);
+        this.visibilityScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("SqsVisibility-", 0).daemon(true).factory());
+
+        Gauge.builder("thecatapi.sqs.in_flight", inFlight, AtomicInteger::get)
+                .description("Mensagens SQS em processamento")
+                .register(meterRegistry);
+        this.processingTimer = Timer.builder("thecatapi.sqs.processing")
+                .description("Tempo de processamento de uma mensagem SQS, do recebimento à confirmação")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.processedCounter = Counter.builder("thecatapi.sqs.messages")
+                .description("Mensagens SQS processadas")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("thecatapi.sqs.messages")
+                .description("Mensagens SQS processadas")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.visibilityExtensions = Counter.builder("thecatapi.sqs.visibility_extensions")
+                .description("Extensões de visibilidade para mensagens lentas")
+                .register(meterRegistry);
+
+        logger.info("Listener SQS em lote ativo - max em voo: {}, visibilidade: {}s",
+                maxInFlight, visibilityTimeoutSeconds);
+    }
+
+    // Retornar o future mantém o lote "em voo" no container até a última mensagem terminar,
+    // então o limite de concorrência do container vale para o processamento e não só para o poll
+    @SqsListener(value = "${spring.cloud.aws.sqs.queue.url}", factory = SQSConfig.BATCH_LISTENER_FACTORY)
+    public CompletableFuture<Void> receiveMessages(List<Message<String>> messages,
+                                                   BatchAcknowledgement<String> acknowledgement) {
+        logger.info("Lote de {} mensagens recebido do SQS - em voo: {}", messages.size(), inFlight.get());
+
+        CompletableFuture<?>[] futures = messages.stream()
+                .map(message -> process(message, acknowledgement))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    CompletableFuture<Void> process(Message<String> message, BatchAcknowledgement<String> acknowledgement) {
+        inFlight.incrementAndGet();
+        long startTime = System.nanoTime();
+        ScheduledFuture<?> extension = scheduleVisibilityExtension(message);
+
+        return CompletableFuture
+                .runAsync(() -> breedRequestProcessor.process(parse(message.getPayload())), processingExecutor)
+                .thenCompose(v -> acknowledgement.acknowledgeAsync(List.of(message)))
+                .handle((v, ex) -> {
+                    if (extension != null) {
+                        extension.cancel(false);
+                    }
+                    inFlight.decrementAndGet();
+                    processingTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+                    if (ex == null) {
+                        processedCounter.increment();
+                    } else {
+                        // Sem confirmação: a mensagem reaparece na fila e, após as tentativas, vai para a DLQ
+                        failedCounter.increment();
+                        logger.error("Erro ao processar mensagem do SQS {}: {}",
+                                message.getHeaders().getId(), ex.getMessage(), ex);
+                    }
+                    return null;
+                });
+    }
+
+    // Mensagens que passam da metade da visibilidade ganham uma nova janela, para não serem entregues de novo
+    // a outro consumidor enquanto ainda estão sendo processadas
+    private ScheduledFuture<?> scheduleVisibilityExtension(Message<String> message) {
+        Visibility visibility = message.getHeaders().get(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, Visibility.class);
+        if (visibility == null || visibilityTimeoutSeconds <= 1) {
+            return null;
+        }
+        long periodMillis = visibilityTimeoutSeconds * 1000L / 2;
+        return visibilityScheduler.scheduleAtFixedRate(() -> {
+            visibilityExtensions.increment();
+            logger.warn("Mensagem SQS {} ainda em processamento; estendendo visibilidade por {}s",
+                    message.getHeaders().getId(), visibilityTimeoutSeconds);
+            visibility.changeToAsync(visibilityTimeoutSeconds).exceptionally(ex -> {
+                logger.warn("Falha ao estender visibilidade: {}", ex.getMessage());
+                return null;
+            });
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private BreedRequestMessage parse(String payload) {
+        try {
+            return objectMapper.readValue(payload, BreedRequestMessage.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Mensagem SQS inválida", e);
+        }
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        visibilityScheduler.shutdownNow();
+        processingExecutor.shutdown();
+        try {
+            if (!processingExecutor.awaitTermination(visibilityTimeoutSeconds, TimeUnit.SECONDS)) {
+                processingExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            processingExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,30 +1,26 @@
 package com.itau.thecatapi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.itau.thecatapi.dto.BreedResponseDTO;
 import com.itau.thecatapi.message.BreedRequestMessage;
 import io.awspring.cloud.sqs.annotation.SqsListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
+// Modo padrão: uma mensagem por vez. Com thecatapi.sqs.listener.mode=batch o SQSBatchMessageListener assume a fila.
+// No perfil local quem consome é o LocalQueueListener
 @Service
+@Profile("!local")
+@ConditionalOnProperty(name = "thecatapi.sqs.listener.mode", havingValue = "single", matchIfMissing = true)
 public class SQSMessageListener {
 
     private static final Logger logger = LoggerFactory.getLogger(SQSMessageListener.class);
 
     @Autowired
-    private BreedService breedService;
-
-    @Autowired
-    private BreedImageService breedImageService;
-
-    @Autowired
-    private EmailService emailService;
+    private BreedRequestProcessor breedRequestProcessor;
 
     @Autowired
     private ObjectMapper objectMapper;
@@ -45,70 +41,13 @@ public class SQSMessageListener {
         }
     }
 
-    @Async
+    // Executa na thread do listener: o @Async que havia aqui nunca valeu, por ser uma chamada interna
     public void processBreedRequest(BreedRequestMessage request) {
-        logger.info("Processando requisição assíncrona. MessageID: {}, Email: {}",
-                request.getMessageId(), request.getEmail());
-
         try {
-            String breedInfo = processBreedInformation(request);
-            List<String> imageUrls = getImagesForRequest(request);
-
-            // Enviar email
-            emailService.sendBreedInfoEmail(
-                    request.getEmail(),
-                    "🐱 Informações sobre Raças de Gatos",
-                    breedInfo,
-                    imageUrls
-            );
-
-            logger.info("Requisição processada com sucesso. MessageID: {}", request.getMessageId());
-
+            breedRequestProcessor.process(request);
         } catch (Exception e) {
             logger.error("Erro ao processar requisição MessageID {}: {}",
                     request.getMessageId(), e.getMessage(), e);
         }
     }
-
-    public String processBreedInformation(BreedRequestMessage request) {
-        StringBuilder info = new StringBuilder();
-
-        if (request.getBreedId() != null) {
-            BreedResponseDTO breed = breedService.getBreedById(request.getBreedId()).join();
-            info.append(String.format("""
-                Raça: %s
-                Origem: %s
-                Temperamento: %s
-                Descrição: %s
-                """, breed.getName(), breed.getOrigin(), breed.getTemperament(), breed.getDescription()));
-
-        } else if (request.getTemperament() != null) {
-            List<BreedResponseDTO> breeds = breedService.getBreedsByTemperament(request.getTemperament()).join();
-            info.append(String.format("Raças com temperamento '%s':\\n\\n", request.getTemperament()));
-            breeds.forEach(breed -> info.append(String.format(
-                    "- %s (Origem: %s)\\n", breed.getName(), breed.getOrigin())));
-
-        } else if (request.getOrigin() != null) {
-            List<BreedResponseDTO> breeds = breedService.getBreedsByOrigin(request.getOrigin()).join();
-            info.append(String.format("Raças da origem '%s':\\n\\n", request.getOrigin()));
-            breeds.forEach(breed -> info.append(String.format(
-                    "- %s (Temperamento: %s)\\n", breed.getName(), breed.getTemperament())));
-
-        } else {
-            List<BreedResponseDTO> breeds = breedService.getAllBreeds().join();
-            info.append("Todas as raças de gatos:\\n\\n");
-            breeds.forEach(breed -> info.append(String.format(
-                    "- %s (Origem: %s, Temperamento: %s)\\n",
-                    breed.getName(), breed.getOrigin(), breed.getTemperament())));
-        }
-
-        return info.toString();
-    }
-
-    public List<String> getImagesForRequest(BreedRequestMessage request) {
-        if (request.getBreedId() != null) {
-            return breedImageService.getImageUrlsByBreedId(request.getBreedId(), 3).join();
-        }
-        return null;
-    }
-}
\ No newline at end of file
+}
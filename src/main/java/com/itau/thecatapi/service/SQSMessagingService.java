@@ -1,53 +1,61 @@
 package com.itau.thecatapi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.thecatapi.message.BreedQuery;
 import com.itau.thecatapi.message.BreedRequestMessage;
+import com.itau.thecatapi.service.queue.SQSSendBatcher;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 @Service
-public class SQSMessagingService {
+@Profile("!local")
+public class SQSMessagingService implements BreedRequestPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(SQSMessagingService.class);
 
-    private final SqsAsyncClient sqsAsyncClient;
     private final ObjectMapper objectMapper;
-    private final String queueUrl;
+    private final SQSSendBatcher batcher;
 
+    public SQSMessagingService(SqsAsyncClient sqsAsyncClient, ObjectMapper objectMapper, String queueUrl) {
+        this(sqsAsyncClient, objectMapper, queueUrl, SQSSendBatcher.MAX_BATCH_SIZE, 20, 4);
+    }
+
+    @Autowired
     public SQSMessagingService(SqsAsyncClient sqsAsyncClient,
                                ObjectMapper objectMapper,
-                               @Value("${spring.cloud.aws.sqs.queue.url}") String queueUrl) {
-        this.sqsAsyncClient = sqsAsyncClient;
+                               @Value("${spring.cloud.aws.sqs.queue.url}") String queueUrl,
+                               @Value("${thecatapi.sqs.send.batch-size:10}") int batchSize,
+                               @Value("${thecatapi.sqs.send.linger-ms:20}") long lingerMillis,
+                               @Value("${thecatapi.sqs.send.max-in-flight-batches:4}") int maxInFlightBatches) {
         this.objectMapper = objectMapper;
-        this.queueUrl = queueUrl;
+        // Rajadas de requisições viram poucas chamadas SendMessageBatch em vez de uma SendMessage por requisição
+        this.batcher = new SQSSendBatcher(sqsAsyncClient, queueUrl, batchSize, lingerMillis, maxInFlightBatches);
     }
 
+    @Override
     public CompletableFuture<Void> sendBreedRequest(BreedRequestMessage message) {
         try {
             message.setMessageId(UUID.randomUUID().toString());
 
             String messageBody = objectMapper.writeValueAsString(message);
 
-            SendMessageRequest request = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(messageBody)
-                    .messageGroupId(message.getEmail())
-                    .build();
-
-            return sqsAsyncClient.sendMessage(request)
-                    .thenAccept(response -> {
+            return batcher.send(messageBody, message.getEmail(), BreedQuery.deduplicationId(message))
+                    .thenAccept(sqsMessageId -> {
                         logger.info("Mensagem enviada para SQS. MessageID: {}, SQSMessageId: {}, Email: {}",
-                                message.getMessageId(), response.messageId(), message.getEmail());
+                                message.getMessageId(), sqsMessageId, message.getEmail());
                     })
                     .exceptionally(throwable -> {
-                        logger.error("Erro ao enviar mensagem para SQS: {}", throwable.getMessage(), throwable);
+                        logger.error("Erro ao enviar mensagem para SQS. MessageID: {}, Email: {}: {}",
+                                message.getMessageId(), message.getEmail(), throwable.getMessage(), throwable);
                         throw new RuntimeException("Falha no envio para SQS", throwable);
                     });
 
@@ -64,4 +72,10 @@ public class SQSMessagingService {
             throw new RuntimeException("Falha no envio síncrono para SQS", e);
         }
     }
-}
\ No newline at end of file
+
+    // Envia o que ainda estiver aguardando lote antes de encerrar
+    @PreDestroy
+    public void shutdown() {
+        batcher.close();
+    }
+}
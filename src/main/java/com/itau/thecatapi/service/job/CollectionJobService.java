@@ -0,0 +1,385 @@
+package com.itau.thecatapi.service.job;
+
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.dto.CollectionJobStatusDTO;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.exception.JobAlreadyRunningException;
+import com.itau.thecatapi.exception.ResourceNotFoundException;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.CollectionJob;
+import com.itau.thecatapi.model.CollectionJobUnit;
+import com.itau.thecatapi.model.CollectionJobUnit.Status;
+import com.itau.thecatapi.model.CollectionJobUnit.Type;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import com.itau.thecatapi.repository.CollectionJobRepository;
+import com.itau.thecatapi.repository.CollectionJobUnitRepository;
+import com.itau.thecatapi.service.scheduler.DataCollectionLock;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Service
+public class CollectionJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CollectionJobService.class);
+
+    private static final List<String> CRITERIA = List.of("hats", "sunglasses");
+    private static final String ALL = "all";
+
+    private final TheCatAPIClient catApiClient;
+    private final BatchUpsertRepository batchUpsertRepository;
+    private final CollectionJobRepository jobRepository;
+    private final CollectionJobUnitRepository unitRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DataCollectionLock dataCollectionLock;
+    private final boolean resumeOnStartup;
+    private final ExecutorService jobExecutor;
+
+    // Apenas um job executa por vez nesta instância
+    private final AtomicReference<Long> runningJobId = new AtomicReference<>();
+
+    public CollectionJobService(TheCatAPIClient catApiClient,
+                                BatchUpsertRepository batchUpsertRepository,
+                                CollectionJobRepository jobRepository,
+                                CollectionJobUnitRepository unitRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                DataCollectionLock dataCollectionLock,
+                                ExecutorFactory executorFactory,
+                                @Value("${thecatapi.jobs.resume-on-startup:true}") boolean resumeOnStartup) {
+        this.catApiClient = catApiClient;
+        this.batchUpsertRepository = batchUpsertRepository;
+        this.jobRepository = jobRepository;
+        this.unitRepository = unitRepository;
+        this.eventPublisher = eventPublisher;
+        this.dataCollectionLock = dataCollectionLock;
+        this.resumeOnStartup = resumeOnStartup;
+        this.jobExecutor = executorFactory.newExecutor("CollectionJob", 4);
+    }
+
+    public synchronized CollectionJobStatusDTO startJob() {
+        Long current = runningJobId.get();
+        if (current != null) {
+            throw new JobAlreadyRunningException("Job de coleta " + current + " já está em execução");
+        }
+        // O lock do cluster vem antes de gravar o job: um job RUNNING no banco seria retomado no próximo restart
+        acquireClusterLock();
+        CollectionJob job;
+        try {
+            job = jobRepository.save(CollectionJob.start(Instant.now()));
+        } catch (RuntimeException e) {
+            dataCollectionLock.release();
+            throw e;
+        }
+        runningJobId.set(job.getId());
+
+        List<CollectionJobUnit> units = new ArrayList<>();
+        units.add(CollectionJobUnit.pending(job.getId(), Type.CATEGORIES, ALL));
+        units.add(CollectionJobUnit.pending(job.getId(), Type.BREEDS, ALL));
+        CRITERIA.forEach(criteria -> units.add(CollectionJobUnit.pending(job.getId(), Type.CRITERIA_IMAGES, criteria)));
+        unitRepository.saveAll(units);
+
+        logger.info("Job de coleta {} criado", job.getId());
+        launch(job.getId());
+        return getStatus(job.getId());
+    }
+
+    public synchronized CollectionJobStatusDTO retryFailedUnits(Long jobId) {
+        CollectionJob job = findJob(jobId);
+        claim(jobId);
+
+        List<CollectionJobUnit> failed = unitRepository.findByJobId(jobId).stream()
+                .filter(unit -> unit.getStatus() == Status.FAILED)
+                .collect(Collectors.toList());
+        failed.forEach(unit -> unit.setStatus(Status.PENDING));
+        unitRepository.saveAll(failed);
+
+        reopen(job);
+        logger.info("Reprocessando {} unidades com falha do job {}", failed.size(), jobId);
+        launch(jobId);
+        return getStatus(jobId);
+    }
+
+    // Jobs que ficaram RUNNING no banco foram interrompidos por um restart; retomam das unidades pendentes
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void resumeInterruptedJobs() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        for (CollectionJob job : jobRepository.findByStatus(CollectionJob.Status.RUNNING)) {
+            if (!runningJobId.compareAndSet(null, job.getId())) {
+                logger.warn("Job {} interrompido aguardará retry manual, pois outro job já está em execução", job.getId());
+                continue;
+            }
+            if (!dataCollectionLock.tryAcquire()) {
+                runningJobId.set(null);
+                logger.warn("Job {} interrompido aguardará retry manual, pois outra instância está coletando", job.getId());
+                continue;
+            }
+
+            List<CollectionJobUnit> interrupted = unitRepository.findByJobId(job.getId()).stream()
+                    .filter(unit -> unit.getStatus() == Status.RUNNING)
+                    .collect(Collectors.toList());
+            interrupted.forEach(unit -> unit.setStatus(Status.PENDING));
+            unitRepository.saveAll(interrupted);
+
+            reopen(job);
+            logger.warn("Retomando job de coleta {} interrompido ({} unidades em andamento reiniciadas)",
+                    job.getId(), interrupted.size());
+            launch(job.getId());
+        }
+    }
+
+    public CollectionJobStatusDTO getStatus(Long jobId) {
+        return toStatus(findJob(jobId), unitRepository.findByJobId(jobId), Instant.now());
+    }
+
+    public Optional<CollectionJobStatusDTO> getLatestStatus() {
+        return jobRepository.findFirstByOrderByIdDesc()
+                .map(job -> toStatus(job, unitRepository.findByJobId(job.getId()), Instant.now()));
+    }
+
+    boolean isRunning(Long jobId) {
+        return Objects.equals(runningJobId.get(), jobId);
+    }
+
+    private void claim(Long jobId) {
+        if (!runningJobId.compareAndSet(null, jobId)) {
+            throw new JobAlreadyRunningException("Job de coleta " + runningJobId.get() + " já está em execução");
+        }
+        try {
+            acquireClusterLock();
+        } catch (JobAlreadyRunningException e) {
+            runningJobId.set(null);
+            throw e;
+        }
+    }
+
+    private void acquireClusterLock() {
+        if (!dataCollectionLock.tryAcquire()) {
+            throw new JobAlreadyRunningException("Coleta de dados em execução em outra instância");
+        }
+    }
+
+    private void reopen(CollectionJob job) {
+        job.setStatus(CollectionJob.Status.RUNNING);
+        job.setResumedAt(Instant.now());
+        job.setFinishedAt(null);
+        jobRepository.save(job);
+    }
+
+    private void launch(Long jobId) {
+        CompletableFuture.runAsync(() -> run(jobId), jobExecutor)
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        logger.error("Erro inesperado no job de coleta {}", jobId, ex);
+                        markFailed(jobId);
+                    }
+                    dataCollectionLock.release();
+                    runningJobId.compareAndSet(jobId, null);
+                });
+    }
+
+    void run(Long jobId) {
+        // Fase 1: categorias e raças. A unidade de raças planeja uma unidade de imagens por raça
+        CompletableFuture.allOf(
+                executePending(jobId, Type.CATEGORIES),
+                executePending(jobId, Type.BREEDS)
+        ).join();
+
+        // Fase 2: imagens, que dependem das raças e categorias já persistidas
+        Map<Type, CollectionJobUnit> roots = unitRepository.findByJobId(jobId).stream()
+                .filter(unit -> unit.getType() == Type.CATEGORIES || unit.getType() == Type.BREEDS)
+                .collect(Collectors.toMap(CollectionJobUnit::getType, unit -> unit));
+        List<CompletableFuture<Void>> images = new ArrayList<>();
+        if (isCompleted(roots.get(Type.BREEDS))) {
+            images.add(executePending(jobId, Type.BREED_IMAGES));
+        }
+        if (isCompleted(roots.get(Type.CATEGORIES))) {
+            images.add(executePending(jobId, Type.CRITERIA_IMAGES));
+        }
+        CompletableFuture.allOf(images.toArray(new CompletableFuture[0])).join();
+
+        finish(jobId);
+    }
+
+    private CompletableFuture<Void> executePending(Long jobId, Type type) {
+        List<CompletableFuture<Void>> futures = unitRepository.findByJobIdAndType(jobId, type).stream()
+                .filter(unit -> unit.getStatus() == Status.PENDING)
+                .map(this::execute)
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    private CompletableFuture<Void> execute(CollectionJobUnit unit) {
+        unit.setStatus(Status.RUNNING);
+        unit.setAttempts(unit.getAttempts() + 1);
+        unitRepository.save(unit);
+
+        CompletableFuture<Integer> work;
+        try {
+            work = switch (unit.getType()) {
+                case CATEGORIES -> catApiClient.getCategoriesAsync()
+                        .thenApplyAsync(categories -> batchUpsertRepository.upsertCategories(categories).size(), jobExecutor);
+                case BREEDS -> catApiClient.getAllBreedsAsync()
+                        .thenApplyAsync(breeds -> {
+                            int saved = batchUpsertRepository.upsertBreeds(breeds).size();
+                            planBreedImageUnits(unit.getJobId(), breeds);
+                            return saved;
+                        }, jobExecutor);
+                case BREED_IMAGES -> {
+                    // Reenvios podem repetir imagens já emitidas; o mapa por ID evita duplicatas no mesmo lote
+                    Map<String, BreedImage> images = Collections.synchronizedMap(new LinkedHashMap<>());
+                    yield catApiClient.streamBreedImagesAsync(unit.getUnitKey(),
+                                    dto -> images.put(dto.getId(), BreedImage.fromResponse(dto)))
+                            .thenApplyAsync(count -> saveImages(images.values()), jobExecutor);
+                }
+                case CRITERIA_IMAGES -> catApiClient.getBreedImagesByCriteriaAsync(List.of(unit.getUnitKey()))
+                        .thenApplyAsync(this::saveImages, jobExecutor);
+            };
+        } catch (RuntimeException e) {
+            work = CompletableFuture.failedFuture(e);
+        }
+
+        return work.handle((count, ex) -> {
+            if (ex == null) {
+                unit.setStatus(Status.COMPLETED);
+                unit.setItemCount(count);
+                unit.setLastError(null);
+                unit.setCompletedAt(Instant.now());
+                logger.debug("Unidade {}:{} do job {} concluída com {} itens",
+                        unit.getType(), unit.getUnitKey(), unit.getJobId(), count);
+            } else {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                unit.setStatus(Status.FAILED);
+                unit.setLastError(truncate(cause.getClass().getSimpleName() + ": " + cause.getMessage()));
+                logger.error("Unidade {}:{} do job {} falhou na tentativa {}: {}",
+                        unit.getType(), unit.getUnitKey(), unit.getJobId(), unit.getAttempts(), cause.getMessage());
+            }
+            unitRepository.save(unit);
+            return null;
+        });
+    }
+
+    private int saveImages(Collection<BreedImage> images) {
+        Map<String, BreedImage> byId = new LinkedHashMap<>();
+        synchronized (images) {
+            images.forEach(image -> byId.putIfAbsent(image.getId(), image));
+        }
+        return batchUpsertRepository.upsertImages(new ArrayList<>(byId.values())).size();
+    }
+
+    private void planBreedImageUnits(Long jobId, List<Breed> breeds) {
+        Set<String> planned = unitRepository.findByJobIdAndType(jobId, Type.BREED_IMAGES).stream()
+                .map(CollectionJobUnit::getUnitKey)
+                .collect(Collectors.toSet());
+        List<CollectionJobUnit> units = breeds.stream()
+                .map(Breed::getId)
+                .distinct()
+                .filter(breedId -> !planned.contains(breedId))
+                .map(breedId -> CollectionJobUnit.pending(jobId, Type.BREED_IMAGES, breedId))
+                .collect(Collectors.toList());
+        unitRepository.saveAll(units);
+        logger.info("{} unidades de imagens de raça planejadas para o job {}", units.size(), jobId);
+    }
+
+    private void finish(Long jobId) {
+        CollectionJob job = findJob(jobId);
+        List<CollectionJobUnit> units = unitRepository.findByJobId(jobId);
+        boolean allCompleted = units.stream().allMatch(this::isCompleted);
+
+        job.setStatus(allCompleted ? CollectionJob.Status.COMPLETED : CollectionJob.Status.FAILED);
+        job.setFinishedAt(Instant.now());
+        jobRepository.save(job);
+
+        CollectionJobStatusDTO status = toStatus(job, units, job.getFinishedAt());
+        if (allCompleted) {
+            logger.info("Job de coleta {} concluído: {} unidades, {} itens", jobId,
+                    status.totalUnits(), status.itemsCollected());
+        } else {
+            logger.warn("Job de coleta {} terminou com {} unidades com falha e {} pendentes. Use o retry para reprocessá-las",
+                    jobId, status.failedUnits(), status.pendingUnits());
+        }
+        eventPublisher.publishEvent(new DataCollectionCompletedEvent(job.getFinishedAt()));
+    }
+
+    // run() interrompido por erro fora das unidades: sem isto o job ficaria RUNNING até o próximo restart
+    private void markFailed(Long jobId) {
+        try {
+            CollectionJob job = findJob(jobId);
+            if (job.getStatus() == CollectionJob.Status.RUNNING) {
+                job.setStatus(CollectionJob.Status.FAILED);
+                job.setFinishedAt(Instant.now());
+                jobRepository.save(job);
+            }
+        } catch (Exception e) {
+            logger.error("Não foi possível marcar o job de coleta {} como falho: {}", jobId, e.getMessage());
+        }
+    }
+
+    private CollectionJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Job de coleta não encontrado: " + jobId));
+    }
+
+    private boolean isCompleted(CollectionJobUnit unit) {
+        return unit != null && unit.getStatus() == Status.COMPLETED;
+    }
+
+    static CollectionJobStatusDTO toStatus(CollectionJob job, List<CollectionJobUnit> units, Instant now) {
+        Map<Status, Long> byStatus = units.stream()
+                .collect(Collectors.groupingBy(CollectionJobUnit::getStatus, () -> new EnumMap<>(Status.class),
+                        Collectors.counting()));
+        int completed = byStatus.getOrDefault(Status.COMPLETED, 0L).intValue();
+        int failed = byStatus.getOrDefault(Status.FAILED, 0L).intValue();
+        int pending = byStatus.getOrDefault(Status.PENDING, 0L).intValue()
+                + byStatus.getOrDefault(Status.RUNNING, 0L).intValue();
+        long items = units.stream().mapToLong(CollectionJobUnit::getItemCount).sum();
+
+        // Vazão medida apenas na execução atual, para que retomadas não distorçam a ETA
+        Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : now;
+        long completedInRun = units.stream()
+                .filter(unit -> unit.getCompletedAt() != null && !unit.getCompletedAt().isBefore(job.getResumedAt()))
+                .count();
+        double elapsedSeconds = Math.max(Duration.between(job.getResumedAt(), end).toMillis(), 1) / 1000.0;
+        double unitsPerSecond = completedInRun / elapsedSeconds;
+
+        Long etaSeconds = null;
+        if (job.getStatus() == CollectionJob.Status.RUNNING && unitsPerSecond > 0) {
+            etaSeconds = Math.round(pending / unitsPerSecond);
+        }
+
+        List<CollectionJobStatusDTO.FailedUnit> failures = units.stream()
+                .filter(unit -> unit.getStatus() == Status.FAILED)
+                .map(unit -> new CollectionJobStatusDTO.FailedUnit(unit.getType().name(), unit.getUnitKey(),
+                        unit.getAttempts(), unit.getLastError()))
+                .collect(Collectors.toList());
+
+        return new CollectionJobStatusDTO(job.getId(), job.getStatus().name(), job.getStartedAt(),
+                job.getFinishedAt(), units.size(), completed, failed, pending, items, unitsPerSecond,
+                etaSeconds, failures);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 1000 ? message : message.substring(0, 1000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+}
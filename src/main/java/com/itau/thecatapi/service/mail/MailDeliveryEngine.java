@@ -0,0 +1,356 @@
+package com.itau.thecatapi.service.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Fila de entrega de e-mails sobre o SmtpTransportPool: cada worker pega até batchSize mensagens prontas e envia
+// todas pela mesma conexão. Falhas transitórias (4xx, queda de conexão) voltam para a fila com backoff exponencial,
+// sem ocupar um worker durante a espera. Destinatários de um mesmo domínio são espaçados conforme domainRatePerMinute
+public class MailDeliveryEngine implements MeterBinder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDeliveryEngine.class);
+
+    private final SmtpTransportPool pool;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    // Intervalo mínimo entre mensagens do mesmo domínio; 0 desliga o controle
+    private final long domainIntervalMillis;
+
+    private final LinkedBlockingDeque<Delivery> ready = new LinkedBlockingDeque<>();
+    // Aguardando retentativa ou a vez do domínio, para falharem no encerramento em vez de ficarem pendentes
+    private final Set<Delivery> delayed = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> nextSlotByDomain = new HashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final long[] secondBuckets = new long[60];
+    private final long[] bucketSeconds = new long[60];
+
+    public MailDeliveryEngine(SmtpTransportPool pool, int workers, int batchSize, int maxAttempts,
+                              long retryBackoffMillis, int domainRatePerMinute) {
+        this.pool = pool;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.domainIntervalMillis = domainRatePerMinute > 0 ? 60_000L / domainRatePerMinute : 0;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("MailRetry-", 0).daemon(true).factory());
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            this.workers.add(Thread.ofPlatform().name("MailDelivery-" + i).daemon(true).start(this::work));
+        }
+        logger.info("Entrega de e-mails - workers: {}, lote: {}, tentativas: {}, limite por domínio: {}/min",
+                workers, batchSize, maxAttempts, domainRatePerMinute);
+    }
+
+    // Completa quando a mensagem é aceita pelo servidor ou falha de forma definitiva
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        Delivery delivery = new Delivery(message, domainOf(message), new CompletableFuture<>(), 1, false);
+        if (!running) {
+            delivery.future().completeExceptionally(new MailSendException("Entrega de e-mails encerrada"));
+            return delivery.future();
+        }
+        ready.add(delivery);
+        return delivery.future();
+    }
+
+    public int getQueued() {
+        return ready.size() + delayed.size();
+    }
+
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    synchronized int getTrackedDomains() {
+        return nextSlotByDomain.size();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    // Mensagens aceitas pelo servidor nos últimos 60 segundos
+    public synchronized long getMessagesPerMinute() {
+        long currentSecond = System.currentTimeMillis() / 1000;
+        long total = 0;
+        for (int i = 0; i < secondBuckets.length; i++) {
+            if (currentSecond - bucketSeconds[i] < 60) {
+                total += secondBuckets[i];
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("thecatapi.mail.messages", delivered, LongAdder::sum)
+                .description("Mensagens entregues ao servidor SMTP")
+                .tag("outcome", "delivered")
+                .register(registry);
+        FunctionCounter.builder("thecatapi.mail.messages", failed, LongAdder::sum)
+                .description("Mensagens entregues ao servidor SMTP")
+                .tag("outcome", "failed")
+                .register(registry);
+        FunctionCounter.builder("thecatapi.mail.retries", retried, LongAdder::sum)
+                .description("Reenvios agendados após falhas transitórias")
+                .register(registry);
+        FunctionCounter.builder("thecatapi.mail.throttled", throttled, LongAdder::sum)
+                .description("Mensagens adiadas pelo limite por domínio")
+                .register(registry);
+        Gauge.builder("thecatapi.mail.throughput", this, MailDeliveryEngine::getMessagesPerMinute)
+                .description("Mensagens entregues no último minuto")
+                .baseUnit("messages/min")
+                .register(registry);
+        Gauge.builder("thecatapi.mail.queue", this, MailDeliveryEngine::getQueued)
+                .description("Mensagens aguardando envio, retentativa ou a vez do domínio")
+                .register(registry);
+        Gauge.builder("thecatapi.mail.connection.reuse_ratio", pool, SmtpTransportPool::getReuseRatio)
+                .description("Fração dos envios que reaproveitaram uma conexão SMTP já autenticada")
+                .register(registry);
+        FunctionCounter.builder("thecatapi.mail.connections.opened", pool, SmtpTransportPool::getOpened)
+                .description("Conexões SMTP abertas (conexão, STARTTLS e autenticação)")
+                .register(registry);
+    }
+
+    // Os workers esvaziam a fila pronta antes de parar; o que ainda aguarda retentativa falha
+    @Override
+    public void close() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        scheduler.shutdownNow();
+        MailSendException shutdown = new MailSendException("Mensagem não entregue antes do encerramento");
+        delayed.forEach(delivery -> delivery.future().completeExceptionally(shutdown));
+        ready.forEach(delivery -> delivery.future().completeExceptionally(shutdown));
+        pool.close();
+    }
+
+    private void work() {
+        List<Delivery> batch = new ArrayList<>(batchSize);
+        while (running || !ready.isEmpty()) {
+            try {
+                Delivery first = ready.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.clear();
+                admit(first, batch);
+                Delivery next;
+                while (batch.size() < batchSize && (next = ready.poll()) != null) {
+                    admit(next, batch);
+                }
+                if (!batch.isEmpty()) {
+                    sendBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Erro inesperado na entrega de e-mails: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void admit(Delivery delivery, List<Delivery> batch) {
+        long wait = delivery.slotReserved() ? 0 : reserveSlot(delivery.domain());
+        if (wait <= 0) {
+            batch.add(delivery);
+            return;
+        }
+        throttled.increment();
+        delay(delivery.withReservedSlot(), wait);
+    }
+
+    // Cada mensagem reserva o próximo horário livre do domínio, então as adiadas não disputam o mesmo horário
+    private synchronized long reserveSlot(String domain) {
+        if (domainIntervalMillis == 0) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        // Horários já passados equivalem a domínio sem reserva; removê-los mantém o mapa restrito aos domínios recentes
+        nextSlotByDomain.values().removeIf(next -> next <= now);
+        long slot = Math.max(now, nextSlotByDomain.getOrDefault(domain, 0L));
+        nextSlotByDomain.put(domain, slot + domainIntervalMillis);
+        return slot - now;
+    }
+
+    private void sendBatch(List<Delivery> batch) throws InterruptedException {
+        SmtpTransportPool.PooledTransport transport;
+        try {
+            transport = pool.borrow();
+        } catch (MessagingException e) {
+            logger.warn("Falha ao conectar ao servidor SMTP: {}", e.getMessage());
+            batch.forEach(delivery -> retryOrFail(delivery, e));
+            return;
+        } catch (InterruptedException e) {
+            batch.forEach(ready::addFirst);
+            throw e;
+        }
+
+        // O lote não passa do que resta à conexão; o excedente segue por outra, já com o horário do domínio reservado
+        int allowance = transport.getRemainingMessages();
+        boolean broken = false;
+        for (int i = 0; i < batch.size(); i++) {
+            Delivery delivery = batch.get(i);
+            if (broken) {
+                // A conexão caiu no meio do lote: o restante volta para a fila sem contar tentativa
+                ready.addFirst(delivery);
+                continue;
+            }
+            if (i >= allowance) {
+                ready.addFirst(delivery.withReservedSlot());
+                continue;
+            }
+            try {
+                transport.send(delivery.message());
+                delivered.increment();
+                recordDelivery();
+                delivery.future().complete(null);
+            } catch (MessagingException e) {
+                Integer returnCode = smtpReturnCode(e);
+                // Sem código de retorno, o estado da sessão SMTP é desconhecido
+                broken = returnCode == null;
+                if (isTransient(e, returnCode)) {
+                    retryOrFail(delivery, e);
+                } else {
+                    fail(delivery, e);
+                }
+            }
+        }
+        pool.release(transport, broken);
+    }
+
+    private void retryOrFail(Delivery delivery, MessagingException cause) {
+        if (delivery.attempt() >= maxAttempts || !running) {
+            fail(delivery, cause);
+            return;
+        }
+        long backoff = retryBackoffMillis << (delivery.attempt() - 1);
+        retried.increment();
+        logger.warn("Falha transitória no envio para {} (tentativa {}/{}); nova tentativa em {} ms: {}",
+                delivery.domain(), delivery.attempt(), maxAttempts, backoff, cause.getMessage());
+        delay(delivery.nextAttempt(), backoff);
+    }
+
+    private void fail(Delivery delivery, MessagingException cause) {
+        failed.increment();
+        logger.error("Falha definitiva no envio de e-mail para o domínio {} após {} tentativa(s): {}",
+                delivery.domain(), delivery.attempt(), cause.getMessage());
+        delivery.future().completeExceptionally(new MailSendException("Falha no envio do email", cause));
+    }
+
+    private void delay(Delivery delivery, long millis) {
+        delayed.add(delivery);
+        try {
+            scheduler.schedule(() -> {
+                if (delayed.remove(delivery)) {
+                    ready.add(delivery);
+                }
+            }, millis, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            delayed.remove(delivery);
+            delivery.future().completeExceptionally(new MailSendException("Entrega de e-mails encerrada", e));
+        }
+    }
+
+    private synchronized void recordDelivery() {
+        long currentSecond = System.currentTimeMillis() / 1000;
+        int index = (int) (currentSecond % secondBuckets.length);
+        if (bucketSeconds[index] != currentSecond) {
+            bucketSeconds[index] = currentSecond;
+            secondBuckets[index] = 0;
+        }
+        secondBuckets[index]++;
+    }
+
+    // 4xx é transitório e 5xx definitivo; sem código (queda de conexão, timeout) vale nova tentativa,
+    // exceto quando o próprio endereço foi recusado
+    static boolean isTransient(MessagingException e, Integer returnCode) {
+        if (returnCode != null) {
+            return returnCode >= 400 && returnCode < 500;
+        }
+        return !(e instanceof SendFailedException sendFailed
+                && sendFailed.getInvalidAddresses() != null && sendFailed.getInvalidAddresses().length > 0);
+    }
+
+    // Recusas de destinatário chegam encadeadas em getNextException()
+    static Integer smtpReturnCode(MessagingException e) {
+        for (Exception current = e; current != null;
+             current = current instanceof MessagingException messaging ? messaging.getNextException() : null) {
+            if (current instanceof SMTPSendFailedException sendFailed) {
+                return sendFailed.getReturnCode();
+            }
+            if (current instanceof SMTPAddressFailedException addressFailed) {
+                return addressFailed.getReturnCode();
+            }
+            if (current instanceof SMTPSenderFailedException senderFailed) {
+                return senderFailed.getReturnCode();
+            }
+        }
+        return null;
+    }
+
+    private static String domainOf(MimeMessage message) {
+        try {
+            Address[] recipients = message.getAllRecipients();
+            if (recipients != null && recipients.length > 0 && recipients[0] instanceof InternetAddress address) {
+                String email = address.getAddress();
+                return email.substring(email.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+            }
+        } catch (MessagingException e) {
+            logger.debug("Destinatário ilegível: {}", e.getMessage());
+        }
+        return "";
+    }
+
+    private record Delivery(MimeMessage message, String domain, CompletableFuture<Void> future,
+                            int attempt, boolean slotReserved) {
+
+        Delivery nextAttempt() {
+            return new Delivery(message, domain, future, attempt + 1, false);
+        }
+
+        Delivery withReservedSlot() {
+            return new Delivery(message, domain, future, attempt, true);
+        }
+    }
+}
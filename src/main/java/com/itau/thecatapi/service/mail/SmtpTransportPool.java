@@ -0,0 +1,165 @@
+package com.itau.thecatapi.service.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+// Conexões SMTP já autenticadas (e com STARTTLS, se configurado) reaproveitadas entre envios.
+// maxConnections limita as conexões abertas ao mesmo tempo; uma conexão é fechada ao atingir
+// maxMessagesPerConnection ou ao ficar ociosa por mais de maxIdleMillis
+public class SmtpTransportPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpTransportPool.class);
+
+    private final Session session;
+    private final String protocol;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleMillis;
+
+    private final Semaphore permits;
+    private final ArrayDeque<PooledTransport> idle = new ArrayDeque<>();
+    private boolean closed;
+
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder sent = new LongAdder();
+
+    public SmtpTransportPool(Session session, String protocol, String host, int port, String username, String password,
+                             int maxConnections, int maxMessagesPerConnection, long maxIdleMillis) {
+        this.session = session;
+        this.protocol = protocol;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.maxMessagesPerConnection = Math.max(1, maxMessagesPerConnection);
+        this.maxIdleMillis = maxIdleMillis;
+        this.permits = new Semaphore(Math.max(1, maxConnections));
+    }
+
+    // Bloqueia enquanto todas as conexões estiverem em uso. Toda conexão emprestada deve voltar por release()
+    public PooledTransport borrow() throws MessagingException, InterruptedException {
+        permits.acquire();
+        try {
+            PooledTransport transport;
+            while ((transport = pollIdle()) != null) {
+                if (transport.isReusable()) {
+                    return transport;
+                }
+                transport.close();
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Conexões com erro de protocolo ou de rede não voltam para o pool
+    public void release(PooledTransport transport, boolean broken) {
+        boolean keep = !broken && transport.messages < maxMessagesPerConnection;
+        synchronized (this) {
+            if (keep && !closed) {
+                transport.lastUsedAt = System.currentTimeMillis();
+                idle.push(transport);
+                transport = null;
+            }
+        }
+        if (transport != null) {
+            transport.close();
+        }
+        permits.release();
+    }
+
+    public long getOpened() {
+        return opened.sum();
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    // Fração das mensagens enviadas sem abrir uma conexão nova
+    public double getReuseRatio() {
+        long sentCount = sent.sum();
+        return sentCount == 0 ? 0.0 : Math.max(0.0, 1.0 - (double) opened.sum() / sentCount);
+    }
+
+    public synchronized int getIdle() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        PooledTransport transport;
+        while ((transport = pollIdle()) != null) {
+            transport.close();
+        }
+    }
+
+    private synchronized PooledTransport pollIdle() {
+        return idle.poll();
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = session.getTransport(protocol);
+        transport.connect(host, port, username, password);
+        opened.increment();
+        logger.debug("Nova conexão SMTP com {}:{}", host, port);
+        return new PooledTransport(transport);
+    }
+
+    public final class PooledTransport {
+
+        private final Transport transport;
+        private int messages;
+        private long lastUsedAt;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+            this.lastUsedAt = System.currentTimeMillis();
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            // Mesmo preparo do JavaMailSenderImpl antes do envio
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            messages++;
+            transport.sendMessage(message, message.getAllRecipients());
+            sent.increment();
+        }
+
+        public int getRemainingMessages() {
+            return Math.max(0, maxMessagesPerConnection - messages);
+        }
+
+        // isConnected() faz um NOOP no servidor: detecta conexões derrubadas pelo lado de lá durante a ociosidade
+        private boolean isReusable() {
+            return System.currentTimeMillis() - lastUsedAt < maxIdleMillis && transport.isConnected();
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Erro ao fechar conexão SMTP: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.itau.thecatapi.service.pipeline;
+
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.dto.BreedImageDTO;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Coleta de imagens em três estágios ligados por filas limitadas: fetch por raça -> mapeamento -> persistência em lotes.
+// Quando o banco fica para trás as filas enchem e o fetch bloqueia na leitura do stream HTTP (backpressure).
+@Component
+public class BreedImagePipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedImagePipeline.class);
+
+    // Marcadores de fim de fluxo, comparados por identidade
+    private static final BreedImageDTO END_OF_FETCH = new BreedImageDTO();
+    private static final BreedImage END_OF_MAP = new BreedImage();
+
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final TheCatAPIClient catApiClient;
+    private final BatchUpsertRepository batchUpsertRepository;
+    private final ExecutorFactory executorFactory;
+    private final int queueCapacity;
+    private final int chunkSize;
+    private final long flushIntervalMillis;
+
+    private final Timer fetchTimer;
+    private final Timer mapTimer;
+    private final Timer persistTimer;
+
+    // Profundidade somada das execuções ativas, lida das próprias filas: um contador separado, atualizado
+    // depois do offer/poll, chegava a mostrar por um instante mais itens que a capacidade
+    private final Set<Run> activeRuns = ConcurrentHashMap.newKeySet();
+
+    public BreedImagePipeline(TheCatAPIClient catApiClient,
+                              BatchUpsertRepository batchUpsertRepository,
+                              ExecutorFactory executorFactory,
+                              MeterRegistry meterRegistry,
+                              @Value("${thecatapi.pipeline.queue-capacity:1000}") int queueCapacity,
+                              @Value("${thecatapi.pipeline.chunk-size:200}") int chunkSize,
+                              @Value("${thecatapi.pipeline.flush-interval-ms:500}") long flushIntervalMillis) {
+        this.catApiClient = catApiClient;
+        this.batchUpsertRepository = batchUpsertRepository;
+        this.executorFactory = executorFactory;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        this.fetchTimer = stageTimer(meterRegistry, "fetch", "Tempo de fetch das imagens de uma raça");
+        this.mapTimer = stageTimer(meterRegistry, "map", "Tempo de mapeamento de uma imagem");
+        this.persistTimer = stageTimer(meterRegistry, "persist", "Tempo de persistência de um lote de imagens");
+        Gauge.builder("thecatapi.pipeline.queue.depth", activeRuns, runs -> depth(runs, run -> run.mapQueue))
+                .description("Itens aguardando o estágio")
+                .tag("stage", "map")
+                .register(meterRegistry);
+        Gauge.builder("thecatapi.pipeline.queue.depth", activeRuns, runs -> depth(runs, run -> run.persistQueue))
+                .description("Itens aguardando o estágio")
+                .tag("stage", "persist")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Result> run(List<Breed> breeds) {
+        logger.info("Iniciando pipeline de imagens para {} raças (fila: {}, lote: {})",
+                breeds.size(), queueCapacity, chunkSize);
+
+        Run run = new Run();
+        activeRuns.add(run);
+        ExecutorService stageExecutor = executorFactory.newExecutor("ImagePipeline", 2);
+
+        CompletableFuture<Void> mapStage = CompletableFuture.runAsync(run::map, stageExecutor);
+        CompletableFuture<Integer> persistStage = CompletableFuture.supplyAsync(run::persist, stageExecutor);
+        CompletableFuture<Void> fetchStage = run.fetch(breeds);
+
+        // Qualquer estágio com falha aborta os demais para que nenhum fique bloqueado numa fila cheia
+        mapStage.exceptionally(run::abort);
+        persistStage.exceptionally(run::abort);
+
+        return fetchStage
+                .thenRun(() -> {
+                    if (run.failure == null) {
+                        run.put(run.mapQueue, END_OF_FETCH);
+                    }
+                })
+                .thenCompose(ignored -> mapStage)
+                .thenCompose(ignored -> persistStage)
+                .handle((persisted, ex) -> {
+                    activeRuns.remove(run);
+                    stageExecutor.shutdownNow();
+
+                    if (ex != null) {
+                        run.abort(ex);
+                        logger.error("Falha no pipeline de imagens: {}", run.failure.getMessage());
+                        throw new CompletionException(run.failure);
+                    }
+                    Result result = new Result(run.fetched.get(), persisted, run.failedBreeds.get());
+                    logger.info("Pipeline de imagens concluído: {}", result);
+                    return result;
+                });
+    }
+
+    private static double depth(Set<Run> runs, Function<Run, BlockingQueue<?>> queue) {
+        return runs.stream().mapToInt(run -> queue.apply(run).size()).sum();
+    }
+
+    public record Result(int fetched, int persisted, int failedBreeds) {
+    }
+
+    private class Run {
+
+        private final BlockingQueue<BreedImageDTO> mapQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final BlockingQueue<BreedImage> persistQueue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicInteger fetched = new AtomicInteger();
+        private final AtomicInteger failedBreeds = new AtomicInteger();
+        private volatile Throwable failure;
+
+        private CompletableFuture<Void> fetch(List<Breed> breeds) {
+            List<CompletableFuture<Void>> futures = breeds.stream()
+                    .map(Breed::getId)
+                    .map(breedId -> {
+                        Timer.Sample sample = Timer.start();
+                        return catApiClient.streamBreedImagesAsync(breedId, dto -> {
+                                    put(mapQueue, dto);
+                                    fetched.incrementAndGet();
+                                })
+                                .handle((count, ex) -> {
+                                    sample.stop(fetchTimer);
+                                    if (ex != null) {
+                                        // Mesmo comportamento da coleta anterior: a raça com falha não interrompe as demais
+                                        failedBreeds.incrementAndGet();
+                                        logger.error("Falha ao obter imagens da raça {}: {}", breedId, ex.getMessage());
+                                    }
+                                    return (Void) null;
+                                });
+                    })
+                    .collect(Collectors.toList());
+            return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        }
+
+        private void map() {
+            while (true) {
+                BreedImageDTO dto = take(mapQueue);
+                if (dto == END_OF_FETCH) {
+                    put(persistQueue, END_OF_MAP);
+                    return;
+                }
+                long start = System.nanoTime();
+                BreedImage image = BreedImage.fromResponse(dto);
+                mapTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                put(persistQueue, image);
+            }
+        }
+
+        private int persist() {
+            int persisted = 0;
+            List<BreedImage> chunk = new ArrayList<>(chunkSize);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+            while (true) {
+                BreedImage image = poll(persistQueue, deadline);
+                boolean end = image == END_OF_MAP;
+                if (image != null && !end) {
+                    chunk.add(image);
+                }
+
+                // Lotes cheios vão imediatamente; lotes parciais saem no intervalo de flush ou no fim do fluxo
+                if (chunk.size() >= chunkSize || end || (image == null && !chunk.isEmpty())) {
+                    persisted += flush(chunk);
+                    chunk.clear();
+                    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                } else if (image == null) {
+                    deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                }
+
+                if (end) {
+                    return persisted;
+                }
+            }
+        }
+
+        private int flush(List<BreedImage> chunk) {
+            if (chunk.isEmpty()) {
+                return 0;
+            }
+            return persistTimer.record(() -> batchUpsertRepository.upsertImages(List.copyOf(chunk)).size());
+        }
+
+        private <T> void put(BlockingQueue<T> queue, T item) {
+            try {
+                while (!queue.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    checkNotAborted();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Pipeline de imagens interrompido");
+            }
+        }
+
+        private <T> T take(BlockingQueue<T> queue) {
+            try {
+                T item;
+                while ((item = queue.poll(OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) == null) {
+                    checkNotAborted();
+                }
+                return item;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Pipeline de imagens interrompido");
+            }
+        }
+
+        private <T> T poll(BlockingQueue<T> queue, long deadlineNanos) {
+            try {
+                checkNotAborted();
+                return queue.poll(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Pipeline de imagens interrompido");
+            }
+        }
+
+        private void checkNotAborted() {
+            if (failure != null) {
+                throw new CancellationException("Pipeline de imagens abortado: " + failure.getMessage());
+            }
+        }
+
+        // Guarda a primeira falha, que é a causa raiz; as seguintes são cancelamentos decorrentes dela
+        private synchronized <T> T abort(Throwable ex) {
+            if (failure == null) {
+                failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            }
+            return null;
+        }
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage, String description) {
+        return Timer.builder("thecatapi.pipeline.stage.latency")
+                .description(description)
+                .tag("stage", stage)
+                .register(registry);
+    }
+}
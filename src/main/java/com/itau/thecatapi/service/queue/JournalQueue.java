@@ -0,0 +1,430 @@
+package com.itau.thecatapi.service.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Fila durável em disco: um journal append-only em segmentos mapeados em memória, com um único grupo de consumo.
+// Registro: [tamanho int][crc32c int][payload]. O offset de uma mensagem é a sua posição no journal
+// (base do segmento + posição no segmento). Entrega ao menos uma vez: mensagens recebidas e não confirmadas
+// dentro da visibilidade voltam a ser entregues, e após um restart tudo a partir do offset confirmado é reentregue
+public class JournalQueue implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalQueue.class);
+
+    private static final int HEADER_BYTES = 8;
+    // Marca o fim antecipado de um segmento: a próxima mensagem não cabia e foi para o segmento seguinte
+    private static final int ROLL_MARKER = -1;
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSET_FILE = "consumer.offset";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long visibilityTimeoutMillis;
+    private final int maxDeliveries;
+    private final LongSupplier clock;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Set<Segment> dirty = new HashSet<>();
+    private Segment head;
+    private int writePosition;
+
+    // Tudo antes de committedOffset foi confirmado e está persistido em consumer.offset
+    private final FileChannel offsetChannel;
+    private final MappedByteBuffer offsetBuffer;
+    private long committedOffset;
+    // Próxima mensagem que ainda não foi entregue nenhuma vez
+    private long readOffset;
+
+    private final Map<Long, InFlight> inFlight = new HashMap<>();
+    // Ordenada por prazo de visibilidade: o prazo é sempre agora + timeout, então novas entradas vão para o fim
+    private final ArrayDeque<InFlight> visibilityOrder = new ArrayDeque<>();
+    // Confirmadas fora de ordem, aguardando as anteriores para o offset avançar: offset -> offset seguinte
+    private final TreeMap<Long, Long> acked = new TreeMap<>();
+
+    private long appended;
+    private long deadLettered;
+    private boolean closed;
+
+    public JournalQueue(Path directory, int segmentBytes, long visibilityTimeoutMillis, int maxDeliveries) throws IOException {
+        this(directory, segmentBytes, visibilityTimeoutMillis, maxDeliveries, System::currentTimeMillis);
+    }
+
+    JournalQueue(Path directory, int segmentBytes, long visibilityTimeoutMillis, int maxDeliveries,
+                 LongSupplier clock) throws IOException {
+        if (segmentBytes < 64) {
+            throw new IllegalArgumentException("Segmento do journal muito pequeno: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.visibilityTimeoutMillis = visibilityTimeoutMillis;
+        this.maxDeliveries = Math.max(1, maxDeliveries);
+        this.clock = clock;
+
+        Files.createDirectories(directory);
+        this.offsetChannel = FileChannel.open(directory.resolve(OFFSET_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.offsetBuffer = offsetChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES);
+        recover();
+    }
+
+    // Devolve o offset da mensagem. A escrita vai para o page cache; flush() força para o disco
+    public synchronized long append(String message) {
+        byte[] payload = message.getBytes(StandardCharsets.UTF_8);
+        if (payload.length == 0 || payload.length > segmentBytes - HEADER_BYTES) {
+            throw new IllegalArgumentException("Mensagem com tamanho inválido para o journal: " + payload.length + " bytes");
+        }
+        ensureOpen();
+        if (writePosition + HEADER_BYTES + payload.length > segmentBytes) {
+            if (writePosition + Integer.BYTES <= segmentBytes) {
+                head.buffer.putInt(writePosition, ROLL_MARKER);
+            }
+            roll();
+        }
+
+        long offset = head.base + writePosition;
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        head.buffer.put(writePosition + HEADER_BYTES, payload);
+        head.buffer.putInt(writePosition + Integer.BYTES, (int) crc.getValue());
+        // O tamanho é gravado por último: um registro só é visível depois de completo
+        head.buffer.putInt(writePosition, payload.length);
+        writePosition += HEADER_BYTES + payload.length;
+        dirty.add(head);
+        appended++;
+        return offset;
+    }
+
+    // Entrega primeiro as mensagens cuja visibilidade expirou, depois as ainda não entregues
+    public synchronized List<Delivery> receive(int maxMessages) {
+        ensureOpen();
+        List<Delivery> deliveries = new ArrayList<>(Math.min(maxMessages, 64));
+        long now = clock.getAsLong();
+
+        while (deliveries.size() < maxMessages && !visibilityOrder.isEmpty()
+                && visibilityOrder.peekFirst().deadline <= now) {
+            InFlight expired = visibilityOrder.pollFirst();
+            if (inFlight.get(expired.offset) != expired) {
+                continue;
+            }
+            if (expired.deliveries >= maxDeliveries) {
+                // Sem DLQ local: a mensagem é descartada para não bloquear o avanço do offset
+                logger.error("Mensagem descartada do journal após {} entregas. Offset: {}", expired.deliveries, expired.offset);
+                deadLettered++;
+                ack(expired.offset);
+                continue;
+            }
+            InFlight redelivery = new InFlight(expired.offset, expired.next, expired.deliveries + 1, now + visibilityTimeoutMillis);
+            track(redelivery);
+            deliveries.add(new Delivery(redelivery.offset, read(redelivery.offset).payload, redelivery.deliveries));
+        }
+
+        while (deliveries.size() < maxMessages) {
+            Record record = read(readOffset);
+            if (record == null) {
+                break;
+            }
+            readOffset = record.next;
+            InFlight delivery = new InFlight(record.offset, record.next, 1, now + visibilityTimeoutMillis);
+            track(delivery);
+            deliveries.add(new Delivery(record.offset, record.payload, 1));
+        }
+        return deliveries;
+    }
+
+    // Confirma a mensagem; o offset persistido avança sobre as confirmações contíguas
+    public synchronized boolean ack(long offset) {
+        ensureOpen();
+        InFlight entry = inFlight.remove(offset);
+        if (entry == null) {
+            return false;
+        }
+        acked.put(entry.offset, entry.next);
+
+        long previous = committedOffset;
+        while (true) {
+            committedOffset = skipRoll(committedOffset);
+            Long next = acked.remove(committedOffset);
+            if (next == null) {
+                break;
+            }
+            committedOffset = next;
+        }
+        if (committedOffset != previous) {
+            offsetBuffer.putLong(0, committedOffset);
+            deleteConsumedSegments();
+        }
+        return true;
+    }
+
+    public synchronized void flush() {
+        if (closed) {
+            return;
+        }
+        dirty.forEach(segment -> segment.buffer.force());
+        dirty.clear();
+        offsetBuffer.force();
+    }
+
+    // Mensagens ainda não entregues nenhuma vez
+    public synchronized boolean hasUndelivered() {
+        return read(readOffset) != null;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight.size();
+    }
+
+    public synchronized long getBacklogBytes() {
+        return head.base + writePosition - committedOffset;
+    }
+
+    public synchronized long getAppended() {
+        return appended;
+    }
+
+    public synchronized long getDeadLettered() {
+        return deadLettered;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        flush();
+        closed = true;
+        for (Segment segment : segments.values()) {
+            segment.channel.close();
+        }
+        offsetChannel.close();
+    }
+
+    private void track(InFlight entry) {
+        inFlight.put(entry.offset, entry);
+        visibilityOrder.addLast(entry);
+    }
+
+    // O offset seguinte ao último registro de um segmento aponta para o seu fim; a mensagem seguinte está no próximo
+    private long skipRoll(long offset) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+        if (entry == null) {
+            return offset;
+        }
+        int position = (int) (offset - entry.getKey());
+        if (position + HEADER_BYTES <= segmentBytes && entry.getValue().buffer.getInt(position) != ROLL_MARKER) {
+            return offset;
+        }
+        Long nextBase = segments.higherKey(entry.getKey());
+        return nextBase == null ? offset : nextBase;
+    }
+
+    private Record read(long offset) {
+        while (true) {
+            // Nada além da posição de escrita foi gravado por este journal, mesmo que o arquivo tenha bytes ali
+            if (offset >= head.base + writePosition) {
+                return null;
+            }
+            Map.Entry<Long, Segment> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                return null;
+            }
+            Segment segment = entry.getValue();
+            int position = (int) (offset - segment.base);
+            int length = position + HEADER_BYTES <= segmentBytes ? segment.buffer.getInt(position) : ROLL_MARKER;
+            if (length == 0) {
+                return null;
+            }
+            if (length != ROLL_MARKER) {
+                byte[] payload = payload(segment, position, length);
+                if (payload != null) {
+                    return new Record(offset, offset + HEADER_BYTES + length, new String(payload, StandardCharsets.UTF_8));
+                }
+                // Registro corrompido em um segmento antigo: o restante dele é perdido para não travar a fila
+                logger.error("Registro corrompido no journal no offset {}; descartando o restante do segmento {}",
+                        offset, segment.base);
+                if (segment == head) {
+                    return null;
+                }
+            }
+            Long nextBase = segments.higherKey(segment.base);
+            if (nextBase == null) {
+                return null;
+            }
+            offset = nextBase;
+        }
+    }
+
+    private void roll() {
+        long base = head.base + segmentBytes;
+        try {
+            head = openSegment(base);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao criar segmento do journal " + base, e);
+        }
+        segments.put(base, head);
+        writePosition = 0;
+        logger.debug("Novo segmento do journal: {}", base);
+    }
+
+    // Segmentos inteiramente confirmados não são mais lidos; o segmento de escrita nunca é removido
+    private void deleteConsumedSegments() {
+        while (segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            if (oldest == head || oldest.base + segmentBytes > committedOffset) {
+                return;
+            }
+            segments.remove(oldest.base);
+            dirty.remove(oldest);
+            try {
+                oldest.channel.close();
+                Files.deleteIfExists(segmentPath(oldest.base));
+            } catch (IOException e) {
+                logger.warn("Falha ao remover segmento consumido {}: {}", oldest.base, e.getMessage());
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Long> bases;
+        try (Stream<Path> files = Files.list(directory)) {
+            bases = files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+        for (long base : bases) {
+            segments.put(base, openSegment(base));
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, openSegment(0L));
+        }
+        head = segments.lastEntry().getValue();
+        writePosition = scanHead();
+
+        committedOffset = Math.max(offsetBuffer.getLong(0), segments.firstKey());
+        readOffset = committedOffset;
+        logger.info("Journal aberto em {} - segmentos: {}, offset confirmado: {}, posição de escrita: {}",
+                directory, segments.size(), committedOffset, head.base + writePosition);
+    }
+
+    // Encontra o fim dos dados no segmento de escrita. Um registro incompleto ou corrompido no fim
+    // (queda no meio de uma escrita) é descartado e sobrescrito pelas próximas mensagens
+    private int scanHead() {
+        int position = 0;
+        while (position + HEADER_BYTES <= segmentBytes) {
+            int length = head.buffer.getInt(position);
+            if (length == ROLL_MARKER) {
+                break;
+            }
+            if (length != 0 && payload(head, position, length) == null) {
+                logger.warn("Registro inválido no journal na posição {} do segmento {}; descartando o restante",
+                        position, head.base);
+                length = 0;
+            }
+            if (length == 0) {
+                // O payload é gravado antes do tamanho, então uma queda pode deixar bytes após o fim; zerados,
+                // uma mensagem mais curta gravada por cima não termina no meio deles
+                clearFrom(position);
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private void clearFrom(int position) {
+        boolean cleared = false;
+        int i = position;
+        for (; i + Long.BYTES <= segmentBytes; i += Long.BYTES) {
+            if (head.buffer.getLong(i) != 0) {
+                head.buffer.putLong(i, 0);
+                cleared = true;
+            }
+        }
+        for (; i < segmentBytes; i++) {
+            if (head.buffer.get(i) != 0) {
+                head.buffer.put(i, (byte) 0);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            head.buffer.force();
+        }
+    }
+
+    // Null quando o registro ultrapassa o segmento ou não confere com o CRC
+    private byte[] payload(Segment segment, int position, int length) {
+        if (length < 0 || position + HEADER_BYTES + length > segmentBytes) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        segment.buffer.get(position + HEADER_BYTES, payload);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue() == segment.buffer.getInt(position + Integer.BYTES) ? payload : null;
+    }
+
+    private Segment openSegment(long base) throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(base, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal fechado: " + directory);
+        }
+    }
+
+    public record Delivery(long offset, String body, int deliveryCount) {
+    }
+
+    private record Record(long offset, long next, String payload) {
+    }
+
+    private record InFlight(long offset, long next, int deliveries, long deadline) {
+    }
+
+    // Classe e não record: equals/hashCode de um MappedByteBuffer comparam o conteúdo do segmento inteiro
+    private static final class Segment {
+
+        private final long base;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        private Segment(long base, FileChannel channel, MappedByteBuffer buffer) {
+            this.base = base;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -1,15 +1,86 @@
 package com.itau.thecatapi.service.queue;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Fila embarcada do perfil local, persistida em um journal em disco: dispensa o ElasticMQ e sobrevive a restarts.
+// As mensagens são consumidas pelo LocalQueueListener
 @Profile("local")
 @Service
-public class LocalQueueService implements QueueService {
+public class LocalQueueService implements QueueService, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalQueueService.class);
+
+    private final JournalQueue journal;
+    private final ScheduledExecutorService flusher;
+
+    public LocalQueueService(@Value("${thecatapi.queue.local.dir:data/queue}") String directory,
+                             @Value("${thecatapi.queue.local.segment-size-mb:64}") int segmentSizeMb,
+                             @Value("${thecatapi.queue.local.visibility-timeout-seconds:30}") long visibilityTimeoutSeconds,
+                             @Value("${thecatapi.queue.local.max-deliveries:5}") int maxDeliveries,
+                             @Value("${thecatapi.queue.local.flush-interval-ms:200}") long flushIntervalMillis) throws IOException {
+        this.journal = new JournalQueue(Path.of(directory), segmentSizeMb * 1024 * 1024,
+                TimeUnit.SECONDS.toMillis(visibilityTimeoutSeconds), maxDeliveries);
+
+        // Sem fsync por mensagem: um restart do processo não perde nada (o page cache é do sistema);
+        // uma queda da máquina perde no máximo o último intervalo
+        this.flusher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("LocalQueueFlush-", 0).daemon(true).factory());
+        flusher.scheduleWithFixedDelay(journal::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
 
     @Override
     public void sendMessage(String message) {
-        System.out.println("Mensagem simulada: " + message);
+        journal.append(message);
+    }
+
+    public List<JournalQueue.Delivery> receiveMessages(int maxMessages) {
+        return journal.receive(maxMessages);
+    }
+
+    public boolean acknowledge(JournalQueue.Delivery delivery) {
+        return journal.ack(delivery.offset());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("thecatapi.queue.local.in_flight", journal, JournalQueue::getInFlight)
+                .description("Mensagens entregues e ainda não confirmadas na fila local")
+                .register(registry);
+        Gauge.builder("thecatapi.queue.local.backlog", journal, JournalQueue::getBacklogBytes)
+                .description("Bytes do journal ainda não confirmados pelo consumidor")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("thecatapi.queue.local.appended", journal, JournalQueue::getAppended)
+                .description("Mensagens gravadas no journal desde o início do processo")
+                .register(registry);
+        FunctionCounter.builder("thecatapi.queue.local.dead_lettered", journal, JournalQueue::getDeadLettered)
+                .description("Mensagens descartadas após exceder o limite de entregas")
+                .register(registry);
     }
-}
 
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Erro ao fechar o journal da fila local: {}", e.getMessage(), e);
+        }
+    }
+}
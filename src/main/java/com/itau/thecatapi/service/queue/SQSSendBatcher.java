@@ -0,0 +1,235 @@
+package com.itau.thecatapi.service.queue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Agrupa envios para o SQS em SendMessageBatch: um lote sai quando junta maxBatchSize mensagens
+// ou quando a mais antiga espera lingerMillis. Cada chamador recebe o seu próprio future
+public class SQSSendBatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SQSSendBatcher.class);
+
+    // Limites do SendMessageBatch
+    public static final int MAX_BATCH_SIZE = 10;
+    static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final String queueUrl;
+    private final boolean fifo;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final int maxInFlightBatches;
+    private final ScheduledExecutorService lingerScheduler;
+
+    private final ArrayDeque<Entry> pending = new ArrayDeque<>();
+    // Grupos FIFO com lote em voo: as mensagens seguintes do grupo esperam para não ultrapassar as anteriores
+    private final Map<String, Integer> inFlightGroups = new HashMap<>();
+    private int inFlightBatches;
+    private boolean lingerScheduled;
+    private boolean closed;
+
+    public SQSSendBatcher(SqsAsyncClient sqsAsyncClient, String queueUrl, int maxBatchSize,
+                          long lingerMillis, int maxInFlightBatches) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.queueUrl = queueUrl;
+        this.fifo = queueUrl.endsWith(".fifo");
+        this.maxBatchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, maxBatchSize));
+        this.lingerMillis = lingerMillis;
+        this.maxInFlightBatches = Math.max(1, maxInFlightBatches);
+        this.lingerScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("SqsBatcher-", 0).daemon(true).factory());
+    }
+
+    public CompletableFuture<String> send(String body, String messageGroupId) {
+        return send(body, messageGroupId, null);
+    }
+
+    // Completa com o MessageId atribuído pelo SQS. O id de deduplicação só vale para filas FIFO
+    public CompletableFuture<String> send(String body, String messageGroupId, String deduplicationId) {
+        Entry entry = new Entry(body, messageGroupId, fifo ? deduplicationId : null, new CompletableFuture<>());
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Envio em lote para SQS encerrado"));
+            }
+            pending.add(entry);
+            if (pending.size() >= maxBatchSize) {
+                drain(false);
+            }
+            scheduleLingerIfNeeded();
+        }
+        return entry.future();
+    }
+
+    public synchronized int getPending() {
+        return pending.size();
+    }
+
+    // Envia o que estiver pendente, respeitando a ordem dos grupos FIFO, e aguarda os lotes em voo
+    @Override
+    public void close() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        synchronized (this) {
+            closed = true;
+            while ((!pending.isEmpty() || inFlightBatches > 0) && System.nanoTime() < deadline) {
+                drain(true);
+                try {
+                    wait(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            pending.forEach(entry -> entry.future().completeExceptionally(
+                    new IllegalStateException("Mensagem não enviada ao SQS antes do encerramento")));
+            pending.clear();
+        }
+        lingerScheduler.shutdownNow();
+    }
+
+    private void scheduleLingerIfNeeded() {
+        if (!pending.isEmpty() && !lingerScheduled && !closed) {
+            lingerScheduled = true;
+            lingerScheduler.schedule(this::onLingerExpired, lingerMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized void onLingerExpired() {
+        lingerScheduled = false;
+        drain(true);
+        // O que sobrou está bloqueado por limite de lotes ou grupo em voo; sai na conclusão do lote
+    }
+
+    // Chamado sempre com o lock do batcher. Com partial=false, só lotes completos saem
+    private void drain(boolean partial) {
+        while (inFlightBatches < maxInFlightBatches && !pending.isEmpty()) {
+            List<Entry> batch = nextBatch(partial);
+            if (batch.isEmpty()) {
+                return;
+            }
+            dispatch(batch);
+        }
+    }
+
+    private List<Entry> nextBatch(boolean partial) {
+        List<Entry> batch = new ArrayList<>(maxBatchSize);
+        int bytes = 0;
+        for (Iterator<Entry> iterator = pending.iterator(); iterator.hasNext() && batch.size() < maxBatchSize; ) {
+            Entry entry = iterator.next();
+            if (fifo && inFlightGroups.containsKey(entry.groupId())) {
+                continue;
+            }
+            int size = entry.body().getBytes(StandardCharsets.UTF_8).length;
+            if (!batch.isEmpty() && bytes + size > MAX_BATCH_BYTES) {
+                break;
+            }
+            batch.add(entry);
+            bytes += size;
+        }
+        if (batch.isEmpty() || (!partial && batch.size() < maxBatchSize)) {
+            return List.of();
+        }
+        pending.removeAll(batch);
+        return batch;
+    }
+
+    private void dispatch(List<Entry> batch) {
+        inFlightBatches++;
+        if (fifo) {
+            batch.forEach(entry -> inFlightGroups.merge(entry.groupId(), 1, Integer::sum));
+        }
+
+        List<SendMessageBatchRequestEntry> requestEntries = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            requestEntries.add(SendMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .messageBody(batch.get(i).body())
+                    .messageGroupId(batch.get(i).groupId())
+                    .messageDeduplicationId(batch.get(i).deduplicationId())
+                    .build());
+        }
+        SendMessageBatchRequest request = SendMessageBatchRequest.builder()
+                .queueUrl(queueUrl)
+                .entries(requestEntries)
+                .build();
+
+        CompletableFuture<SendMessageBatchResponse> response;
+        try {
+            response = sqsAsyncClient.sendMessageBatch(request);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        // A resposta chega na thread do cliente SQS; o estado do batcher só é alterado sob o lock
+        response.whenComplete((result, throwable) -> {
+            complete(batch, result, throwable);
+            synchronized (this) {
+                inFlightBatches--;
+                if (fifo) {
+                    batch.forEach(entry -> inFlightGroups.computeIfPresent(entry.groupId(),
+                            (group, count) -> count > 1 ? count - 1 : null));
+                }
+                drain(closed);
+                scheduleLingerIfNeeded();
+                notifyAll();
+            }
+        });
+    }
+
+    private static void complete(List<Entry> batch, SendMessageBatchResponse response, Throwable throwable) {
+        if (throwable != null) {
+            logger.error("Erro no envio em lote de {} mensagens para SQS: {}", batch.size(), throwable.getMessage());
+            batch.forEach(entry -> entry.future().completeExceptionally(throwable));
+            return;
+        }
+        for (SendMessageBatchResultEntry successful : response.successful()) {
+            batch.get(Integer.parseInt(successful.id())).future().complete(successful.messageId());
+        }
+        for (BatchResultErrorEntry failed : response.failed()) {
+            logger.error("Mensagem recusada no lote SQS - código: {}, erro do cliente: {}, detalhe: {}",
+                    failed.code(), failed.senderFault(), failed.message());
+            batch.get(Integer.parseInt(failed.id())).future().completeExceptionally(
+                    new SQSSendException(failed.code(), failed.message(), Boolean.TRUE.equals(failed.senderFault())));
+        }
+        logger.debug("Lote de {} mensagens enviado para SQS ({} falhas)", batch.size(), response.failed().size());
+    }
+
+    private record Entry(String body, String groupId, String deduplicationId, CompletableFuture<String> future) {
+    }
+
+    public static class SQSSendException extends RuntimeException {
+
+        private final String code;
+        private final boolean senderFault;
+
+        public SQSSendException(String code, String message, boolean senderFault) {
+            super("SQS recusou a mensagem (" + code + "): " + message);
+            this.code = code;
+            this.senderFault = senderFault;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public boolean isSenderFault() {
+            return senderFault;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.itau.thecatapi.service.readmodel;
+
+import com.itau.thecatapi.model.Breed;
+
+import java.time.Instant;
+import java.util.*;
+
+// Snapshot imutável das raças. Os índices mapeiam tokens normalizados para as posições das raças na lista
+public final class BreedReadModel {
+
+    private final List<Breed> breeds;
+    private final Map<String, Integer> positionsById;
+    private final Map<String, BitSet> temperamentIndex;
+    private final Map<String, BitSet> originIndex;
+    private final String[] normalizedTemperaments;
+    // Posições das raças em ordem de id, para a paginação por cursor
+    private final String[] sortedIds;
+    private final int[] positionsInIdOrder;
+    private final Instant builtAt;
+
+    private BreedReadModel(List<Breed> breeds) {
+        this.breeds = List.copyOf(breeds);
+        this.normalizedTemperaments = new String[this.breeds.size()];
+
+        Map<String, Integer> ids = new HashMap<>();
+        Map<String, BitSet> temperaments = new HashMap<>();
+        Map<String, BitSet> origins = new HashMap<>();
+
+        for (int position = 0; position < this.breeds.size(); position++) {
+            Breed breed = this.breeds.get(position);
+            ids.put(breed.getId(), position);
+
+            if (breed.getTemperament() != null) {
+                normalizedTemperaments[position] = normalize(breed.getTemperament());
+                for (String token : breed.getTemperament().split(",")) {
+                    String normalizedToken = normalize(token);
+                    if (!normalizedToken.isEmpty()) {
+                        temperaments.computeIfAbsent(normalizedToken, key -> new BitSet()).set(position);
+                    }
+                }
+            }
+            if (breed.getOrigin() != null) {
+                origins.computeIfAbsent(normalize(breed.getOrigin()), key -> new BitSet()).set(position);
+            }
+        }
+
+        Integer[] idOrder = new Integer[this.breeds.size()];
+        for (int position = 0; position < idOrder.length; position++) {
+            idOrder[position] = position;
+        }
+        Arrays.sort(idOrder, Comparator.comparing(position -> this.breeds.get(position).getId()));
+        this.positionsInIdOrder = new int[idOrder.length];
+        this.sortedIds = new String[idOrder.length];
+        for (int i = 0; i < idOrder.length; i++) {
+            positionsInIdOrder[i] = idOrder[i];
+            sortedIds[i] = this.breeds.get(idOrder[i]).getId();
+        }
+
+        this.positionsById = Map.copyOf(ids);
+        this.temperamentIndex = Map.copyOf(temperaments);
+        this.originIndex = Map.copyOf(origins);
+        this.builtAt = Instant.now();
+    }
+
+    public static BreedReadModel of(List<Breed> breeds) {
+        return new BreedReadModel(breeds);
+    }
+
+    public List<Breed> findAll() {
+        return breeds;
+    }
+
+    public Optional<Breed> findById(String id) {
+        Integer position = positionsById.get(id);
+        return position == null ? Optional.empty() : Optional.of(breeds.get(position));
+    }
+
+    public List<Breed> findByTemperament(String temperament) {
+        return collect(matchTemperament(temperament));
+    }
+
+    public List<Breed> findByOrigin(String origin) {
+        return collect(matchIndex(originIndex, normalize(origin)));
+    }
+
+    public List<Breed> findByTemperamentAndOrigin(String temperament, String origin) {
+        BitSet matches = matchTemperament(temperament);
+        matches.and(matchIndex(originIndex, normalize(origin)));
+        return collect(matches);
+    }
+
+    // Até limit raças em ordem de id, a partir da primeira com id maior que afterId; filtros nulos não restringem
+    public List<Breed> findPage(String temperament, String origin, String afterId, int limit) {
+        BitSet matches = null;
+        if (temperament != null) {
+            matches = matchTemperament(temperament);
+        }
+        if (origin != null) {
+            BitSet originMatches = matchIndex(originIndex, normalize(origin));
+            if (matches == null) {
+                matches = originMatches;
+            } else {
+                matches.and(originMatches);
+            }
+        }
+
+        int start = Arrays.binarySearch(sortedIds, afterId);
+        start = start >= 0 ? start + 1 : -start - 1;
+        List<Breed> result = new ArrayList<>(Math.min(limit, breeds.size()));
+        for (int i = start; i < positionsInIdOrder.length && result.size() < limit; i++) {
+            int position = positionsInIdOrder[i];
+            if (matches == null || matches.get(position)) {
+                result.add(breeds.get(position));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return breeds.size();
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    // Mantém a semântica de "contém" das consultas JPA: o token exato é o caso comum,
+    // mas fragmentos ("energ") casam com todos os tokens que os contêm
+    private BitSet matchTemperament(String temperament) {
+        String query = normalize(temperament);
+        if (query.indexOf(',') >= 0) {
+            // O fragmento atravessa tokens; compara com o texto completo
+            BitSet matches = new BitSet(breeds.size());
+            for (int position = 0; position < normalizedTemperaments.length; position++) {
+                if (normalizedTemperaments[position] != null && normalizedTemperaments[position].contains(query)) {
+                    matches.set(position);
+                }
+            }
+            return matches;
+        }
+        return matchIndex(temperamentIndex, query);
+    }
+
+    private BitSet matchIndex(Map<String, BitSet> index, String query) {
+        BitSet exact = index.get(query);
+        BitSet matches = exact == null ? new BitSet(breeds.size()) : (BitSet) exact.clone();
+        for (Map.Entry<String, BitSet> entry : index.entrySet()) {
+            if (entry.getValue() != exact && entry.getKey().contains(query)) {
+                matches.or(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    private List<Breed> collect(BitSet matches) {
+        List<Breed> result = new ArrayList<>(matches.cardinality());
+        for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+            result.add(breeds.get(position));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,72 @@
+package com.itau.thecatapi.service.readmodel;
+
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class BreedReadModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedReadModelService.class);
+
+    private final BreedRepository breedRepository;
+    private final boolean enabled;
+
+    private final AtomicReference<BreedReadModel> snapshot = new AtomicReference<>();
+
+    public BreedReadModelService(BreedRepository breedRepository,
+                                 @Value("${thecatapi.breeds.read-model.enabled:true}") boolean enabled) {
+        this.breedRepository = breedRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onDataCollectionCompleted(DataCollectionCompletedEvent event) {
+        if (enabled) {
+            logger.info("Coleta concluída em {}. Reconstruindo read model de raças", event.completedAt());
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        try {
+            long startTime = System.currentTimeMillis();
+            List<Breed> breeds = breedRepository.findAll();
+            BreedReadModel readModel = BreedReadModel.of(breeds);
+            snapshot.set(readModel);
+            logger.info("Read model de raças atualizado com {} raças em {} ms",
+                    readModel.size(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            // Mantém o snapshot anterior; sem snapshot as consultas seguem pelo JPA
+            logger.error("Erro ao reconstruir read model de raças: {}", e.getMessage(), e);
+        }
+    }
+
+    // Retorna null quando o read model está desabilitado ou ainda não foi carregado
+    public BreedReadModel current() {
+        return enabled ? snapshot.get() : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
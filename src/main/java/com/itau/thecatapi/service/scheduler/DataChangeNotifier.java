@@ -0,0 +1,76 @@
+package com.itau.thecatapi.service.scheduler;
+
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.repository.ClusterLockRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Optional;
+
+// Propaga entre instâncias o fim de uma coleta: a instância que coletou grava o marcador no banco
+// e as demais, ao perceberem que ele avançou, republicam o evento localmente para atualizar seus caches
+@Component
+@ConditionalOnProperty(name = "thecatapi.cluster.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class DataChangeNotifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataChangeNotifier.class);
+
+    static final String LOCK_NAME = "data-collection";
+
+    private final ClusterLockRepository clusterLockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Instant lastSeen;
+
+    public DataChangeNotifier(ClusterLockRepository clusterLockRepository, ApplicationEventPublisher eventPublisher) {
+        this.clusterLockRepository = clusterLockRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener
+    public void onDataCollectionCompleted(DataCollectionCompletedEvent event) {
+        // Eventos republicados por este notifier chegam aqui também; o marcador só avança, então não há laço
+        advance(event.completedAt());
+        try {
+            clusterLockRepository.markDataChanged(LOCK_NAME, event.completedAt());
+        } catch (Exception e) {
+            logger.error("Erro ao registrar fim de coleta para as demais instâncias: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${thecatapi.cluster.notify.poll-interval-ms:30000}",
+            initialDelayString = "${thecatapi.cluster.notify.poll-interval-ms:30000}")
+    public void pollRemoteChanges() {
+        Optional<Instant> changedAt;
+        try {
+            changedAt = clusterLockRepository.findDataChangedAt(LOCK_NAME);
+        } catch (Exception e) {
+            logger.warn("Erro ao consultar marcador de coleta do cluster: {}", e.getMessage());
+            return;
+        }
+        if (changedAt.isEmpty()) {
+            return;
+        }
+
+        Instant seen = lastSeen;
+        if (seen == null) {
+            // Na subida o read model já é carregado do banco; apenas registra a referência
+            advance(changedAt.get());
+        } else if (changedAt.get().isAfter(seen)) {
+            logger.info("Coleta concluída em outra instância em {}. Atualizando caches locais", changedAt.get());
+            eventPublisher.publishEvent(new DataCollectionCompletedEvent(changedAt.get()));
+        }
+    }
+
+    private synchronized void advance(Instant changedAt) {
+        if (lastSeen == null || changedAt.isAfter(lastSeen)) {
+            lastSeen = changedAt;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.itau.thecatapi.service.scheduler;
+
+import com.itau.thecatapi.repository.ClusterLockRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Lock do cluster compartilhado por todas as formas de disparar uma coleta (agendador, endpoints e jobs),
+// para que duas instâncias nunca coletem ao mesmo tempo. Enquanto detido, o prazo é renovado a cada terço
+// de lockAtMost; o prazo só vence se esta instância parar de renovar (queda ou processo travado)
+@Component
+public class DataCollectionLock {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataCollectionLock.class);
+
+    private final ClusterLockRepository clusterLockRepository;
+    private final Duration lockAtMost;
+    private final String nodeId;
+    private final ScheduledExecutorService renewer;
+    private ScheduledFuture<?> renewal;
+
+    public DataCollectionLock(ClusterLockRepository clusterLockRepository,
+                              @Value("${thecatapi.scheduler.lock-at-most-ms:1800000}") long lockAtMostMillis) {
+        this.clusterLockRepository = clusterLockRepository;
+        this.lockAtMost = Duration.ofMillis(lockAtMostMillis);
+        this.nodeId = hostname() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("DataCollectionLockRenewal-", 0).daemon(true).factory());
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (!clusterLockRepository.tryAcquire(DataChangeNotifier.LOCK_NAME, nodeId, lockAtMost)) {
+            logger.info("Lock {} detido por outra instância", DataChangeNotifier.LOCK_NAME);
+            return false;
+        }
+        logger.info("Lock {} obtido por {}", DataChangeNotifier.LOCK_NAME, nodeId);
+        long period = Math.max(1, lockAtMost.toMillis() / 3);
+        renewal = renewer.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    public synchronized void release() {
+        if (renewal != null) {
+            renewal.cancel(false);
+            renewal = null;
+        }
+        try {
+            clusterLockRepository.release(DataChangeNotifier.LOCK_NAME, nodeId);
+        } catch (Exception e) {
+            // Sem liberar, o lock expira sozinho após lockAtMost
+            logger.error("Erro ao liberar o lock {}: {}", DataChangeNotifier.LOCK_NAME, e.getMessage());
+        }
+    }
+
+    private void renew() {
+        try {
+            if (!clusterLockRepository.renew(DataChangeNotifier.LOCK_NAME, nodeId, lockAtMost)) {
+                logger.warn("Lock {} expirou ou foi tomado por outra instância durante a coleta", DataChangeNotifier.LOCK_NAME);
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao renovar o lock {}: {}", DataChangeNotifier.LOCK_NAME, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renewer.shutdownNow();
+    }
+
+    // Vazio quando outra instância detém o lock; caso contrário o lock é liberado quando a coleta termina
+    public <T> Optional<CompletableFuture<T>> runExclusive(Supplier<CompletableFuture<T>> collection) {
+        if (!tryAcquire()) {
+            return Optional.empty();
+        }
+        CompletableFuture<T> future;
+        try {
+            future = collection.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return Optional.of(future.whenComplete((result, ex) -> release()));
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private static String hostname() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+}
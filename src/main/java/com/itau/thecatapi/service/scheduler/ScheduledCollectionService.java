@@ -0,0 +1,46 @@
+package com.itau.thecatapi.service.scheduler;
+
+import com.itau.thecatapi.dto.SyncSummaryDTO;
+import com.itau.thecatapi.service.IncrementalSyncService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// Coleta periódica; em várias instâncias apenas quem obtém o lock do cluster executa cada rodada
+@Service
+@ConditionalOnProperty(name = "thecatapi.scheduler.enabled", havingValue = "true")
+public class ScheduledCollectionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledCollectionService.class);
+
+    private final IncrementalSyncService incrementalSyncService;
+    private final DataCollectionLock dataCollectionLock;
+
+    public ScheduledCollectionService(IncrementalSyncService incrementalSyncService,
+                                      DataCollectionLock dataCollectionLock) {
+        this.incrementalSyncService = incrementalSyncService;
+        this.dataCollectionLock = dataCollectionLock;
+    }
+
+    @Scheduled(fixedDelayString = "${thecatapi.scheduler.interval-ms:3600000}",
+            initialDelayString = "${thecatapi.scheduler.initial-delay-ms:60000}")
+    public void collect() {
+        if (!dataCollectionLock.tryAcquire()) {
+            logger.info("Coleta agendada ignorada: outra instância está coletando");
+            return;
+        }
+
+        logger.info("Iniciando coleta agendada");
+        try {
+            SyncSummaryDTO summary = incrementalSyncService.syncAsync().join();
+            logger.info("Coleta agendada concluída em {} ms (alterações: {})",
+                    summary.durationMillis(), summary.hasChanges());
+        } catch (Exception e) {
+            logger.error("Erro na coleta agendada: {}", e.getMessage(), e);
+        } finally {
+            dataCollectionLock.release();
+        }
+    }
+}
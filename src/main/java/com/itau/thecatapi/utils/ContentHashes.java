@@ -0,0 +1,52 @@
+package com.itau.thecatapi.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+// SHA-256 do conteúdo vindo do upstream. Campos locais (favorito) e associações não entram no hash
+public final class ContentHashes {
+
+    private static final ObjectWriter CANONICAL_WRITER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .build()
+            .writer();
+
+    private ContentHashes() {
+    }
+
+    public static String breed(Breed breed) {
+        try {
+            return sha256(CANONICAL_WRITER.writeValueAsString(breed));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar raça " + breed.getId(), e);
+        }
+    }
+
+    public static String category(Category category) {
+        return sha256(category.getId() + "|" + Objects.toString(category.getName(), ""));
+    }
+
+    public static String image(BreedImage image) {
+        return sha256(Objects.toString(image.getUrl(), "") + "|" + image.getWidth() + "|" + image.getHeight());
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
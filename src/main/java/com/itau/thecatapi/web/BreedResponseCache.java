@@ -0,0 +1,106 @@
+package com.itau.thecatapi.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+// Respostas JSON já serializadas (e comprimidas) das consultas de raças, válidas até a próxima coleta
+@Component
+public class BreedResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedResponseCache.class);
+
+    public static final String NAME = "breedResponses";
+
+    private final Cache<String, CachedResponse> cache;
+
+    // Incrementada a cada coleta; respostas geradas antes dela não são guardadas
+    private long generation;
+
+    public BreedResponseCache(MeterRegistry meterRegistry,
+                              @Value("${thecatapi.cache.breed-responses.spec:maximumSize=1000}") String spec) {
+        this.cache = Caffeine.from(spec).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    // Sincronizado com a invalidação: uma resposta montada com dados anteriores à coleta nunca sobrevive a ela
+    public CachedResponse put(String key, long startGeneration, byte[] body, String contentType) {
+        CachedResponse response = CachedResponse.of(body, contentType);
+        synchronized (this) {
+            if (startGeneration == generation) {
+                cache.put(key, response);
+            }
+        }
+        return response;
+    }
+
+    // Depois do read model e dos demais caches, para que a próxima resposta já seja montada com os dados novos
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public synchronized void onDataCollectionCompleted(DataCollectionCompletedEvent event) {
+        generation++;
+        cache.invalidateAll();
+        logger.info("Cache de respostas de raças invalidado após coleta concluída em {}", event.completedAt());
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public record CachedResponse(byte[] body, byte[] gzipBody, String etag, String contentType) {
+
+        static CachedResponse of(byte[] body, String contentType) {
+            return new CachedResponse(body, gzip(body), etag(body), contentType);
+        }
+
+        // Tag da variante gzip: derivada da tag dos bytes originais, distinta dela
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        private static byte[] gzip(byte[] body) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+            try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return output.toByteArray();
+        }
+
+        // ETag forte: mesmos bytes, mesma tag, em qualquer nó do cluster
+        private static String etag(byte[] body) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+                return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 27) + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 indisponível", e);
+            }
+        }
+    }
+}
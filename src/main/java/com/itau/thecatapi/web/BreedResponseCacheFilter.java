@@ -0,0 +1,188 @@
+package com.itau.thecatapi.web;
+
+import com.itau.thecatapi.web.BreedResponseCache.CachedResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.util.Locale;
+
+// Serve GET /api/breeds e GET /api/breeds/{id} direto dos bytes cacheados, com ETag forte e 304.
+// Na falta, deixa o controller responder, captura o corpo e o guarda para as próximas requisições
+@Component
+public class BreedResponseCacheFilter extends OncePerRequestFilter {
+
+    static final String BREEDS_PATH = "/api/breeds";
+
+    private static final String GENERATION_ATTRIBUTE = BreedResponseCacheFilter.class.getName() + ".generation";
+
+    private final BreedResponseCache cache;
+    private final boolean enabled;
+
+    public BreedResponseCacheFilter(BreedResponseCache cache,
+                                    @Value("${thecatapi.breeds.response-cache.enabled:true}") boolean enabled) {
+        this.cache = cache;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || cacheKey(request) == null;
+    }
+
+    // Os controllers são assíncronos: o corpo só fica pronto no dispatch assíncrono
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String key = cacheKey(request);
+        HttpServletResponse responseToUse = response;
+
+        if (!isAsyncDispatch(request)) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null) {
+                write(cached, request, response);
+                return;
+            }
+            request.setAttribute(GENERATION_ATTRIBUTE, cache.generation());
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+
+        filterChain.doFilter(request, responseToUse);
+
+        if (!isAsyncStarted(request)) {
+            storeAndWrite(key, request, responseToUse);
+        }
+    }
+
+    private void storeAndWrite(String key, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            return;
+        }
+        HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+        Object generation = request.getAttribute(GENERATION_ATTRIBUTE);
+
+        // Só respostas 200 em JSON são cacheadas; erros seguem como o controller os produziu
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || !isJson(wrapper.getContentType())
+                || wrapper.getContentSize() == 0 || !(generation instanceof Long startGeneration)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        CachedResponse stored = cache.put(key, startGeneration, wrapper.getContentAsByteArray(), wrapper.getContentType());
+        wrapper.resetBuffer();
+        write(stored, request, rawResponse);
+    }
+
+    private static void write(CachedResponse cached, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // Cada content-coding é uma representação própria e, com ETag forte, precisa de tag própria
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? cached.gzipEtag() : cached.etag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = cached.body();
+        if (gzip) {
+            body = cached.gzipBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cached.contentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // Chave canônica: as consultas ignoram maiúsculas, então "Egypt" e "egypt" compartilham a entrada.
+    // Filtro ausente e filtro vazio seguem caminhos diferentes no controller e têm chaves distintas
+    static String cacheKey(HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        if (path.equals(BREEDS_PATH)) {
+            // Páginas (Link dependente da URL) e streaming NDJSON não passam pelo cache
+            String accept = request.getHeader(HttpHeaders.ACCEPT);
+            if (request.getParameter("limit") != null
+                    || (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE))) {
+                return null;
+            }
+            return "breeds?" + filter("temperament", request.getParameter("temperament"))
+                    + "&" + filter("origin", request.getParameter("origin"));
+        }
+
+        if (path.startsWith(BREEDS_PATH + "/")) {
+            String id = path.substring(BREEDS_PATH.length() + 1);
+            return id.isEmpty() || id.contains("/") ? null : "breed:" + id;
+        }
+        return null;
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            // Comparação fraca, como manda o RFC 9110 para If-None-Match
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJson(String contentType) {
+        try {
+            return contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static String filter(String name, String value) {
+        return value == null ? "" : name + "=" + value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,89 @@
+package com.itau.thecatapi.benchmark;
+
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.readmodel.BreedReadModel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class BreedReadModelBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BreedReadModelBenchmarkTest.class);
+
+    private static final List<String> TEMPERAMENTS = List.of("Active", "Energetic", "Independent", "Intelligent",
+            "Gentle", "Affectionate", "Social", "Playful", "Curious", "Calm", "Loyal", "Lively");
+    private static final List<String> ORIGINS = List.of("Egypt", "Greece", "United States", "Thailand",
+            "United Kingdom", "Russia", "Japan", "Canada");
+    private static final List<String> QUERIES = List.of("energetic", "Gentle", "activ", "calm");
+
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Test
+    void temperamentAndOriginQueries_JpaVersusReadModel() {
+        breedRepository.saveAll(IntStream.range(0, 70).mapToObj(this::breed).collect(Collectors.toList()));
+        BreedReadModel readModel = BreedReadModel.of(breedRepository.findAll());
+
+        for (String query : QUERIES) {
+            assertEquals(
+                    breedRepository.findByTemperamentContainingIgnoreCase(query).stream().map(Breed::getId).sorted().toList(),
+                    readModel.findByTemperament(query).stream().map(Breed::getId).sorted().toList());
+        }
+
+        measure("JPA (LIKE '%x%')", query -> breedRepository.findByTemperamentContainingIgnoreCase(query).size()
+                + breedRepository.findByOriginContainingIgnoreCase(query).size());
+        measure("read model", query -> readModel.findByTemperament(query).size()
+                + readModel.findByOrigin(query).size());
+    }
+
+    private void measure(String label, Function<String, Integer> query) {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            query.apply(QUERIES.get(i % QUERIES.size()));
+        }
+
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.apply(QUERIES.get(i % QUERIES.size()));
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        logger.info("{} - média {} µs, p50 {} µs, p99 {} µs", label,
+                String.format("%.1f", Arrays.stream(latencies).average().orElse(0) / 1000.0),
+                String.format("%.1f", latencies[ITERATIONS / 2] / 1000.0),
+                String.format("%.1f", latencies[(int) (ITERATIONS * 0.99)] / 1000.0));
+    }
+
+    private Breed breed(int i) {
+        Breed breed = new Breed();
+        breed.setId("b" + i);
+        breed.setName("Breed " + i);
+        breed.setOrigin(ORIGINS.get(i % ORIGINS.size()));
+        breed.setTemperament(IntStream.range(0, 5)
+                .mapToObj(t -> TEMPERAMENTS.get((i * 7 + t * 3) % TEMPERAMENTS.size()))
+                .distinct()
+                .collect(Collectors.joining(", ")));
+        return breed;
+    }
+}
@@ -0,0 +1,98 @@
+package com.itau.thecatapi.benchmark;
+
+import com.itau.thecatapi.client.CatApiRateLimiter;
+import com.itau.thecatapi.client.CatApiRetryScheduler;
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.client.replay.CatApiRecording;
+import com.itau.thecatapi.client.replay.CatApiRecordingStore;
+import com.itau.thecatapi.client.replay.CatApiReplayServer;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.service.CategoryService;
+import com.itau.thecatapi.utils.HttpUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+// Executar com: mvn test -Pbenchmark
+// Coleta completa (raças paginadas + imagens por raça) contra o replay, com latência e 429 determinísticos
+@Tag("benchmark")
+class CatApiReplayBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatApiReplayBenchmarkTest.class);
+
+    private static final int BREEDS = 70;
+    private static final int PAGE_SIZE = 10;
+    private static final long LATENCY_MILLIS = 50;
+    private static final long JITTER_MILLIS = 30;
+
+    @TempDir
+    Path recordingsDir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"platform", "virtual"})
+    void collection_Throughput(String mode) throws Exception {
+        CatApiRecordingStore store = recordings();
+        CatApiReplayServer server = new CatApiReplayServer(store, new CatApiReplayServer.Settings(
+                "/v1", LATENCY_MILLIS, JITTER_MILLIS, 0, 0.02, 0, 60000, 42));
+        String baseUrl = "http://127.0.0.1:" + server.start(0) + "/v1";
+
+        // Janela curta no cliente: um 429 injetado suspende as chamadas até o fim da janela local
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(10_000, 1000);
+        CatApiRetryScheduler retryScheduler = new CatApiRetryScheduler(rateLimiter, new SimpleMeterRegistry(), 3, 10, 50, 100);
+        TheCatAPIClient client = new TheCatAPIClient(mock(CategoryService.class), new HttpUtils("key", baseUrl),
+                new RestTemplate(), rateLimiter, retryScheduler, new ExecutorFactory(mode, 10, 20), PAGE_SIZE);
+
+        try {
+            long start = System.nanoTime();
+            List<Breed> breeds = client.getAllBreedsAsync().join();
+            List<BreedImage> images = client.getBreedImagesAsync(breeds).join();
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            CatApiReplayServer.Stats stats = server.getStats();
+            logger.info("Coleta via replay [{}] - {} raças, {} imagens em {} ms ({} req/s, {} 429)",
+                    mode, breeds.size(), images.size(), elapsedMillis,
+                    String.format("%.1f", stats.requests() * 1000.0 / Math.max(1, elapsedMillis)), stats.throttled());
+            assertEquals(BREEDS, breeds.size());
+        } finally {
+            retryScheduler.shutdown();
+            server.stop();
+        }
+    }
+
+    private CatApiRecordingStore recordings() {
+        CatApiRecordingStore store = new CatApiRecordingStore(recordingsDir);
+        Map<String, List<String>> json = Map.of("Content-Type", List.of("application/json"));
+        List<String> ids = IntStream.range(0, BREEDS).mapToObj(i -> "b" + i).collect(Collectors.toList());
+
+        for (int page = 0; page * PAGE_SIZE <= BREEDS; page++) {
+            List<String> pageIds = ids.subList(Math.min(BREEDS, page * PAGE_SIZE), Math.min(BREEDS, (page + 1) * PAGE_SIZE));
+            store.save(new CatApiRecording("GET", "/breeds", "limit=" + PAGE_SIZE + "&page=" + page, 200,
+                    Map.of("Content-Type", List.of("application/json"), "Pagination-Count", List.of(String.valueOf(BREEDS))),
+                    pageIds.stream().map(id -> "{\"id\":\"" + id + "\",\"name\":\"" + id + "\"}")
+                            .collect(Collectors.joining(",", "[", "]"))));
+        }
+        for (String id : ids) {
+            store.save(new CatApiRecording("GET", "/images/search", "breed_ids=" + id + "&limit=3", 200, json,
+                    IntStream.range(0, 3)
+                            .mapToObj(i -> "{\"id\":\"" + id + "-" + i + "\",\"url\":\"https://cdn/" + id + "-" + i + ".jpg\"}")
+                            .collect(Collectors.joining(",", "[", "]"))));
+        }
+        return store;
+    }
+}
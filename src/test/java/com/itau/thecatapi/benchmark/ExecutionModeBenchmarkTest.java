@@ -0,0 +1,95 @@
+package com.itau.thecatapi.benchmark;
+
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.controller.BreedController;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.BreedService;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+class ExecutionModeBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionModeBenchmarkTest.class);
+
+    private static final int REQUESTS = 2000;
+    private static final int WARMUP_REQUESTS = 200;
+    private static final long SIMULATED_QUERY_MILLIS = 10;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"platform", "virtual"})
+    void getBreeds_ThroughputAndP99(String mode) throws Exception {
+        List<Breed> breeds = IntStream.range(0, 70)
+                .mapToObj(i -> {
+                    Breed breed = new Breed();
+                    breed.setId("b" + i);
+                    breed.setName("Breed " + i);
+                    return breed;
+                })
+                .collect(Collectors.toList());
+
+        // Simula a latência de uma consulta JDBC bloqueante
+        BreedRepository breedRepository = mock(BreedRepository.class);
+        when(breedRepository.findAll()).thenAnswer(invocation -> {
+            Thread.sleep(SIMULATED_QUERY_MILLIS);
+            return breeds;
+        });
+
+        BreedService breedService = new BreedService(breedRepository, new ExecutorFactory(mode, 10, 20),
+                new BreedReadModelService(breedRepository, false));
+        BreedController breedController = new BreedController();
+        ReflectionTestUtils.setField(breedController, "breedService", breedService);
+
+        // O cliente usa virtual threads para que o gerador de carga não seja o gargalo
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            run(breedController, clients, WARMUP_REQUESTS);
+
+            long start = System.nanoTime();
+            long[] latencies = run(breedController, clients, REQUESTS);
+            long elapsedNanos = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            double throughput = REQUESTS / (elapsedNanos / 1_000_000_000.0);
+            double p50 = latencies[(int) (REQUESTS * 0.50)] / 1_000_000.0;
+            double p99 = latencies[(int) (REQUESTS * 0.99)] / 1_000_000.0;
+
+            logger.info("GET /api/breeds [{}] - {} req/s, p50 {} ms, p99 {} ms",
+                    mode, String.format("%.1f", throughput), String.format("%.2f", p50), String.format("%.2f", p99));
+            assertEquals(REQUESTS, latencies.length);
+        } finally {
+            breedService.shutdownExecutor();
+        }
+    }
+
+    private long[] run(BreedController breedController, ExecutorService clients, int requests) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                long requestStart = System.nanoTime();
+                breedController.getBreeds(null, null).join();
+                return System.nanoTime() - requestStart;
+            }, clients));
+        }
+        return futures.stream().mapToLong(CompletableFuture::join).toArray();
+    }
+}
@@ -0,0 +1,84 @@
+package com.itau.thecatapi.benchmark;
+
+import com.itau.thecatapi.service.queue.JournalQueue;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+class JournalQueueBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalQueueBenchmarkTest.class);
+
+    private static final int MESSAGES = 1_000_000;
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    // Tamanho aproximado de uma BreedRequestMessage serializada
+    private static final String BODY = "{\"messageId\":\"6f1c2a4e-0000-4000-8000-000000000000\",\"email\":\"usuario@teste.com\","
+            + "\"breedId\":\"abys\",\"origin\":null,\"temperament\":null,\"requestTime\":\"2025-01-01T10:00:00\"}";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendThenConsume_Throughput() throws Exception {
+        try (JournalQueue queue = new JournalQueue(directory.resolve("sequential"), SEGMENT_BYTES, 30_000, 5)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                queue.append(BODY);
+            }
+            queue.flush();
+            report("append + flush", start);
+
+            start = System.nanoTime();
+            int consumed = 0;
+            List<JournalQueue.Delivery> deliveries;
+            while (!(deliveries = queue.receive(10)).isEmpty()) {
+                for (JournalQueue.Delivery delivery : deliveries) {
+                    queue.ack(delivery.offset());
+                }
+                consumed += deliveries.size();
+            }
+            report("receive + ack", start);
+            assertEquals(MESSAGES, consumed);
+        }
+    }
+
+    @Test
+    void concurrentProducerAndConsumer_Throughput() throws Exception {
+        try (JournalQueue queue = new JournalQueue(directory.resolve("concurrent"), SEGMENT_BYTES, 30_000, 5)) {
+            long start = System.nanoTime();
+            Thread producer = Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < MESSAGES; i++) {
+                    queue.append(BODY);
+                }
+            });
+
+            int consumed = 0;
+            while (consumed < MESSAGES) {
+                List<JournalQueue.Delivery> deliveries = queue.receive(10);
+                for (JournalQueue.Delivery delivery : deliveries) {
+                    queue.ack(delivery.offset());
+                }
+                consumed += deliveries.size();
+            }
+            producer.join();
+            report("produtor e consumidor simultâneos", start);
+            assertEquals(0, queue.getBacklogBytes());
+        }
+    }
+
+    private static void report(String label, long startNanos) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        logger.info("[journal] {} - {} mensagens em {} ms ({} msg/s)",
+                label, MESSAGES, elapsedMillis, MESSAGES * 1000L / elapsedMillis);
+    }
+}
@@ -0,0 +1,95 @@
+package com.itau.thecatapi.benchmark;
+
+import com.itau.thecatapi.service.mail.FakeSmtpServer;
+import com.itau.thecatapi.service.mail.MailDeliveryEngine;
+import com.itau.thecatapi.service.mail.SmtpTransportPool;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+class MailDeliveryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailDeliveryBenchmarkTest.class);
+
+    private static final int MESSAGES = 400;
+    private static final int CONSUMERS = 4;
+    // Ida e volta de rede a cada resposta do servidor; a conexão com STARTTLS real custa ainda mais
+    private static final long LATENCY_MILLIS = 5;
+
+    @Test
+    void connectionPerMessage_VersusPooledBatches() throws Exception {
+        try (FakeSmtpServer server = new FakeSmtpServer(LATENCY_MILLIS)) {
+            JavaMailSenderImpl mailSender = mailSender(server);
+            long start = System.nanoTime();
+            try (ExecutorService consumers = Executors.newFixedThreadPool(CONSUMERS)) {
+                IntStream.range(0, MESSAGES).forEach(i -> consumers.execute(() -> mailSender.send(message(mailSender, i))));
+            }
+            report("mailSender.send (conexão por mensagem)", start, server);
+            assertEquals(MESSAGES, server.getMessages());
+        }
+
+        try (FakeSmtpServer server = new FakeSmtpServer(LATENCY_MILLIS)) {
+            JavaMailSenderImpl mailSender = mailSender(server);
+            SmtpTransportPool pool = new SmtpTransportPool(mailSender.getSession(), "smtp", "127.0.0.1",
+                    server.getPort(), "usuario", "senha", CONSUMERS, 1_000, 30_000);
+            MailDeliveryEngine engine = new MailDeliveryEngine(pool, CONSUMERS, 20, 3, 100, 0);
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = IntStream.range(0, MESSAGES)
+                    .mapToObj(i -> engine.submit(message(mailSender, i)))
+                    .toList();
+            futures.forEach(CompletableFuture::join);
+            report("MailDeliveryEngine (pool de " + CONSUMERS + " conexões)", start, server);
+            logger.info("[mail] reuso de conexão: {}", String.format("%.3f", pool.getReuseRatio()));
+            engine.close();
+            assertEquals(MESSAGES, server.getMessages());
+        }
+    }
+
+    private static JavaMailSenderImpl mailSender(FakeSmtpServer server) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(server.getPort());
+        mailSender.setUsername("usuario");
+        mailSender.setPassword("senha");
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "true");
+        mailSender.setJavaMailProperties(properties);
+        return mailSender;
+    }
+
+    private static MimeMessage message(JavaMailSenderImpl mailSender, int index) {
+        try {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("cats@teste.com");
+            helper.setTo("usuario" + index + "@teste.com");
+            helper.setSubject("🐱 Informações sobre Raças de Gatos");
+            helper.setText("<p>Abyssinian</p>", true);
+            return message;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void report(String label, long startNanos, FakeSmtpServer server) {
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        logger.info("[mail] {} - {} mensagens em {} ms ({} msg/min), {} conexões",
+                label, MESSAGES, elapsedMillis, MESSAGES * 60_000L / elapsedMillis, server.getConnections());
+    }
+}
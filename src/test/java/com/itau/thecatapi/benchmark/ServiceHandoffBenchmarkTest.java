@@ -0,0 +1,93 @@
+package com.itau.thecatapi.benchmark;
+
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.BreedService;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Executar com: mvn test -Pbenchmark
+@Tag("benchmark")
+class ServiceHandoffBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceHandoffBenchmarkTest.class);
+
+    private static final int ITERATIONS = 20_000;
+    private static final int WARMUP_ITERATIONS = 5_000;
+
+    @Test
+    void getAllBreeds_SingleHandoffVersusAsyncProxyHop() {
+        List<Breed> breeds = IntStream.range(0, 70)
+                .mapToObj(i -> {
+                    Breed breed = new Breed();
+                    breed.setId("b" + i);
+                    breed.setName("Breed " + i);
+                    return breed;
+                })
+                .collect(Collectors.toList());
+
+        BreedRepository breedRepository = mock(BreedRepository.class);
+        when(breedRepository.findAll()).thenReturn(breeds);
+        BreedService breedService = new BreedService(breedRepository, new ExecutorFactory("platform", 10, 20),
+                new BreedReadModelService(breedRepository, false));
+
+        // Reproduz o salto extra que o proxy de @Async fazia pelo taskExecutor antes do supplyAsync interno
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(5);
+        taskExecutor.setMaxPoolSize(10);
+        taskExecutor.setQueueCapacity(100);
+        taskExecutor.initialize();
+
+        try {
+            Supplier<CompletableFuture<List<BreedResponseDTO>>> singleHop = breedService::getAllBreeds;
+            Supplier<CompletableFuture<List<BreedResponseDTO>>> doubleHop = () -> CompletableFuture
+                    .supplyAsync(breedService::getAllBreeds, taskExecutor)
+                    .thenCompose(future -> future);
+
+            measure("salto duplo (@Async + supplyAsync)", doubleHop, WARMUP_ITERATIONS);
+            measure("salto único (supplyAsync)", singleHop, WARMUP_ITERATIONS);
+
+            long[] doubleHopNanos = measure("salto duplo (@Async + supplyAsync)", doubleHop, ITERATIONS);
+            long[] singleHopNanos = measure("salto único (supplyAsync)", singleHop, ITERATIONS);
+
+            assertEquals(ITERATIONS, doubleHopNanos.length);
+            assertEquals(ITERATIONS, singleHopNanos.length);
+        } finally {
+            taskExecutor.shutdown();
+            breedService.shutdownExecutor();
+        }
+    }
+
+    private long[] measure(String label, Supplier<CompletableFuture<List<BreedResponseDTO>>> call, int iterations) {
+        long[] latencies = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            call.get().join();
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        logger.info("{} - média {} µs, p50 {} µs, p99 {} µs", label,
+                String.format("%.1f", Arrays.stream(latencies).average().orElse(0) / 1000.0),
+                String.format("%.1f", latencies[iterations / 2] / 1000.0),
+                String.format("%.1f", latencies[(int) (iterations * 0.99)] / 1000.0));
+        return latencies;
+    }
+}
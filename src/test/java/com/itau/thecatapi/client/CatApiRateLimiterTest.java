@@ -0,0 +1,96 @@
+package com.itau.thecatapi.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatApiRateLimiterTest {
+
+    @Test
+    void reserve_ShouldGrantPermitsUntilCapacityIsExhausted() {
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(2, 60000);
+
+        assertEquals(0, rateLimiter.reserve());
+        assertEquals(0, rateLimiter.reserve());
+        assertTrue(rateLimiter.reserve() > 0);
+        assertEquals(0, rateLimiter.getAvailablePermits());
+    }
+
+    @Test
+    void update_ShouldUseRemainingAndResetHeaders() {
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(120, 60000);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("ratelimit-remaining", "5");
+        headers.set("ratelimit-reset", Instant.now().plusSeconds(120).toString());
+        rateLimiter.update(headers);
+
+        assertEquals(5, rateLimiter.getAvailablePermits());
+    }
+
+    @Test
+    void update_WithSecondsUntilReset_ShouldBeAccepted() {
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(120, 60000);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("ratelimit-remaining", "0");
+        headers.set("ratelimit-reset", "30");
+        rateLimiter.update(headers);
+
+        assertEquals(0, rateLimiter.getAvailablePermits());
+        assertTrue(rateLimiter.reserve() > 25000);
+    }
+
+    @Test
+    void update_WithInvalidHeaders_ShouldKeepCurrentState() {
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(10, 60000);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("ratelimit-remaining", "abc");
+        headers.set("ratelimit-reset", "amanhã");
+        rateLimiter.update(headers);
+
+        assertEquals(10, rateLimiter.getAvailablePermits());
+    }
+
+    @Test
+    void acquire_ShouldWaitForWindowResetWithoutBlockingOtherCallers() throws Exception {
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(1, 200);
+        rateLimiter.acquire();
+
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread waiter = new Thread(() -> {
+            try {
+                rateLimiter.acquire();
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        waiter.start();
+
+        // Enquanto uma thread aguarda, as demais consultas não devem ficar presas no monitor
+        Thread.sleep(50);
+        assertEquals(1, rateLimiter.getWaiters());
+        assertEquals(0, rateLimiter.getAvailablePermits());
+
+        assertTrue(acquired.await(2, TimeUnit.SECONDS));
+        assertEquals(0, rateLimiter.getWaiters());
+        assertTrue(rateLimiter.getThrottledMillis() > 0);
+    }
+
+    @Test
+    void throttle_ShouldBlockAllPermitsForTheGivenTime() {
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(120, 1000);
+
+        rateLimiter.throttle(60000);
+
+        assertEquals(0, rateLimiter.getAvailablePermits());
+        assertTrue(rateLimiter.reserve() > 50000);
+    }
+}
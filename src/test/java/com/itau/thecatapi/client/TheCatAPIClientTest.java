@@ -0,0 +1,190 @@
+package com.itau.thecatapi.client;
+
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.service.CategoryService;
+import com.itau.thecatapi.utils.HttpUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
+
+class TheCatAPIClientTest {
+
+    private static final String BASE_URL = "https://api.test/v1";
+
+    private MockRestServiceServer server;
+    private TheCatAPIClient client;
+    private CatApiRateLimiter rateLimiter;
+    private CatApiRetryScheduler retryScheduler;
+    private SimpleMeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        retryScheduler.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+        rateLimiter = new CatApiRateLimiter(120, 60000);
+        meterRegistry = new SimpleMeterRegistry();
+        retryScheduler = new CatApiRetryScheduler(rateLimiter, meterRegistry, 3, 10, 50, 100);
+        client = new TheCatAPIClient(mock(CategoryService.class), new HttpUtils("key", BASE_URL), restTemplate,
+                rateLimiter, retryScheduler, new ExecutorFactory("platform", 10, 20), 2);
+    }
+
+    @Test
+    void getAllBreedsAsync_ShouldFetchRemainingPagesAndKeepPageOrder() {
+        HttpHeaders paginated = new HttpHeaders();
+        paginated.set("Pagination-Count", "5");
+
+        server.expect(requestTo(BASE_URL + "/breeds?limit=2&page=0"))
+                .andRespond(withSuccess(breedsJson("abys", "aege"), MediaType.APPLICATION_JSON).headers(paginated));
+        server.expect(requestTo(BASE_URL + "/breeds?limit=2&page=1"))
+                .andRespond(withSuccess(breedsJson("abob", "acur"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/breeds?limit=2&page=2"))
+                .andRespond(withSuccess(breedsJson("asho"), MediaType.APPLICATION_JSON));
+
+        List<Breed> breeds = client.getAllBreedsAsync().join();
+
+        assertEquals(List.of("abys", "aege", "abob", "acur", "asho"),
+                breeds.stream().map(Breed::getId).collect(Collectors.toList()));
+        server.verify();
+    }
+
+    @Test
+    void getAllBreedsAsync_WithoutPaginationCount_ShouldStopAtEmptyPage() {
+        server.expect(requestTo(BASE_URL + "/breeds?limit=2&page=0"))
+                .andRespond(withSuccess(breedsJson("abys", "aege"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/breeds?limit=2&page=1"))
+                .andRespond(withSuccess(breedsJson("abob"), MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/breeds?limit=2&page=2"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        List<Breed> breeds = client.getAllBreedsAsync().join();
+
+        assertEquals(3, breeds.size());
+        server.verify();
+    }
+
+    @Test
+    void getBreedImagesAsync_ShouldMapStreamedImagesInBreedOrder() {
+        server.expect(requestTo(BASE_URL + "/images/search?limit=3&breed_ids=abys"))
+                .andRespond(withSuccess("[{\"id\":\"img1\",\"url\":\"u1\",\"breeds\":[{\"id\":\"abys\"}]},"
+                        + "{\"id\":\"img2\",\"url\":\"u2\",\"breeds\":[{\"id\":\"abys\"}]}]", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/images/search?limit=3&breed_ids=aege"))
+                .andRespond(withSuccess("[{\"id\":\"img3\",\"url\":\"u3\",\"width\":800}]", MediaType.APPLICATION_JSON));
+
+        Breed abys = new Breed();
+        abys.setId("abys");
+        Breed aege = new Breed();
+        aege.setId("aege");
+
+        List<BreedImage> images = client.getBreedImagesAsync(List.of(abys, aege)).join();
+
+        assertEquals(List.of("img1", "img2", "img3"),
+                images.stream().map(BreedImage::getId).collect(Collectors.toList()));
+        assertEquals("abys", images.get(0).getBreedIdOnly());
+        assertEquals(800, images.get(2).getWidth());
+        server.verify();
+    }
+
+    @Test
+    void getBreedImagesAsync_RetryAfterPartialStream_ShouldReturnOnlyTheSuccessfulAttempt() {
+        // Primeira resposta cortada depois do primeiro elemento; o reenvio traz a lista completa
+        server.expect(requestTo(BASE_URL + "/images/search?limit=3&breed_ids=abys"))
+                .andRespond(withSuccess("[{\"id\":\"img1\",\"url\":\"u1\"},{\"id\":", MediaType.APPLICATION_JSON));
+        server.expect(requestTo(BASE_URL + "/images/search?limit=3&breed_ids=abys"))
+                .andRespond(withSuccess("[{\"id\":\"img1\",\"url\":\"u1\"},{\"id\":\"img2\",\"url\":\"u2\"}]",
+                        MediaType.APPLICATION_JSON));
+
+        Breed abys = new Breed();
+        abys.setId("abys");
+
+        List<BreedImage> images = client.getBreedImagesAsync(List.of(abys)).join();
+
+        assertEquals(List.of("img1", "img2"), images.stream().map(BreedImage::getId).collect(Collectors.toList()));
+        server.verify();
+    }
+
+    @Test
+    void streamBreedImagesAsync_ShouldRescheduleAfterServerError() {
+        server.expect(ExpectedCount.times(2), requestTo(BASE_URL + "/images/search?limit=3&breed_ids=abys"))
+                .andRespond(withServerError());
+        server.expect(requestTo(BASE_URL + "/images/search?limit=3&breed_ids=abys"))
+                .andRespond(withSuccess("[{\"id\":\"img1\",\"url\":\"u1\"}]", MediaType.APPLICATION_JSON));
+
+        List<String> ids = new ArrayList<>();
+        Integer count = client.streamBreedImagesAsync("abys", dto -> ids.add(dto.getId())).join();
+
+        assertEquals(1, count);
+        assertEquals(List.of("img1"), ids);
+        assertEquals(2, meterRegistry.get("thecatapi.client.retries")
+                .tags("endpoint", "/images/search", "reason", "500").counter().count());
+        server.verify();
+    }
+
+    @Test
+    void streamBreedImagesAsync_ShouldNotRetryClientErrors() {
+        server.expect(ExpectedCount.once(), requestTo(BASE_URL + "/images/search?limit=3&breed_ids=nope"))
+                .andRespond(withResourceNotFound());
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.streamBreedImagesAsync("nope", dto -> { }).join());
+
+        assertInstanceOf(HttpClientErrorException.NotFound.class, exception.getCause());
+        assertTrue(meterRegistry.find("thecatapi.client.retries").counters().isEmpty());
+        server.verify();
+    }
+
+    @Test
+    void retryDelay_ShouldHonourRetryAfterAndThrottleTheLimiter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "2");
+        HttpClientErrorException tooManyRequests = HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests", headers, new byte[0], null);
+
+        assertEquals(2000, retryScheduler.retryDelay(tooManyRequests, 1));
+        assertEquals(0, rateLimiter.getAvailablePermits());
+    }
+
+    @Test
+    void retryDelay_ShouldApplyBoundedJitteredBackoff() {
+        HttpServerErrorException unavailable = HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable", new HttpHeaders(), new byte[0], null);
+
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long delay = retryScheduler.retryDelay(unavailable, attempt);
+            long exponential = Math.min(50, 10L << (attempt - 1));
+            assertTrue(delay >= exponential / 2 && delay <= exponential, "delay fora do intervalo: " + delay);
+        }
+        assertEquals(-1, retryScheduler.retryDelay(new IllegalStateException("bug"), 1));
+    }
+
+    private static String breedsJson(String... ids) {
+        return List.of(ids).stream()
+                .map(id -> "{\"id\":\"" + id + "\",\"name\":\"" + id.toUpperCase() + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.itau.thecatapi.client.replay;
+
+import com.itau.thecatapi.client.CatApiRateLimiter;
+import com.itau.thecatapi.client.CatApiRetryScheduler;
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.service.CategoryService;
+import com.itau.thecatapi.utils.HttpUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class CatApiReplayServerTest {
+
+    @TempDir
+    Path recordingsDir;
+
+    private CatApiReplayServer server;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void replay_ShouldReturnRecordedBodyWithPaginationAndRateLimitHeaders() throws Exception {
+        CatApiRecordingStore store = storeWithBreeds();
+        String baseUrl = start(store, new CatApiReplayServer.Settings("/v1", 0, 0, 0, 0, 120, 60000, 42));
+
+        HttpResponse<String> response = get(baseUrl + "/breeds?page=0&limit=2");
+
+        assertEquals(200, response.statusCode());
+        assertEquals(breedsJson("abys", "aege"), response.body());
+        assertEquals("3", response.headers().firstValue("Pagination-Count").orElseThrow());
+        assertEquals("120", response.headers().firstValue("ratelimit-limit").orElseThrow());
+        assertEquals("119", response.headers().firstValue("ratelimit-remaining").orElseThrow());
+        assertTrue(Long.parseLong(response.headers().firstValue("ratelimit-reset").orElseThrow()) > 0);
+    }
+
+    @Test
+    void replay_UnknownRequest_ShouldReturn404() throws Exception {
+        String baseUrl = start(storeWithBreeds(), CatApiReplayServer.Settings.passthrough("/v1"));
+
+        assertEquals(404, get(baseUrl + "/breeds?limit=2&page=9").statusCode());
+        assertEquals(1, server.getStats().missing());
+    }
+
+    @Test
+    void replay_QuotaExhausted_ShouldReturn429WithRetryAfter() throws Exception {
+        String baseUrl = start(storeWithBreeds(), new CatApiReplayServer.Settings("/v1", 0, 0, 0, 0, 1, 60000, 42));
+
+        assertEquals(200, get(baseUrl + "/breeds?limit=2&page=0").statusCode());
+        HttpResponse<String> throttled = get(baseUrl + "/breeds?limit=2&page=0");
+
+        assertEquals(429, throttled.statusCode());
+        assertEquals("0", throttled.headers().firstValue("ratelimit-remaining").orElseThrow());
+        assertTrue(Long.parseLong(throttled.headers().firstValue("Retry-After").orElseThrow()) > 0);
+    }
+
+    @Test
+    void replay_ShouldInjectErrorsAndTooManyRequestsAtConfiguredRates() throws Exception {
+        String baseUrl = start(storeWithBreeds(), new CatApiReplayServer.Settings("/v1", 0, 0, 1.0, 0, 0, 60000, 42));
+        assertEquals(503, get(baseUrl + "/breeds?limit=2&page=0").statusCode());
+        server.stop();
+
+        baseUrl = start(storeWithBreeds(), new CatApiReplayServer.Settings("/v1", 0, 0, 0, 1.0, 0, 60000, 42));
+        HttpResponse<String> response = get(baseUrl + "/breeds?limit=2&page=0");
+        assertEquals(429, response.statusCode());
+        assertEquals("1", response.headers().firstValue("Retry-After").orElseThrow());
+    }
+
+    @Test
+    void replay_ShouldApplyConfiguredLatency() throws Exception {
+        String baseUrl = start(storeWithBreeds(), new CatApiReplayServer.Settings("/v1", 100, 0, 0, 0, 0, 60000, 42));
+
+        long start = System.nanoTime();
+        get(baseUrl + "/breeds?limit=2&page=0");
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 100);
+    }
+
+    @Test
+    void client_ShouldCollectAllPagesFromReplay() throws Exception {
+        String baseUrl = start(storeWithBreeds(), new CatApiReplayServer.Settings("/v1", 5, 5, 0, 0, 120, 60000, 42));
+        CatApiRateLimiter rateLimiter = new CatApiRateLimiter(120, 60000);
+        CatApiRetryScheduler retryScheduler = new CatApiRetryScheduler(rateLimiter, new SimpleMeterRegistry(), 3, 10, 50, 100);
+        TheCatAPIClient client = new TheCatAPIClient(mock(CategoryService.class), new HttpUtils("key", baseUrl),
+                new RestTemplate(), rateLimiter, retryScheduler, new ExecutorFactory("platform", 10, 20), 2);
+
+        try {
+            List<Breed> breeds = client.getAllBreedsAsync().join();
+
+            assertEquals(List.of("abys", "aege", "abob"), breeds.stream().map(Breed::getId).collect(Collectors.toList()));
+            assertEquals(2, server.getStats().replayed());
+        } finally {
+            retryScheduler.shutdown();
+        }
+    }
+
+    @Test
+    void recordingInterceptor_ShouldRecordResponsesThatReplayBackIdentically() throws Exception {
+        // O próprio replay faz o papel da API real durante a gravação
+        String upstreamUrl = start(storeWithBreeds(), CatApiReplayServer.Settings.passthrough("/v1"));
+        Path recordedDir = recordingsDir.resolve("recorded");
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(new CatApiRecordingInterceptor(new CatApiRecordingStore(recordedDir), "/v1"));
+
+        String body = restTemplate.getForObject(upstreamUrl + "/breeds?limit=2&page=0", String.class);
+
+        CatApiRecordingStore reloaded = new CatApiRecordingStore(recordedDir);
+        CatApiRecording recording = reloaded.find("GET", "/breeds", "limit=2&page=0").orElseThrow();
+        assertEquals(1, reloaded.size());
+        assertEquals(body, recording.body());
+        // O servidor HTTP do JDK normaliza a caixa dos nomes de cabeçalho
+        assertTrue(recording.headers().entrySet().stream().anyMatch(header ->
+                header.getKey().equalsIgnoreCase("Pagination-Count") && header.getValue().equals(List.of("3"))));
+        assertFalse(recording.headers().containsKey("ratelimit-remaining"));
+    }
+
+    private String start(CatApiRecordingStore store, CatApiReplayServer.Settings settings) throws Exception {
+        server = new CatApiReplayServer(store, settings);
+        return "http://127.0.0.1:" + server.start(0) + "/v1";
+    }
+
+    private HttpResponse<String> get(String url) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private CatApiRecordingStore storeWithBreeds() {
+        CatApiRecordingStore store = new CatApiRecordingStore(recordingsDir.resolve("source"));
+        store.save(new CatApiRecording("GET", "/breeds", "limit=2&page=0", 200,
+                Map.of("Content-Type", List.of("application/json"), "Pagination-Count", List.of("3")),
+                breedsJson("abys", "aege")));
+        store.save(new CatApiRecording("GET", "/breeds", "limit=2&page=1", 200,
+                Map.of("Content-Type", List.of("application/json")), breedsJson("abob")));
+        return store;
+    }
+
+    private static String breedsJson(String... ids) {
+        return List.of(ids).stream()
+                .map(id -> "{\"id\":\"" + id + "\",\"name\":\"" + id.toUpperCase() + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.itau.thecatapi.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorFactoryTest {
+
+    @Test
+    void newExecutor_InVirtualMode_ShouldRunTasksOnVirtualThreads() throws Exception {
+        ExecutorFactory factory = new ExecutorFactory("virtual", 10, 20);
+        ExecutorService executor = factory.newExecutor("Test", 4);
+
+        Thread thread = executor.submit(Thread::currentThread).get();
+
+        assertEquals(ExecutionMode.VIRTUAL, factory.getMode());
+        assertTrue(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("Test-"));
+        executor.shutdown();
+    }
+
+    @Test
+    void newExecutor_InPlatformMode_ShouldUseNamedPlatformThreads() throws Exception {
+        ExecutorFactory factory = new ExecutorFactory("platform", 10, 20);
+        ExecutorService executor = factory.newExecutor("Test", 2);
+
+        Thread thread = executor.submit(Thread::currentThread).get();
+
+        assertFalse(factory.isVirtual());
+        assertFalse(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("Test-"));
+        executor.shutdown();
+    }
+
+    @Test
+    void from_WithUnknownMode_ShouldFail() {
+        assertEquals(ExecutionMode.PLATFORM, ExecutionMode.from(null));
+        assertEquals(ExecutionMode.VIRTUAL, ExecutionMode.from(" Virtual "));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionMode.from("carrier"));
+    }
+
+    @Test
+    void bulkhead_ShouldCapConcurrentCallsAcrossVirtualThreads() {
+        ExecutorFactory factory = new ExecutorFactory("virtual", 3, 20);
+        ExecutorService executor = factory.newExecutor("Bulkhead", 4);
+        Bulkhead database = factory.database();
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return database.call(() -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            Thread.sleep(5);
+                            running.decrementAndGet();
+                            return i;
+                        });
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }, executor))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertTrue(maxRunning.get() <= 3, "concorrência acima do bulkhead: " + maxRunning.get());
+        assertEquals(3, database.getAvailablePermits());
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,110 @@
+package com.itau.thecatapi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.BreedService;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(CacheConfigTest.TestConfig.class)
+class CacheConfigTest {
+
+    @Configuration
+    @Import({CacheConfig.class, CacheInvalidationListener.class})
+    static class TestConfig {
+
+        @Bean
+        BreedRepository breedRepository() {
+            return mock(BreedRepository.class);
+        }
+
+        @Bean
+        BreedService breedService(BreedRepository breedRepository) {
+            return new BreedService(breedRepository, new ExecutorFactory("platform", 10, 20),
+                    new BreedReadModelService(breedRepository, false));
+        }
+    }
+
+    @Autowired
+    private BreedService breedService;
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).invalidate());
+        reset(breedRepository);
+        Breed breed = new Breed();
+        breed.setId("abys");
+        breed.setName("Abyssinian");
+        when(breedRepository.findById("abys")).thenReturn(Optional.of(breed));
+    }
+
+    @Test
+    void getBreedById_ShouldBeServedFromCacheAndRecordStats() {
+        assertEquals("Abyssinian", breedService.getBreedById("abys").join().getName());
+        assertEquals("Abyssinian", breedService.getBreedById("abys").join().getName());
+
+        verify(breedRepository, times(1)).findById("abys");
+        CacheStats stats = nativeCache(CacheConfig.BREED_BY_ID).stats();
+        assertTrue(stats.hitCount() >= 1);
+        assertTrue(stats.missCount() >= 1);
+    }
+
+    @Test
+    void dataCollectionCompleted_ShouldEvictAllCaches() {
+        breedService.getBreedById("abys").join();
+
+        eventPublisher.publishEvent(new DataCollectionCompletedEvent(Instant.now()));
+        breedService.getBreedById("abys").join();
+
+        verify(breedRepository, times(2)).findById("abys");
+    }
+
+    @Test
+    void cacheManager_ShouldExposeOnlyConfiguredCaches() {
+        assertEquals(3, cacheManager.getCacheNames().size());
+        assertNull(cacheManager.getCache("unknown"));
+    }
+
+    @Test
+    void cacheManager_ShouldApplyPerCacheSpecAndRejectRefreshAfterWrite() {
+        CacheManager manager = CacheConfig.cacheManager(Map.of("small", "maximumSize=1"));
+        CaffeineCache small = (CaffeineCache) manager.getCache("small");
+        assertEquals(1L, small.getNativeCache().policy().eviction().orElseThrow().getMaximum());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> CacheConfig.cacheManager(Map.of("breeds", "maximumSize=1,refreshAfterWrite=1m")));
+    }
+
+    private Cache<Object, Object> nativeCache(String name) {
+        return ((CaffeineCache) cacheManager.getCache(name)).getNativeCache();
+    }
+}
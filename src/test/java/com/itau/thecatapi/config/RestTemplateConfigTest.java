@@ -0,0 +1,90 @@
+package com.itau.thecatapi.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.Timeout;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringJUnitConfig(RestTemplateConfig.class)
+@TestPropertySource(properties = {
+        "thecatapi.http.max-connections=7",
+        "thecatapi.http.max-connections-per-route=3",
+        "thecatapi.http.connect-timeout-ms=150",
+        "thecatapi.http.read-timeout-ms=300",
+        "thecatapi.http.idle-eviction-ms=1000"
+})
+class RestTemplateConfigTest {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private CloseableHttpClient httpClient;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MeterBinder catApiConnectionPoolMetrics;
+
+    @Test
+    void connectionManager_ShouldUseConfiguredPoolLimits() {
+        assertEquals(7, connectionManager.getMaxTotal());
+        assertEquals(3, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void httpClient_ShouldUseConfiguredTimeouts() {
+        RequestConfig config = ((Configurable) httpClient).getConfig();
+
+        assertEquals(Timeout.ofMilliseconds(150), config.getConnectionRequestTimeout());
+        assertEquals(Timeout.ofMilliseconds(300), config.getResponseTimeout());
+    }
+
+    @Test
+    void restTemplate_WhenServerDoesNotAnswer_ShouldTimeOutAfterReadTimeout() throws Exception {
+        // Aceita a conexão e nunca responde
+        try (ServerSocket server = new ServerSocket(0)) {
+            Thread.ofVirtual().start(() -> {
+                try (Socket ignored = server.accept()) {
+                    Thread.sleep(5_000);
+                } catch (Exception e) {
+                    // encerrado pelo fechamento do servidor
+                }
+            });
+
+            long start = System.nanoTime();
+            ResourceAccessException exception = assertThrows(ResourceAccessException.class,
+                    () -> restTemplate.getForObject("http://127.0.0.1:" + server.getLocalPort() + "/v1/breeds", String.class));
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertInstanceOf(SocketTimeoutException.class, exception.getCause());
+            assertTrue(elapsedMillis < 3_000, "tempo até o timeout: " + elapsedMillis + " ms");
+        }
+    }
+
+    @Test
+    void connectionPoolMetrics_ShouldExposePoolLimits() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        catApiConnectionPoolMetrics.bindTo(registry);
+
+        assertEquals(7.0, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "thecatapi").gauge().value());
+    }
+}
@@ -0,0 +1,61 @@
+package com.itau.thecatapi.controller;
+
+import com.itau.thecatapi.message.BreedRequestMessage;
+import com.itau.thecatapi.service.BreedRequestPublisher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncBreedControllerTest {
+
+    @Mock
+    private BreedRequestPublisher breedRequestPublisher;
+
+    @InjectMocks
+    private AsyncBreedController asyncBreedController;
+
+    @Test
+    void getBreedByIdAsync_ShouldAcceptAfterMessageIsQueued() {
+        // Arrange
+        when(breedRequestPublisher.sendBreedRequest(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                asyncBreedController.getBreedByIdAsync("abys", "usuario@teste.com").join();
+
+        // Assert
+        assertEquals(202, response.getStatusCode().value());
+        assertEquals("processing", response.getBody().get("status"));
+        ArgumentCaptor<BreedRequestMessage> message = ArgumentCaptor.forClass(BreedRequestMessage.class);
+        verify(breedRequestPublisher).sendBreedRequest(message.capture());
+        assertEquals("abys", message.getValue().getBreedId());
+    }
+
+    @Test
+    void getBreedsByTemperamentAsync_WhenQueueRejects_ShouldReturnServiceUnavailable() {
+        // Arrange
+        when(breedRequestPublisher.sendBreedRequest(any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Falha no envio para SQS")));
+
+        // Act
+        ResponseEntity<Map<String, Object>> response =
+                asyncBreedController.getBreedsByTemperamentAsync("calm", "usuario@teste.com").join();
+
+        // Assert
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("failed", response.getBody().get("status"));
+        assertEquals("usuario@teste.com", response.getBody().get("email"));
+    }
+}
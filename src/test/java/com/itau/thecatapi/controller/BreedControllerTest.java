@@ -1,17 +1,24 @@
 package com.itau.thecatapi.controller;
 
 import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
 import com.itau.thecatapi.exception.ResourceNotFoundException;
 import com.itau.thecatapi.service.BreedService;
+import com.itau.thecatapi.service.BreedStreamService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -25,6 +32,9 @@ class BreedControllerTest {
     @Mock
     private BreedService breedService;
 
+    @Mock
+    private BreedStreamService breedStreamService;
+
     @InjectMocks
     private BreedController breedController;
 
@@ -246,4 +256,42 @@ class BreedControllerTest {
         ResponseEntity<BreedResponseDTO> response = result.get();
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
+
+    @Test
+    void getBreedsPage_ShouldReturnPageWithLinkHeaders() throws Exception {
+        CursorPageDTO<BreedResponseDTO> page = CursorPageDTO.of(List.of(breed1, breed2), 1, BreedResponseDTO::getId);
+        when(breedService.getBreedsPage("Active", null, null, 1)).thenReturn(CompletableFuture.completedFuture(page));
+
+        ResponseEntity<CursorPageDTO<BreedResponseDTO>> response = breedController.getBreedsPage("Active", null, null, 1,
+                UriComponentsBuilder.fromUriString("http://localhost:8080")).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().items().size());
+        assertEquals("<http://localhost:8080/api/breeds?temperament=Active&limit=1>; rel=\"first\", "
+                        + "<http://localhost:8080/api/breeds?temperament=Active&limit=1&cursor=" + page.next() + ">; rel=\"next\"",
+                response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    void getBreedsPage_ShouldClampLimitAndOmitNextOnLastPage() throws Exception {
+        when(breedService.getBreedsPage(null, null, null, BreedController.MAX_PAGE_SIZE))
+                .thenReturn(CompletableFuture.completedFuture(new CursorPageDTO<>(List.of(breed1), null)));
+
+        ResponseEntity<CursorPageDTO<BreedResponseDTO>> response = breedController.getBreedsPage(null, null, null, 5000,
+                UriComponentsBuilder.fromUriString("http://localhost")).get();
+
+        assertEquals("<http://localhost/api/breeds?limit=100>; rel=\"first\"",
+                response.getHeaders().getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    void streamBreeds_ShouldReturnNdjsonBodyWrittenByStreamService() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = breedController.streamBreeds("Active", "Egypt");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        response.getBody().writeTo(output);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        verify(breedStreamService).writeNdjson("Active", "Egypt", output);
+    }
 }
@@ -0,0 +1,82 @@
+package com.itau.thecatapi.controller;
+
+import com.itau.thecatapi.dto.BreedImageResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
+import com.itau.thecatapi.exception.InvalidCursorException;
+import com.itau.thecatapi.service.BreedImageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BreedImageControllerTest {
+
+    @Mock
+    private BreedImageService breedImageService;
+
+    @InjectMocks
+    private BreedImageController breedImageController;
+
+    @Test
+    void getImages_ShouldReturnPageWithNextCursor() throws Exception {
+        CursorPageDTO<BreedImageResponseDTO> page = CursorPageDTO.of(
+                List.of(image("img1"), image("img2"), image("img3")), 2, BreedImageResponseDTO::getId);
+        when(breedImageService.getImagesPage(null, 2)).thenReturn(CompletableFuture.completedFuture(page));
+
+        ResponseEntity<CursorPageDTO<BreedImageResponseDTO>> response = breedImageController.getImages(null, 2).get();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().items().size());
+        assertEquals("img2", CursorPageDTO.decode(response.getBody().next()));
+    }
+
+    @Test
+    void getImages_ShouldClampLimit() throws Exception {
+        when(breedImageService.getImagesPage(any(), anyInt()))
+                .thenReturn(CompletableFuture.completedFuture(new CursorPageDTO<>(List.of(), null)));
+
+        breedImageController.getImages(null, 10_000).get();
+        breedImageController.getImages(null, 0).get();
+
+        verify(breedImageService).getImagesPage(null, BreedImageController.MAX_LIMIT);
+        verify(breedImageService).getImagesPage(null, 1);
+    }
+
+    @Test
+    void getImagesByBreed_OnLastPage_ShouldReturnNullNext() throws Exception {
+        String cursor = CursorPageDTO.encode("img1");
+        CursorPageDTO<BreedImageResponseDTO> page = CursorPageDTO.of(
+                List.of(image("img2")), 20, BreedImageResponseDTO::getId);
+        when(breedImageService.getImagesByBreedIdPage("abys", cursor, 20))
+                .thenReturn(CompletableFuture.completedFuture(page));
+
+        ResponseEntity<CursorPageDTO<BreedImageResponseDTO>> response =
+                breedImageController.getImagesByBreed("abys", cursor, 20).get();
+
+        assertEquals(1, response.getBody().items().size());
+        assertNull(response.getBody().next());
+    }
+
+    @Test
+    void cursor_ShouldRoundTripAndRejectGarbage() {
+        assertEquals("img-01_x", CursorPageDTO.decode(CursorPageDTO.encode("img-01_x")));
+        assertEquals(CursorPageDTO.FIRST, CursorPageDTO.decode(null));
+        assertEquals(CursorPageDTO.FIRST, CursorPageDTO.decode(""));
+        assertThrows(InvalidCursorException.class, () -> CursorPageDTO.decode("não é base64!"));
+    }
+
+    private static BreedImageResponseDTO image(String id) {
+        return new BreedImageResponseDTO(id, "https://cdn2.thecatapi.com/images/" + id + ".jpg", 100, 100,
+                false, "abys", "Abyssinian", null, null);
+    }
+}
@@ -1,10 +1,13 @@
 package com.itau.thecatapi.controller;
 
 import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.dto.SyncSummaryDTO;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.model.BreedImage;
 import com.itau.thecatapi.model.Category;
 import com.itau.thecatapi.service.DataCollectionService;
+import com.itau.thecatapi.service.IncrementalSyncService;
+import com.itau.thecatapi.service.scheduler.DataCollectionLock;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,11 +18,14 @@ import org.springframework.http.ResponseEntity;
 import org.slf4j.Logger;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,12 @@ class ExternalApiControllerTest {
     @Mock
     private DataCollectionService dataCollectionService;
 
+    @Mock
+    private IncrementalSyncService incrementalSyncService;
+
+    @Mock
+    private DataCollectionLock dataCollectionLock;
+
     @Mock
     private Logger logger;
 
@@ -235,6 +247,7 @@ class ExternalApiControllerTest {
     @Test
     void collectData_ShouldReturnOk_WhenSuccessful() {
         // Arrange
+        lockAvailable();
         CompletableFuture<Void> futureVoid = CompletableFuture.completedFuture(null);
 
         when(dataCollectionService.collectAllData()).thenReturn(futureVoid);
@@ -252,6 +265,7 @@ class ExternalApiControllerTest {
     @Test
     void collectData_ShouldReturnInternalServerError_WhenExceptionOccurs() {
         // Arrange
+        lockAvailable();
         RuntimeException exception = new RuntimeException("Data collection error");
         CompletableFuture<Void> futureException = CompletableFuture.failedFuture(exception);
 
@@ -270,6 +284,7 @@ class ExternalApiControllerTest {
     @Test
     void collectData_ShouldHandleCompletionException() {
         // Arrange
+        lockAvailable();
         CompletionException completionException = new CompletionException(new RuntimeException("Wrapped error"));
         CompletableFuture<Void> futureException = CompletableFuture.failedFuture(completionException);
 
@@ -284,4 +299,67 @@ class ExternalApiControllerTest {
         assertNull(response.getBody());
         verify(dataCollectionService).collectAllData();
     }
+
+    @Test
+    void syncData_ShouldReturnSummary_WhenSuccessful() {
+        // Arrange
+        lockAvailable();
+        SyncSummaryDTO.EntityChanges none = new SyncSummaryDTO.EntityChanges(0, 0, 0, 0);
+        SyncSummaryDTO summary = new SyncSummaryDTO(new SyncSummaryDTO.EntityChanges(1, 0, 0, 66), none, none, 10);
+        when(incrementalSyncService.syncAsync()).thenReturn(CompletableFuture.completedFuture(summary));
+
+        // Act
+        ResponseEntity<SyncSummaryDTO> response = externalApiController.syncData().join();
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertSame(summary, response.getBody());
+        verify(incrementalSyncService).syncAsync();
+    }
+
+    @Test
+    void syncData_ShouldReturnInternalServerError_WhenExceptionOccurs() {
+        // Arrange
+        lockAvailable();
+        when(incrementalSyncService.syncAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Sync error")));
+
+        // Act
+        ResponseEntity<SyncSummaryDTO> response = externalApiController.syncData().join();
+
+        // Assert
+        assertEquals(500, response.getStatusCodeValue());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void collectData_ShouldReturnConflict_WhenAnotherInstanceIsCollecting() {
+        // Arrange
+        when(dataCollectionLock.runExclusive(any())).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<Void> response = externalApiController.collectData().join();
+
+        // Assert
+        assertEquals(409, response.getStatusCodeValue());
+        verifyNoInteractions(dataCollectionService);
+    }
+
+    @Test
+    void syncData_ShouldReturnConflict_WhenAnotherInstanceIsCollecting() {
+        // Arrange
+        when(dataCollectionLock.runExclusive(any())).thenReturn(Optional.empty());
+
+        // Act
+        ResponseEntity<SyncSummaryDTO> response = externalApiController.syncData().join();
+
+        // Assert
+        assertEquals(409, response.getStatusCodeValue());
+        verifyNoInteractions(incrementalSyncService);
+    }
+
+    private void lockAvailable() {
+        when(dataCollectionLock.runExclusive(any()))
+                .thenAnswer(invocation -> Optional.of(invocation.<Supplier<CompletableFuture<?>>>getArgument(0).get()));
+    }
 }
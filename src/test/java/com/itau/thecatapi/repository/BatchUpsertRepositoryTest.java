@@ -0,0 +1,105 @@
+package com.itau.thecatapi.repository;
+
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.Category;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BatchUpsertRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchUpsertRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        repository = new BatchUpsertRepository(jdbcTemplate, meterRegistry, 2);
+    }
+
+    @Test
+    void upsertSql_ShouldTargetPrimaryKeyAndUpdateAllOtherColumns() {
+        assertEquals("INSERT INTO category (id, name, content_hash) VALUES (?, ?, ?) ON CONFLICT (id) "
+                        + "DO UPDATE SET name = EXCLUDED.name, content_hash = EXCLUDED.content_hash",
+                BatchUpsertRepository.CATEGORY_UPSERT_SQL);
+        assertTrue(BatchUpsertRepository.BREED_UPSERT_SQL.startsWith("INSERT INTO breeds (id, name, temperament"));
+        assertTrue(BatchUpsertRepository.BREED_UPSERT_SQL.contains("\"natural\" = EXCLUDED.\"natural\""));
+        assertTrue(BatchUpsertRepository.BREED_UPSERT_SQL.contains("weight_metric = EXCLUDED.weight_metric"));
+    }
+
+    @Test
+    void upsertSql_ForImages_ShouldNotOverwriteWithNullUpstreamValues() {
+        String sql = BatchUpsertRepository.IMAGE_UPSERT_SQL;
+
+        assertTrue(sql.contains("favourite = COALESCE(EXCLUDED.favourite, images.favourite)"));
+        assertTrue(sql.contains("breed_id = COALESCE(EXCLUDED.breed_id, images.breed_id)"));
+        assertTrue(sql.contains("category_id = COALESCE(EXCLUDED.category_id, images.category_id)"));
+        assertTrue(sql.contains("url = EXCLUDED.url"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void upsertImages_ShouldBindColumnsInBatchesAndRecordMetrics() throws Exception {
+        Breed breed = new Breed();
+        breed.setId("abys");
+        List<BreedImage> images = List.of(
+                new BreedImage("img1", "u1", 10, 20, null, breed, new Category(1, "hats")),
+                new BreedImage("img2", "u2", null, null, true, null, null),
+                new BreedImage("img3", "u3", 30, 40, false, breed, null));
+
+        List<BreedImage> result = repository.upsertImages(images);
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<BreedImage>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        verify(jdbcTemplate).batchUpdate(eq(BatchUpsertRepository.IMAGE_UPSERT_SQL), eq(images), eq(2), setter.capture());
+        assertSame(images, result);
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, images.get(0));
+        verify(ps).setObject(1, "img1", Types.VARCHAR);
+        verify(ps).setObject(3, 10, Types.INTEGER);
+        verify(ps).setNull(5, Types.BOOLEAN);
+        verify(ps).setObject(6, "abys", Types.VARCHAR);
+        verify(ps).setObject(7, 1, Types.INTEGER);
+
+        assertEquals(3, meterRegistry.get("thecatapi.persistence.rows").tag("table", "images").counter().count());
+        assertEquals(1, meterRegistry.get("thecatapi.persistence.upsert").tag("table", "images").timer().count());
+    }
+
+    @Test
+    void upsertImages_WithRepeatedIds_ShouldKeepFirstOccurrenceOnly() {
+        BreedImage first = new BreedImage("img1", "u1", 10, 20, null, null, null);
+        BreedImage other = new BreedImage("img2", "u2", null, null, null, null, null);
+        BreedImage repeated = new BreedImage("img1", "u1-retry", 10, 20, null, null, null);
+
+        List<BreedImage> result = repository.upsertImages(List.of(first, other, repeated));
+
+        // Duas ocorrências da mesma linha no INSERT de várias linhas fariam o Postgres recusar o lote inteiro
+        verify(jdbcTemplate).batchUpdate(eq(BatchUpsertRepository.IMAGE_UPSERT_SQL), eq(List.of(first, other)), eq(2),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(List.of(first, other), result);
+        assertEquals(2, meterRegistry.get("thecatapi.persistence.rows").tag("table", "images").counter().count());
+    }
+
+    @Test
+    void upsert_WithEmptyList_ShouldNotTouchTheDatabase() {
+        assertTrue(repository.upsertBreeds(List.of()).isEmpty());
+        assertTrue(repository.upsertCategories(null).isEmpty());
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
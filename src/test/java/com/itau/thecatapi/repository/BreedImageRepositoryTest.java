@@ -0,0 +1,149 @@
+package com.itau.thecatapi.repository;
+
+import com.itau.thecatapi.dto.BreedImageResponseDTO;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.Category;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false"
+})
+class BreedImageRepositoryTest {
+
+    @Autowired
+    private BreedImageRepository breedImageRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Breed abyssinian;
+    private Category hats;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        abyssinian = new Breed();
+        abyssinian.setId("abys");
+        abyssinian.setName("Abyssinian");
+        entityManager.persist(abyssinian);
+
+        hats = new Category(1, "hats");
+        entityManager.persist(hats);
+    }
+
+    @Test
+    void findResponsesAfter_ShouldWalkAllPagesWithOneBoundedStatementEach() {
+        persistImages(0, 25);
+
+        List<String> seen = new ArrayList<>();
+        String afterId = "";
+        List<BreedImageResponseDTO> page;
+        do {
+            String cursor = afterId;
+            page = countAndReturn(() -> breedImageRepository.findResponsesAfter(cursor, Limit.of(10)));
+            assertTrue(page.size() <= 10);
+            page.forEach(image -> seen.add(image.getId()));
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 10);
+
+        assertEquals(25, seen.size());
+        assertEquals("img00", seen.get(0));
+        assertEquals("img24", seen.get(24));
+        assertEquals(seen.stream().sorted().toList(), seen);
+    }
+
+    @Test
+    void findResponsesByBreedIdAfter_ShouldOnlyReturnImagesOfTheBreedAfterTheCursor() {
+        persistImages(0, 5);
+        entityManager.persist(new BreedImage("img02b", "u", 10, 10, false, null, hats));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<BreedImageResponseDTO> images = countAndReturn(
+                () -> breedImageRepository.findResponsesByBreedIdAfter("abys", "img01", Limit.of(2)));
+
+        assertEquals(List.of("img02", "img03"), images.stream().map(BreedImageResponseDTO::getId).toList());
+        assertEquals("Abyssinian", images.get(0).getBreedName());
+    }
+
+    @Test
+    void findResponsesByBreedId_ShouldProjectAssociationsAndApplyLimit() {
+        persistImages(0, 10);
+
+        List<BreedImageResponseDTO> images = countAndReturn(
+                () -> breedImageRepository.findResponsesByBreedId("abys", Limit.of(3)));
+
+        assertEquals(3, images.size());
+        assertEquals("img00", images.get(0).getId());
+        assertEquals("Abyssinian", images.get(0).getBreedName());
+        assertEquals("hats", images.get(0).getCategoryName());
+        assertEquals(List.of("u00", "u01"), breedImageRepository.findUrlsByBreedId("abys", Limit.of(2)));
+    }
+
+    @Test
+    void findResponseById_WithoutAssociations_ShouldReturnNullNames() {
+        entityManager.persist(new BreedImage("solo", "u", 10, 10, false, null, null));
+        entityManager.flush();
+        entityManager.clear();
+
+        BreedImageResponseDTO image = breedImageRepository.findResponseById("solo").orElseThrow();
+
+        assertNull(image.getBreedId());
+        assertNull(image.getCategoryName());
+        assertTrue(breedImageRepository.findResponseById("none").isEmpty());
+    }
+
+    @Test
+    void toggleFavourite_ShouldFlipFlagWithoutLoadingTheEntity() {
+        persistImages(0, 1);
+
+        assertEquals(1, breedImageRepository.toggleFavourite("img00"));
+        assertTrue(breedImageRepository.findResponseById("img00").orElseThrow().getFavourite());
+        assertEquals(1, breedImageRepository.findFavouriteResponses().size());
+
+        assertEquals(1, breedImageRepository.toggleFavourite("img00"));
+        assertFalse(breedImageRepository.findResponseById("img00").orElseThrow().getFavourite());
+        assertEquals(0, breedImageRepository.toggleFavourite("none"));
+    }
+
+    private void persistImages(int from, int to) {
+        for (int i = from; i < to; i++) {
+            String suffix = String.format("%02d", i);
+            entityManager.persist(new BreedImage("img" + suffix, "u" + suffix, 100, 100, false, abyssinian, hats));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> T countAndReturn(Supplier<T> query) {
+        statistics.clear();
+        T result = query.get();
+        assertEquals(1, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.itau.thecatapi.repository;
+
+import com.itau.thecatapi.model.Breed;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+class BreedRepositoryTest {
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Breed maineCoon = new Breed();
+        maineCoon.setId("mcoo");
+        maineCoon.setName("Maine Coon");
+        maineCoon.setTemperament("Adaptable, Intelligent, Loving, Gentle");
+        maineCoon.setOrigin("United States");
+        entityManager.persist(maineCoon);
+        entityManager.flush();
+    }
+
+    @Test
+    void findByTemperamentAndOrigin_ShouldIgnoreCaseOnBothFields() {
+        // O cache de respostas normaliza os filtros para minúsculas, então a consulta precisa ignorar a caixa
+        List<Breed> breeds = breedRepository
+                .findByTemperamentContainingIgnoreCaseAndOriginContainingIgnoreCase("gentle", "united states");
+
+        assertEquals(List.of("mcoo"), breeds.stream().map(Breed::getId).toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.itau.thecatapi.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Import(ClusterLockRepository.class)
+class ClusterLockRepositoryTest {
+
+    @Autowired
+    private ClusterLockRepository clusterLockRepository;
+
+    @Test
+    void tryAcquire_ShouldGrantLockToOnlyOneNodeUntilReleased() {
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-a", Duration.ofMinutes(5)));
+        assertFalse(clusterLockRepository.tryAcquire("collect", "node-b", Duration.ofMinutes(5)));
+
+        clusterLockRepository.release("collect", "node-a");
+
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-b", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void tryAcquire_ShouldTakeOverExpiredLock() {
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-a", Duration.ofMillis(-1)));
+
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-b", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void release_ByAnotherNode_ShouldNotUnlock() {
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-a", Duration.ofMinutes(5)));
+
+        clusterLockRepository.release("collect", "node-b");
+
+        assertFalse(clusterLockRepository.tryAcquire("collect", "node-c", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void markDataChanged_ShouldOnlyMoveForward() {
+        Instant first = Instant.parse("2025-01-01T10:00:00Z");
+        Instant later = first.plus(1, ChronoUnit.HOURS);
+
+        assertTrue(clusterLockRepository.findDataChangedAt("collect").isEmpty());
+
+        clusterLockRepository.markDataChanged("collect", later);
+        clusterLockRepository.markDataChanged("collect", first);
+
+        assertEquals(later, clusterLockRepository.findDataChangedAt("collect").orElseThrow());
+        // A linha criada pelo marcador não bloqueia a coleta
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-a", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void findDataChangedAt_WhenRowHasNoMarker_ShouldBeEmpty() {
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-a", Duration.ofMinutes(5)));
+
+        assertTrue(clusterLockRepository.findDataChangedAt("collect").isEmpty());
+
+        Instant changedAt = Instant.parse("2025-01-01T10:00:00Z");
+        clusterLockRepository.markDataChanged("collect", changedAt);
+        assertEquals(changedAt, clusterLockRepository.findDataChangedAt("collect").orElseThrow());
+    }
+
+    @Test
+    void renew_ShouldOnlyExtendLockStillHeldByOwner() {
+        assertTrue(clusterLockRepository.tryAcquire("collect", "node-a", Duration.ofMinutes(5)));
+
+        assertTrue(clusterLockRepository.renew("collect", "node-a", Duration.ofMinutes(5)));
+        assertFalse(clusterLockRepository.renew("collect", "node-b", Duration.ofMinutes(5)));
+
+        clusterLockRepository.release("collect", "node-a");
+        assertFalse(clusterLockRepository.renew("collect", "node-a", Duration.ofMinutes(5)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.itau.thecatapi.service;
+
+import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.message.BreedRequestMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.AdditionalMatchers.not;
+import static org.mockito.Mockito.*;
+
+class BreedRequestProcessorTest {
+
+    private BreedRequestProcessor processor;
+
+    @Mock
+    private BreedService breedService;
+
+    @Mock
+    private BreedImageService breedImageService;
+
+    @Mock
+    private EmailService emailService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        processor = new BreedRequestProcessor(breedService, breedImageService, emailService, meterRegistry,
+                "maximumSize=100,expireAfterWrite=60s");
+    }
+
+    @Test
+    void testProcess_withBreedId_shouldSendEmailWithBreedAndImages() {
+        BreedRequestMessage request = new BreedRequestMessage();
+        request.setMessageId("123");
+        request.setEmail("test@example.com");
+        request.setBreedId("abc");
+
+        BreedResponseDTO breed = new BreedResponseDTO("abc", "Siamese", "Thailand", "Friendly", "Elegant cat", "https://cdn2.thecatapi.com/images/WmBbMJmwn.jpg");
+        when(breedService.getBreedById("abc")).thenReturn(CompletableFuture.completedFuture(breed));
+        when(breedImageService.getImageUrlsByBreedId("abc", 3)).thenReturn(CompletableFuture.completedFuture(List.of("url1", "url2", "url3")));
+
+        processor.process(request);
+
+        verify(emailService).sendHtmlEmail(eq("test@example.com"), any(), and(contains("Siamese"), contains("url3")));
+    }
+
+    @Test
+    void testProcess_whenEmailFails_shouldPropagate() {
+        BreedRequestMessage request = new BreedRequestMessage();
+        request.setEmail("test@example.com");
+        when(breedService.getAllBreeds()).thenReturn(CompletableFuture.completedFuture(List.of()));
+        doThrow(new RuntimeException("SMTP indisponível")).when(emailService).sendHtmlEmail(any(), any(), any());
+
+        assertThrows(RuntimeException.class, () -> processor.process(request));
+    }
+
+    @Test
+    void testProcess_identicalQueries_shouldComputeOnceAndOnlyChangeRecipient() {
+        BreedResponseDTO calm = new BreedResponseDTO("abys", "Abyssinian", "Egypt", "Calm", "Active cat", null);
+        when(breedService.getBreedsByTemperament(any())).thenReturn(CompletableFuture.completedFuture(List.of(calm)));
+
+        processor.process(temperamentRequest("a@example.com", "Calm"));
+        processor.process(temperamentRequest("b@example.com", " calm "));
+
+        verify(breedService, times(1)).getBreedsByTemperament(any());
+        ArgumentCaptor<String> html = ArgumentCaptor.forClass(String.class);
+        verify(emailService).sendHtmlEmail(eq("a@example.com"), any(), html.capture());
+        verify(emailService).sendHtmlEmail(eq("b@example.com"), any(), eq(html.getValue()));
+        assertEquals(0.5, meterRegistry.get("thecatapi.requests.dedupe.hit_ratio").gauge().value());
+    }
+
+    @Test
+    void testProcess_sharedQuery_shouldQuoteNormalizedValueAndLookUpTrimmedBreedId() {
+        when(breedService.getBreedsByTemperament("calm")).thenReturn(CompletableFuture.completedFuture(List.of()));
+        BreedResponseDTO breed = new BreedResponseDTO("abc", "Siamese", "Thailand", "Friendly", "Elegant cat", null);
+        when(breedService.getBreedById("abc")).thenReturn(CompletableFuture.completedFuture(breed));
+        when(breedImageService.getImageUrlsByBreedId("abc", 3)).thenReturn(CompletableFuture.completedFuture(List.of()));
+        BreedRequestMessage byId = new BreedRequestMessage();
+        byId.setEmail("c@example.com");
+        byId.setBreedId(" abc ");
+
+        processor.process(temperamentRequest("a@example.com", " CALM "));
+        processor.process(byId);
+
+        verify(emailService).sendHtmlEmail(eq("a@example.com"), any(),
+                and(contains("temperamento 'calm'"), not(contains("CALM"))));
+        verify(emailService).sendHtmlEmail(eq("c@example.com"), any(), contains("Siamese"));
+    }
+
+    @Test
+    void testProcess_afterDataCollection_shouldRecompute() {
+        when(breedService.getBreedsByTemperament(any())).thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        processor.process(temperamentRequest("a@example.com", "Calm"));
+        processor.onDataCollectionCompleted(new DataCollectionCompletedEvent(Instant.now()));
+        processor.process(temperamentRequest("a@example.com", "Calm"));
+
+        verify(breedService, times(2)).getBreedsByTemperament(any());
+    }
+
+    @Test
+    void testProcessBreedInformation_withBreedId() {
+        BreedRequestMessage request = new BreedRequestMessage();
+        request.setBreedId("abc");
+
+        BreedResponseDTO breed = new BreedResponseDTO("abc", "Siamese", "Thailand", "Friendly", "Elegant cat", "https://cdn2.thecatapi.com/images/WmBbMJmwn.jpg");
+        when(breedService.getBreedById("abc")).thenReturn(CompletableFuture.completedFuture(breed));
+
+        String result = processor.processBreedInformation(request);
+
+        assertTrue(result.contains("Raça: Siamese"));
+        assertTrue(result.contains("Origem: Thailand"));
+    }
+
+    @Test
+    void testGetImagesForRequest_withBreedId() {
+        BreedRequestMessage request = new BreedRequestMessage();
+        request.setBreedId("abc");
+
+        when(breedImageService.getImageUrlsByBreedId("abc", 3))
+                .thenReturn(CompletableFuture.completedFuture(List.of("img1", "img2")));
+
+        List<String> images = processor.getImagesForRequest(request);
+
+        assertEquals(2, images.size());
+        assertEquals("img1", images.get(0));
+    }
+
+    @Test
+    void testGetImagesForRequest_withoutBreedId_shouldReturnNull() {
+        BreedRequestMessage request = new BreedRequestMessage(); // no breedId
+
+        List<String> images = processor.getImagesForRequest(request);
+
+        assertNull(images);
+    }
+
+    private static BreedRequestMessage temperamentRequest(String email, String temperament) {
+        return new BreedRequestMessage(email, null, null, temperament);
+    }
+}
@@ -1,14 +1,17 @@
 package com.itau.thecatapi.service;
 
+import com.itau.thecatapi.concurrent.ExecutorFactory;
 import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.dto.CursorPageDTO;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -28,7 +31,6 @@ class BreedServiceTest {
     @Mock
     private BreedRepository breedRepository;
 
-    @InjectMocks
     private BreedService breedService;
 
     private Breed breed1;
@@ -37,6 +39,9 @@ class BreedServiceTest {
 
     @BeforeEach
     void setUp() {
+        breedService = new BreedService(breedRepository, new ExecutorFactory("platform", 10, 20),
+                new BreedReadModelService(breedRepository, false));
+
         breed1 = new Breed("beng", "Bengal", "Curious, energetic", "Thailand", "TH", "TH",
                 "Beautiful spotted cat", "12-15 years", 0, 1, "Leopard Cat",
                 5, 5, 4, 5, 5, 3, 3, 5, 4, 5, 5, 5, 0, 0, 0, 0, 0, 0, 0,
@@ -201,7 +206,7 @@ class BreedServiceTest {
     void getBreedsByTemperamentAndOrigin_ShouldReturnMatchingBreeds() throws ExecutionException, InterruptedException {
         // Arrange
         List<Breed> breeds = Arrays.asList(breed3);
-        when(breedRepository.findByTemperamentContainingAndOriginContainingIgnoreCase("Friendly", "United States"))
+        when(breedRepository.findByTemperamentContainingIgnoreCaseAndOriginContainingIgnoreCase("Friendly", "United States"))
                 .thenReturn(breeds);
 
         // Act
@@ -212,14 +217,15 @@ class BreedServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         verify(breedRepository, times(1))
-                .findByTemperamentContainingAndOriginContainingIgnoreCase("Friendly", "United States");
+                .findByTemperamentContainingIgnoreCaseAndOriginContainingIgnoreCase("Friendly", "United States");
         assertEquals("Maine Coon", result.get(0).getName());
     }
 
     @Test
     void convertToDTO_ShouldConvertBreedToDTO() {
         // Arrange
-        BreedService service = new BreedService();
+        BreedService service = new BreedService(breedRepository, new ExecutorFactory("platform", 10, 20),
+                new BreedReadModelService(breedRepository, false));
         breedRepository = breedRepository; // Inject mock manually for private method test
 
         // Act
@@ -234,9 +240,31 @@ class BreedServiceTest {
         assertEquals("Beautiful spotted cat", dto.getDescription());
     }
 
+    @Test
+    void getBreedsByTemperament_WithReadModel_ShouldNotQueryDatabase() throws ExecutionException, InterruptedException {
+        // Arrange
+        when(breedRepository.findAll()).thenReturn(Arrays.asList(breed1, breed2, breed3));
+        BreedReadModelService readModelService = new BreedReadModelService(breedRepository, true);
+        readModelService.refresh();
+        BreedService service = new BreedService(breedRepository, new ExecutorFactory("platform", 10, 20),
+                readModelService);
+
+        // Act
+        List<BreedResponseDTO> result = service.getBreedsByTemperament("curious").get();
+
+        // Assert
+        assertEquals(2, result.size());
+        assertEquals("Bengal", result.get(0).getName());
+        assertEquals("Siamese", result.get(1).getName());
+        verify(breedRepository, times(1)).findAll();
+        verify(breedRepository, never()).findByTemperamentContainingIgnoreCase(anyString());
+        service.shutdownExecutor();
+    }
+
     @Test
     void shutdownExecutor_ShouldShutdownExecutorService() throws Exception {
-        BreedService service = new BreedService();
+        BreedService service = new BreedService(breedRepository, new ExecutorFactory("platform", 10, 20),
+                new BreedReadModelService(breedRepository, false));
 
         // Usar reflection para acessar o campo privado
         Field executorServiceField = BreedService.class.getDeclaredField("executorService");
@@ -270,4 +298,25 @@ class BreedServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
     }
+
+    @Test
+    void getBreedsPage_ShouldFetchOneExtraRowAndReturnNextCursor() throws ExecutionException, InterruptedException {
+        when(breedRepository.findPage("", "", "", Limit.of(3))).thenReturn(Arrays.asList(breed3, breed2, breed1));
+
+        CursorPageDTO<BreedResponseDTO> page = breedService.getBreedsPage(null, null, null, 2).get();
+
+        assertEquals(2, page.items().size());
+        assertEquals("siam", CursorPageDTO.decode(page.next()));
+    }
+
+    @Test
+    void getBreedsPage_OnLastPage_ShouldPassFiltersAndCursorToQuery() throws ExecutionException, InterruptedException {
+        when(breedRepository.findPage("mcoo", "energetic", "", Limit.of(3))).thenReturn(List.of(breed2));
+
+        CursorPageDTO<BreedResponseDTO> page = breedService.getBreedsPage("energetic", null,
+                CursorPageDTO.encode("mcoo"), 2).get();
+
+        assertEquals(List.of("siam"), page.items().stream().map(BreedResponseDTO::getId).toList());
+        assertNull(page.next());
+    }
 }
@@ -0,0 +1,133 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.service.readmodel.BreedReadModelService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// O streaming abre a própria transação somente leitura, então os dados precisam estar commitados
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BreedStreamServiceTest {
+
+    @Autowired
+    private BreedRepository breedRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorFactory executorFactory = new ExecutorFactory("platform", 10, 20);
+
+    @BeforeEach
+    void setUp() {
+        List<Breed> breeds = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            breeds.add(breed(String.format("b%03d", i), i % 2 == 0 ? "Active, Playful" : "Calm", i < 10 ? "Egypt" : "Brazil"));
+        }
+        breedRepository.saveAll(breeds);
+    }
+
+    @AfterEach
+    void tearDown() {
+        breedRepository.deleteAll();
+    }
+
+    @Test
+    void writeNdjson_FromDatabase_ShouldWriteOneLinePerBreedInIdOrder() throws IOException {
+        BreedStreamService service = service(false);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        int written = service.writeNdjson(null, null, output);
+
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(120, written);
+        assertEquals(120, lines.size());
+        assertEquals("b000", objectMapper.readTree(lines.get(0)).get("id").asText());
+        assertEquals("b119", objectMapper.readTree(lines.get(119)).get("id").asText());
+    }
+
+    @Test
+    void writeNdjson_WithFilters_ShouldMatchReadModelAndDatabase() throws IOException {
+        ByteArrayOutputStream fromDatabase = new ByteArrayOutputStream();
+        ByteArrayOutputStream fromReadModel = new ByteArrayOutputStream();
+
+        assertEquals(5, service(false).writeNdjson("playful", "egypt", fromDatabase));
+        assertEquals(5, service(true).writeNdjson("playful", "egypt", fromReadModel));
+        assertEquals(fromDatabase.toString(StandardCharsets.UTF_8), fromReadModel.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void writeNdjson_FromDatabase_ShouldNotHoldBulkheadWhileWritingToClient() throws IOException {
+        int permits = executorFactory.database().getMaxConcurrentCalls();
+        List<Integer> availableWhileWriting = new ArrayList<>();
+        OutputStream slowClient = new OutputStream() {
+            @Override
+            public void write(int b) {
+                availableWhileWriting.add(executorFactory.database().getAvailablePermits());
+            }
+        };
+
+        assertEquals(120, service(false).writeNdjson(null, null, slowClient));
+
+        assertTrue(availableWhileWriting.stream().allMatch(available -> available == permits));
+    }
+
+    @Test
+    void writeNdjson_WhenClientDisconnects_ShouldStopAndPropagateIOException() {
+        OutputStream broken = new OutputStream() {
+            private int bytes;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++bytes > 500) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        IOException exception = assertThrows(IOException.class, () -> service(false).writeNdjson(null, null, broken));
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+
+    @Test
+    void findPage_ShouldApplyCursorFiltersAndLimitInTheQuery() {
+        List<Breed> page = breedRepository.findPage("b003", "calm", "", Limit.of(3));
+
+        assertEquals(List.of("b005", "b007", "b009"), page.stream().map(Breed::getId).toList());
+    }
+
+    private BreedStreamService service(boolean readModelEnabled) {
+        BreedReadModelService readModelService = new BreedReadModelService(breedRepository, readModelEnabled);
+        readModelService.onApplicationReady();
+        BreedService breedService = new BreedService(breedRepository, executorFactory, readModelService);
+        return new BreedStreamService(breedRepository, readModelService, breedService, executorFactory, objectMapper);
+    }
+
+    private static Breed breed(String id, String temperament, String origin) {
+        Breed breed = new Breed();
+        breed.setId(id);
+        breed.setName("Breed " + id);
+        breed.setTemperament(temperament);
+        breed.setOrigin(origin);
+        return breed;
+    }
+}
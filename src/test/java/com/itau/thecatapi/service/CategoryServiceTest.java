@@ -1,5 +1,6 @@
 package com.itau.thecatapi.service;
 
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
 import com.itau.thecatapi.model.Category;
 import com.itau.thecatapi.repository.CategoryRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Instant;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,14 +57,13 @@ class CategoryServiceTest {
 
     @Test
     void testGetAllCategories() {
-        List<Category> categories = List.of(new Category(1, "Funny"), new Category(2, "Cute"));
-        when(categoryRepository.findAllOrderedById()).thenReturn(categories);
+        List<Category> categories = List.of(new Category(2, "Cute"), new Category(1, "Funny"));
+        when(categoryRepository.findAll()).thenReturn(categories);
 
         List<Category> result = categoryService.getAllCategories();
 
         assertEquals(2, result.size());
         assertEquals("Funny", result.get(0).getName());
-        verify(categoryRepository).findAllOrderedById();
     }
 
     @Test
@@ -79,19 +80,18 @@ class CategoryServiceTest {
 
     @Test
     void testGetCategoryById() {
-        Category category = new Category(1, "Funny");
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1, "Funny")));
 
         Optional<Category> result = categoryService.getCategoryById(1);
 
         assertTrue(result.isPresent());
         assertEquals("Funny", result.get().getName());
+        assertTrue(categoryService.getCategoryById(99).isEmpty());
     }
 
     @Test
     void testGetCategoryByName() {
-        Category category = new Category(1, "Funny");
-        when(categoryRepository.findByName("Funny")).thenReturn(Optional.of(category));
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1, "Funny")));
 
         Optional<Category> result = categoryService.getCategoryByName("Funny");
 
@@ -101,39 +101,99 @@ class CategoryServiceTest {
 
     @Test
     void testGetCategoryNameById() {
-        Category category = new Category(1, "Funny");
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(category));
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1, "Funny")));
 
         String name = categoryService.getCategoryNameById(1);
 
         assertEquals("Funny", name);
+        assertNull(categoryService.getCategoryNameById(2));
     }
 
     @Test
     void testGetCategoriesByNames() {
         List<Category> categories = List.of(new Category(1, "Funny"), new Category(2, "Cute"));
-        when(categoryRepository.findByNameIn(List.of("Funny", "Cute"))).thenReturn(categories);
+        when(categoryRepository.findAll()).thenReturn(categories);
 
-        List<Category> result = categoryService.getCategoriesByNames(List.of("Funny", "Cute"));
+        List<Category> result = categoryService.getCategoriesByNames(List.of("Cute", "Funny", "Cute", "Unknown"));
 
-        assertEquals(2, result.size());
+        assertEquals(List.of("Cute", "Funny"), result.stream().map(Category::getName).toList());
+    }
+
+    @Test
+    void testGetCategoriesByNames_ShouldNotMixUpListsWithSameHashCode() {
+        // "Aa" e "BB" têm o mesmo hashCode, assim como as listas abaixo
+        List<Category> categories = List.of(new Category(1, "Aa"), new Category(2, "BB"));
+        when(categoryRepository.findAll()).thenReturn(categories);
+        assertEquals(List.of("Aa").hashCode(), List.of("BB").hashCode());
+
+        assertEquals(1, categoryService.getCategoriesByNames(List.of("Aa")).get(0).getId());
+        assertEquals(2, categoryService.getCategoriesByNames(List.of("BB")).get(0).getId());
+    }
+
+    @Test
+    void testLookups_ShouldBeServedFromDictionaryWithoutRepeatedDatabaseAccess() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1, "hats"), new Category(4, "sunglasses")));
+        categoryService.initCache();
+
+        for (int i = 0; i < 100; i++) {
+            categoryService.getCategoriesByNames(List.of("hats", "sunglasses"));
+            categoryService.getCategoryByName("hats");
+            categoryService.getCategoryNameById(4);
+        }
+
+        verify(categoryRepository, times(1)).findAll();
+        verifyNoMoreInteractions(categoryRepository);
+    }
+
+    @Test
+    void testEmptyDictionary_ShouldReloadOnDemand() {
+        when(categoryRepository.findAll())
+                .thenReturn(List.of())
+                .thenReturn(List.of(new Category(1, "hats")));
+        categoryService.initCache();
+
+        List<Category> result = categoryService.getCategoriesByNames(List.of("hats"));
+
+        assertEquals(1, result.size());
+        verify(categoryRepository, times(2)).findAll();
     }
 
     @Test
     void testSaveCategory() {
         Category category = new Category(1, "Funny");
         when(categoryRepository.save(category)).thenReturn(category);
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(new Category(2, "Cute")))
+                .thenReturn(List.of(new Category(2, "Cute"), category));
+        categoryService.initCache();
 
         Category result = categoryService.saveCategory(category);
 
         assertEquals("Funny", result.getName());
         verify(categoryRepository).save(category);
+        assertEquals("Funny", categoryService.getCategoryNameById(1));
+    }
+
+    @Test
+    void testDataCollectionCompleted_ShouldReloadDictionary() {
+        when(categoryRepository.findAll())
+                .thenReturn(List.of(new Category(1, "hats")))
+                .thenReturn(List.of(new Category(1, "hats"), new Category(5, "boxes")));
+        categoryService.initCache();
+
+        categoryService.onDataCollectionCompleted(new DataCollectionCompletedEvent(Instant.now()));
+
+        assertTrue(categoryService.getCategoryByName("boxes").isPresent());
     }
 
     @Test
-    void testClearCache() {
-        // Método vazio, mas testamos se não lança exceção
-        assertDoesNotThrow(() -> categoryService.clearCache());
+    void testReloadFailure_ShouldKeepPreviousDictionary() {
+        when(categoryRepository.findAll()).thenReturn(List.of(new Category(1, "hats")))
+                .thenThrow(new IllegalStateException("DB fora do ar"));
+        categoryService.initCache();
+
+        categoryService.clearCache();
+
+        assertEquals("hats", categoryService.getCategoryNameById(1));
     }
 }
-
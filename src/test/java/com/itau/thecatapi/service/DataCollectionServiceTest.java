@@ -1,12 +1,12 @@
 package com.itau.thecatapi.service;
 
 import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
 import com.itau.thecatapi.model.Breed;
 import com.itau.thecatapi.model.BreedImage;
 import com.itau.thecatapi.model.Category;
-import com.itau.thecatapi.repository.BreedImageRepository;
-import com.itau.thecatapi.repository.BreedRepository;
-import com.itau.thecatapi.repository.CategoryRepository;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import com.itau.thecatapi.service.pipeline.BreedImagePipeline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +16,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -31,16 +32,16 @@ class DataCollectionServiceTest {
     private TheCatAPIClient catApiClient;
 
     @Mock
-    private CategoryRepository categoryRepository;
+    private BatchUpsertRepository batchUpsertRepository;
 
     @Mock
-    private BreedRepository breedRepository;
+    private Logger logger;
 
     @Mock
-    private BreedImageRepository breedImageRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
-    private Logger logger;
+    private BreedImagePipeline breedImagePipeline;
 
     @InjectMocks
     private DataCollectionService dataCollectionService;
@@ -119,17 +120,16 @@ class DataCollectionServiceTest {
                 .thenReturn(CompletableFuture.completedFuture(testBreeds));
         when(catApiClient.getCategoriesAsync())
                 .thenReturn(CompletableFuture.completedFuture(testCategories));
-        when(catApiClient.getBreedImagesAsync(testBreeds))
-                .thenReturn(CompletableFuture.completedFuture(testBreedImages));
+        when(breedImagePipeline.run(testBreeds))
+                .thenReturn(CompletableFuture.completedFuture(new BreedImagePipeline.Result(2, 2, 0)));
         when(catApiClient.getBreedImagesByCriteriaAsync(List.of("hats")))
                 .thenReturn(CompletableFuture.completedFuture(testHatImages));
         when(catApiClient.getBreedImagesByCriteriaAsync(List.of("sunglasses")))
                 .thenReturn(CompletableFuture.completedFuture(testSunglassesImages));
 
-        when(breedRepository.saveAll(anyList())).thenReturn(testBreeds);
-        when(categoryRepository.saveAll(anyList())).thenReturn(testCategories);
-        when(breedImageRepository.saveAll(anyList())).thenReturn(testBreedImages)
-                .thenReturn(testHatImages)
+        when(batchUpsertRepository.upsertBreeds(anyList())).thenReturn(testBreeds);
+        when(batchUpsertRepository.upsertCategories(anyList())).thenReturn(testCategories);
+        when(batchUpsertRepository.upsertImages(anyList())).thenReturn(testHatImages)
                 .thenReturn(testSunglassesImages);
 
         // Act
@@ -141,22 +141,61 @@ class DataCollectionServiceTest {
         // Verifica se todos os métodos foram chamados
         verify(catApiClient).getAllBreedsAsync();
         verify(catApiClient).getCategoriesAsync();
-        verify(catApiClient).getBreedImagesAsync(testBreeds);
+        verify(breedImagePipeline).run(testBreeds);
         verify(catApiClient).getBreedImagesByCriteriaAsync(List.of("hats"));
         verify(catApiClient).getBreedImagesByCriteriaAsync(List.of("sunglasses"));
 
-        verify(breedRepository).saveAll(breedCaptor.capture());
-        verify(categoryRepository).saveAll(categoryCaptor.capture());
-        verify(breedImageRepository, times(3)).saveAll(breedImageCaptor.capture());
+        verify(batchUpsertRepository).upsertBreeds(breedCaptor.capture());
+        verify(batchUpsertRepository).upsertCategories(categoryCaptor.capture());
+        verify(batchUpsertRepository, times(2)).upsertImages(breedImageCaptor.capture());
 
         // Verifica os dados salvos
         assertEquals(testBreeds, breedCaptor.getValue());
         assertEquals(testCategories, categoryCaptor.getValue());
 
         List<List<BreedImage>> allSavedImages = breedImageCaptor.getAllValues();
-        assertTrue(allSavedImages.contains(testBreedImages));
         assertTrue(allSavedImages.contains(testHatImages));
         assertTrue(allSavedImages.contains(testSunglassesImages));
+
+        verify(eventPublisher).publishEvent(any(DataCollectionCompletedEvent.class));
+    }
+
+    @Test
+    void collectAllData_WhenEveryStageFails_ShouldNotPublishCompletedEvent() throws Exception {
+        // Arrange
+        when(catApiClient.getAllBreedsAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Breeds API error")));
+        when(catApiClient.getCategoriesAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Categories API error")));
+        when(catApiClient.getBreedImagesByCriteriaAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Images API error")));
+
+        // Act
+        CompletableFuture<Void> result = dataCollectionService.collectAllData();
+
+        // Assert
+        assertDoesNotThrow(() -> result.get());
+        verify(batchUpsertRepository, never()).upsertBreeds(anyList());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void collectAllData_WhenOnlyOneStagePersists_ShouldPublishCompletedEvent() throws Exception {
+        // Arrange
+        when(catApiClient.getAllBreedsAsync())
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Breeds API error")));
+        when(catApiClient.getCategoriesAsync())
+                .thenReturn(CompletableFuture.completedFuture(testCategories));
+        when(catApiClient.getBreedImagesByCriteriaAsync(anyList()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Images API error")));
+        when(batchUpsertRepository.upsertCategories(anyList())).thenReturn(testCategories);
+
+        // Act
+        CompletableFuture<Void> result = dataCollectionService.collectAllData();
+
+        // Assert
+        assertDoesNotThrow(() -> result.get());
+        verify(eventPublisher).publishEvent(any(DataCollectionCompletedEvent.class));
     }
 
     @Test
@@ -164,7 +203,7 @@ class DataCollectionServiceTest {
         // Arrange
         when(catApiClient.getAllBreedsAsync())
                 .thenReturn(CompletableFuture.completedFuture(testBreeds));
-        when(breedRepository.saveAll(testBreeds)).thenReturn(testBreeds);
+        when(batchUpsertRepository.upsertBreeds(testBreeds)).thenReturn(testBreeds);
 
         // Act
         CompletableFuture<List<Breed>> result = dataCollectionService.saveAllBreedsAsync();
@@ -172,7 +211,7 @@ class DataCollectionServiceTest {
         // Assert
         List<Breed> savedBreeds = result.get();
         assertEquals(testBreeds, savedBreeds);
-        verify(breedRepository).saveAll(testBreeds);
+        verify(batchUpsertRepository).upsertBreeds(testBreeds);
     }
 
     @Test
@@ -188,7 +227,7 @@ class DataCollectionServiceTest {
         // Assert
         List<Breed> savedBreeds = result.get();
         assertNull(savedBreeds);
-        verify(breedRepository, never()).saveAll(anyList());
+        verify(batchUpsertRepository, never()).upsertBreeds(anyList());
     }
 
     @Test
@@ -196,7 +235,7 @@ class DataCollectionServiceTest {
         // Arrange
         when(catApiClient.getCategoriesAsync())
                 .thenReturn(CompletableFuture.completedFuture(testCategories));
-        when(categoryRepository.saveAll(testCategories)).thenReturn(testCategories);
+        when(batchUpsertRepository.upsertCategories(testCategories)).thenReturn(testCategories);
 
         // Act
         CompletableFuture<List<Category>> result = dataCollectionService.saveAllCategoriesAsync();
@@ -204,23 +243,22 @@ class DataCollectionServiceTest {
         // Assert
         List<Category> savedCategories = result.get();
         assertEquals(testCategories, savedCategories);
-        verify(categoryRepository).saveAll(testCategories);
+        verify(batchUpsertRepository).upsertCategories(testCategories);
     }
 
     @Test
-    void saveAllBreedImagesAsync_ShouldSaveBreedImagesSuccessfully() throws Exception {
+    void saveAllBreedImagesAsync_ShouldDelegateToPipeline() throws Exception {
         // Arrange
-        when(catApiClient.getBreedImagesAsync(testBreeds))
-                .thenReturn(CompletableFuture.completedFuture(testBreedImages));
-        when(breedImageRepository.saveAll(testBreedImages)).thenReturn(testBreedImages);
+        BreedImagePipeline.Result pipelineResult = new BreedImagePipeline.Result(2, 2, 0);
+        when(breedImagePipeline.run(testBreeds))
+                .thenReturn(CompletableFuture.completedFuture(pipelineResult));
 
         // Act
-        CompletableFuture<List<BreedImage>> result = dataCollectionService.saveAllBreedImagesAsync(testBreeds);
+        CompletableFuture<BreedImagePipeline.Result> result = dataCollectionService.saveAllBreedImagesAsync(testBreeds);
 
         // Assert
-        List<BreedImage> savedImages = result.get();
-        assertEquals(testBreedImages, savedImages);
-        verify(breedImageRepository).saveAll(testBreedImages);
+        assertEquals(pipelineResult, result.get());
+        verifyNoInteractions(batchUpsertRepository);
     }
 
     @Test
@@ -229,7 +267,7 @@ class DataCollectionServiceTest {
         List<String> criteria = List.of("hats");
         when(catApiClient.getBreedImagesByCriteriaAsync(criteria))
                 .thenReturn(CompletableFuture.completedFuture(testHatImages));
-        when(breedImageRepository.saveAll(testHatImages)).thenReturn(testHatImages);
+        when(batchUpsertRepository.upsertImages(testHatImages)).thenReturn(testHatImages);
 
         // Act
         CompletableFuture<List<BreedImage>> result = dataCollectionService.saveAllBreedImagesByCriteriaAsync(criteria);
@@ -237,21 +275,19 @@ class DataCollectionServiceTest {
         // Assert
         List<BreedImage> savedImages = result.get();
         assertEquals(testHatImages, savedImages);
-        verify(breedImageRepository).saveAll(testHatImages);
+        verify(batchUpsertRepository).upsertImages(testHatImages);
     }
 
     @Test
-    void saveAllBreedImagesAsync_ShouldHandleRepositoryException() throws Exception {
+    void saveAllBreedImagesAsync_ShouldHandlePipelineException() throws Exception {
         List<Breed> mockBreeds = List.of(new Breed());
-        List<BreedImage> mockImages = List.of(new BreedImage());
 
-        when(catApiClient.getBreedImagesAsync(mockBreeds)).thenReturn(CompletableFuture.completedFuture(mockImages));
-        when(breedImageRepository.saveAll(mockImages)).thenThrow(new RuntimeException("DB error"));
+        when(breedImagePipeline.run(mockBreeds))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("DB error")));
 
-        CompletableFuture<List<BreedImage>> result = dataCollectionService.saveAllBreedImagesAsync(mockBreeds);
+        CompletableFuture<BreedImagePipeline.Result> result = dataCollectionService.saveAllBreedImagesAsync(mockBreeds);
 
-        List<BreedImage> images = result.join();
-        assertNull(images); // Espera null por causa do exceptionally
+        assertNull(result.join()); // Espera null por causa do exceptionally
     }
 
 //    @Test
@@ -0,0 +1,159 @@
+package com.itau.thecatapi.service;
+
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.dto.ContentHashDTO;
+import com.itau.thecatapi.dto.ImageSyncStateDTO;
+import com.itau.thecatapi.dto.SyncSummaryDTO;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.model.Category;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import com.itau.thecatapi.repository.BreedImageRepository;
+import com.itau.thecatapi.repository.BreedRepository;
+import com.itau.thecatapi.repository.CategoryRepository;
+import com.itau.thecatapi.utils.ContentHashes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IncrementalSyncServiceTest {
+
+    @Mock
+    private TheCatAPIClient catApiClient;
+
+    @Mock
+    private BreedRepository breedRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private BreedImageRepository breedImageRepository;
+
+    @Mock
+    private BatchUpsertRepository batchUpsertRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private IncrementalSyncService incrementalSyncService;
+
+    @Test
+    void syncBreeds_ShouldWriteOnlyNewAndChangedBreedsAndDeleteMissingOnes() {
+        Breed unchanged = breed("abys", "Abyssinian");
+        Breed changed = breed("aege", "Aegean");
+        Breed inserted = breed("beng", "Bengal");
+        when(breedRepository.findContentHashes()).thenReturn(List.of(
+                new ContentHashDTO("abys", ContentHashes.breed(unchanged)),
+                new ContentHashDTO("aege", ContentHashes.breed(breed("aege", "Aegean antigo"))),
+                new ContentHashDTO("gone", "hash")));
+        when(batchUpsertRepository.deleteBreeds(List.of("gone"))).thenReturn(1);
+
+        SyncSummaryDTO.EntityChanges changes = incrementalSyncService.syncBreeds(List.of(unchanged, changed, inserted));
+
+        assertEquals(new SyncSummaryDTO.EntityChanges(1, 1, 1, 1), changes);
+        verify(batchUpsertRepository).upsertBreeds(List.of(changed, inserted));
+        verify(batchUpsertRepository).deleteBreeds(List.of("gone"));
+    }
+
+    @Test
+    void syncBreeds_WithEmptyUpstream_ShouldNotDeleteAnything() {
+        when(breedRepository.findContentHashes()).thenReturn(List.of(new ContentHashDTO("abys", "hash")));
+
+        SyncSummaryDTO.EntityChanges changes = incrementalSyncService.syncBreeds(List.of());
+
+        assertEquals(new SyncSummaryDTO.EntityChanges(0, 0, 0, 0), changes);
+        verify(batchUpsertRepository).deleteBreeds(List.of());
+    }
+
+    @Test
+    void syncCategories_ShouldTreatRowsWithoutHashAsChanged() {
+        Category hats = new Category(1, "hats");
+        Category boxes = new Category(5, "boxes");
+        when(categoryRepository.findContentHashes()).thenReturn(List.of(
+                new ContentHashDTO("1", null),
+                new ContentHashDTO("5", ContentHashes.category(boxes)),
+                new ContentHashDTO("7", "hash")));
+        when(batchUpsertRepository.deleteCategories(List.of(7))).thenReturn(1);
+
+        SyncSummaryDTO.EntityChanges changes = incrementalSyncService.syncCategories(List.of(hats, boxes));
+
+        assertEquals(new SyncSummaryDTO.EntityChanges(0, 1, 1, 1), changes);
+        verify(batchUpsertRepository).upsertCategories(List.of(hats));
+    }
+
+    @Test
+    void syncImages_ShouldUpdateWhenUpstreamBringsNewAssociation() {
+        BreedImage same = new BreedImage("img1", "u1", 10, 10, null, breed("abys", "Abyssinian"), null);
+        BreedImage reassigned = new BreedImage("img2", "u2", 10, 10, null, null, new Category(1, "hats"));
+        BreedImage duplicate = new BreedImage("img1", "u1", 10, 10, null, null, null);
+        BreedImage inserted = new BreedImage("img3", "u3", 10, 10, null, null, null);
+        when(breedImageRepository.findSyncStatesByIdIn(any())).thenReturn(List.of(
+                new ImageSyncStateDTO("img1", ContentHashes.image(same), "abys", null),
+                new ImageSyncStateDTO("img2", ContentHashes.image(reassigned), null, null)));
+
+        SyncSummaryDTO.EntityChanges changes = incrementalSyncService.syncImages(
+                List.of(same, reassigned, duplicate, inserted));
+
+        assertEquals(new SyncSummaryDTO.EntityChanges(1, 1, 0, 1), changes);
+        verify(batchUpsertRepository).upsertImages(List.of(reassigned, inserted));
+    }
+
+    @Test
+    void syncAsync_WithoutChanges_ShouldNotPublishEvent() {
+        Category hats = new Category(1, "hats");
+        Breed abys = breed("abys", "Abyssinian");
+        when(catApiClient.getCategoriesAsync()).thenReturn(CompletableFuture.completedFuture(List.of(hats)));
+        when(catApiClient.getAllBreedsAsync()).thenReturn(CompletableFuture.completedFuture(List.of(abys)));
+        when(catApiClient.getBreedImagesAsync(anyList())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(catApiClient.getBreedImagesByCriteriaAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(categoryRepository.findContentHashes())
+                .thenReturn(List.of(new ContentHashDTO("1", ContentHashes.category(hats))));
+        when(breedRepository.findContentHashes())
+                .thenReturn(List.of(new ContentHashDTO("abys", ContentHashes.breed(abys))));
+
+        SyncSummaryDTO summary = incrementalSyncService.syncAsync().join();
+
+        assertFalse(summary.hasChanges());
+        assertEquals(1, summary.breeds().unchanged());
+        verify(eventPublisher, never()).publishEvent(any(DataCollectionCompletedEvent.class));
+        verifyNoInteractions(breedImageRepository);
+    }
+
+    @Test
+    void syncAsync_WithChanges_ShouldPublishEvent() {
+        when(catApiClient.getCategoriesAsync()).thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(catApiClient.getAllBreedsAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(breed("abys", "Abyssinian"))));
+        when(catApiClient.getBreedImagesAsync(anyList())).thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(catApiClient.getBreedImagesByCriteriaAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        SyncSummaryDTO summary = incrementalSyncService.syncAsync().join();
+
+        assertEquals(1, summary.breeds().inserted());
+        verify(eventPublisher).publishEvent(any(DataCollectionCompletedEvent.class));
+    }
+
+    private static Breed breed(String id, String name) {
+        Breed breed = new Breed();
+        breed.setId(id);
+        breed.setName(name);
+        return breed;
+    }
+}
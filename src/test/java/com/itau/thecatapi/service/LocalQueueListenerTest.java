@@ -0,0 +1,70 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.message.BreedRequestMessage;
+import com.itau.thecatapi.service.queue.LocalQueueService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class LocalQueueListenerTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final BreedRequestProcessor processor = mock(BreedRequestProcessor.class);
+    private LocalQueueService queueService;
+    private LocalQueueListener listener;
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+        queueService.shutdown();
+    }
+
+    @Test
+    void publishedRequests_ShouldReachProcessorAndBeAcknowledged() throws Exception {
+        start(30, 5);
+        LocalMessagingService publisher = new LocalMessagingService(queueService, objectMapper);
+
+        publisher.sendBreedRequest(new BreedRequestMessage("a@teste.com", "abys", null, null)).join();
+        publisher.sendBreedRequest(new BreedRequestMessage("b@teste.com", null, "Egypt", null)).join();
+
+        verify(processor, timeout(5_000)).process(argThat(request -> "a@teste.com".equals(request.getEmail())));
+        verify(processor, timeout(5_000)).process(argThat(request -> "b@teste.com".equals(request.getEmail())));
+
+        // Confirmadas: nada fica em voo nem volta a ser entregue
+        Thread.sleep(100);
+        assertTrue(queueService.receiveMessages(10).isEmpty());
+        verify(processor, times(2)).process(any());
+    }
+
+    @Test
+    void failingRequest_ShouldBeRedeliveredUntilMaxDeliveries() throws Exception {
+        start(0, 3);
+        doThrow(new IllegalStateException("SMTP indisponível")).when(processor).process(any());
+
+        queueService.sendMessage(objectMapper.writeValueAsString(new BreedRequestMessage("a@teste.com", null, null, null)));
+
+        verify(processor, timeout(5_000).times(3)).process(any());
+        Thread.sleep(200);
+        verify(processor, times(3)).process(any());
+    }
+
+    private void start(long visibilityTimeoutSeconds, int maxDeliveries) throws Exception {
+        queueService = new LocalQueueService(directory.toString(), 1, visibilityTimeoutSeconds, maxDeliveries, 100);
+        listener = new LocalQueueListener(queueService, processor, objectMapper,
+                new ExecutorFactory("platform", 10, 20), 4, 10);
+        listener.start();
+    }
+}
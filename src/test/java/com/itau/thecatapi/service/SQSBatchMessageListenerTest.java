@@ -0,0 +1,109 @@
+package com.itau.thecatapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.Visibility;
+import io.awspring.cloud.sqs.listener.acknowledgement.BatchAcknowledgement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SQSBatchMessageListenerTest {
+
+    private BreedRequestProcessor processor;
+    private BatchAcknowledgement<String> acknowledgement;
+    private SimpleMeterRegistry meterRegistry;
+    private SQSBatchMessageListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        processor = mock(BreedRequestProcessor.class);
+        acknowledgement = mock(BatchAcknowledgement.class);
+        when(acknowledgement.acknowledgeAsync(anyCollection())).thenReturn(CompletableFuture.completedFuture(null));
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new SQSBatchMessageListener(processor, new ObjectMapper(), new ExecutorFactory("platform", 10, 20),
+                meterRegistry, 4, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        listener.shutdown();
+    }
+
+    @Test
+    void receiveMessages_ShouldProcessBatchConcurrentlyAndAcknowledgeEachMessage() throws Exception {
+        // Só libera quando as 4 mensagens estiverem em processamento ao mesmo tempo
+        CountDownLatch allStarted = new CountDownLatch(4);
+        doAnswer(invocation -> {
+            allStarted.countDown();
+            assertTrue(allStarted.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(processor).process(any());
+
+        List<Message<String>> messages = List.of(message("1"), message("2"), message("3"), message("4"));
+        listener.receiveMessages(messages, acknowledgement).get(10, TimeUnit.SECONDS);
+
+        for (Message<String> message : messages) {
+            verify(acknowledgement).acknowledgeAsync(List.of(message));
+        }
+        assertEquals(0, listener.getInFlight());
+        assertEquals(4.0, meterRegistry.get("thecatapi.sqs.messages").tag("outcome", "success").counter().count());
+        assertEquals(4, meterRegistry.get("thecatapi.sqs.processing").timer().count());
+    }
+
+    @Test
+    void receiveMessages_FailedMessage_ShouldNotBeAcknowledged() throws Exception {
+        doThrow(new RuntimeException("SMTP indisponível"))
+                .when(processor).process(argThat(request -> "bad".equals(request.getMessageId())));
+        Message<String> good = message("good");
+        Message<String> bad = message("bad");
+        Message<String> invalid = MessageBuilder.withPayload("invalid").build();
+
+        listener.receiveMessages(List.of(good, bad, invalid), acknowledgement).get(10, TimeUnit.SECONDS);
+
+        verify(acknowledgement).acknowledgeAsync(List.of(good));
+        verify(acknowledgement, never()).acknowledgeAsync(List.of(bad));
+        verify(acknowledgement, never()).acknowledgeAsync(List.of(invalid));
+        assertEquals(2.0, meterRegistry.get("thecatapi.sqs.messages").tag("outcome", "failure").counter().count());
+    }
+
+    @Test
+    void receiveMessages_SlowMessage_ShouldExtendVisibility() throws Exception {
+        Visibility visibility = mock(Visibility.class);
+        when(visibility.changeToAsync(anyInt())).thenReturn(CompletableFuture.completedFuture(null));
+        doAnswer(invocation -> {
+            Thread.sleep(1500);
+            return null;
+        }).when(processor).process(any());
+
+        Message<String> slow = MessageBuilder.withPayload(json("slow"))
+                .setHeader(SqsHeaders.SQS_VISIBILITY_TIMEOUT_HEADER, visibility)
+                .build();
+        listener.receiveMessages(List.of(slow), acknowledgement).get(10, TimeUnit.SECONDS);
+
+        verify(visibility, atLeastOnce()).changeToAsync(2);
+        verify(acknowledgement).acknowledgeAsync(List.of(slow));
+    }
+
+    private static Message<String> message(String messageId) {
+        return MessageBuilder.withPayload(json(messageId)).build();
+    }
+
+    private static String json(String messageId) {
+        return "{\"messageId\":\"" + messageId + "\",\"email\":\"test@example.com\"}";
+    }
+}
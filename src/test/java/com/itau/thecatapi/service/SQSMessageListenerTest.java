@@ -1,13 +1,10 @@
 package com.itau.thecatapi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.itau.thecatapi.dto.BreedResponseDTO;
 import com.itau.thecatapi.message.BreedRequestMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
-import java.util.List;
-import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -18,13 +15,7 @@ class SQSMessageListenerTest {
     private SQSMessageListener listener;
 
     @Mock
-    private BreedService breedService;
-
-    @Mock
-    private BreedImageService breedImageService;
-
-    @Mock
-    private EmailService emailService;
+    private BreedRequestProcessor breedRequestProcessor;
 
     @Mock
     private ObjectMapper objectMapper;
@@ -43,15 +34,10 @@ class SQSMessageListenerTest {
         request.setBreedId("abc");
 
         when(objectMapper.readValue(json, BreedRequestMessage.class)).thenReturn(request);
-        doNothing().when(emailService).sendBreedInfoEmail(any(), any(), any(), any());
-
-        BreedResponseDTO breed = new BreedResponseDTO("abc", "Siamese", "Thailand", "Friendly", "Elegant cat", "https://cdn2.thecatapi.com/images/WmBbMJmwn.jpg");
-        when(breedService.getBreedById("abc")).thenReturn(CompletableFuture.completedFuture(breed));
-        when(breedImageService.getImageUrlsByBreedId("abc", 3)).thenReturn(CompletableFuture.completedFuture(List.of("url1", "url2", "url3")));
 
         listener.receiveMessage(json);
 
-        verify(emailService).sendBreedInfoEmail(eq("test@example.com"), any(), contains("Siamese"), any());
+        verify(breedRequestProcessor).process(request);
     }
 
     @Test
@@ -66,43 +52,18 @@ class SQSMessageListenerTest {
         });
 
         assertTrue(exception.getMessage().contains("Falha no processamento"));
+        verifyNoInteractions(breedRequestProcessor);
     }
 
     @Test
-    void testProcessBreedInformation_withBreedId() {
+    void testReceiveMessage_whenProcessingFails_shouldNotThrow() throws Exception {
+        String json = "{\"messageId\":\"123\"}";
         BreedRequestMessage request = new BreedRequestMessage();
-        request.setBreedId("abc");
-
-        BreedResponseDTO breed = new BreedResponseDTO("abc", "Siamese", "Thailand", "Friendly", "Elegant cat", "https://cdn2.thecatapi.com/images/WmBbMJmwn.jpg");
-        when(breedService.getBreedById("abc")).thenReturn(CompletableFuture.completedFuture(breed));
-
-        String result = listener.processBreedInformation(request);
-
-        assertTrue(result.contains("Raça: Siamese"));
-        assertTrue(result.contains("Origem: Thailand"));
-    }
-
-    @Test
-    void testGetImagesForRequest_withBreedId() {
-        BreedRequestMessage request = new BreedRequestMessage();
-        request.setBreedId("abc");
-
-        when(breedImageService.getImageUrlsByBreedId("abc", 3))
-                .thenReturn(CompletableFuture.completedFuture(List.of("img1", "img2")));
-
-        List<String> images = listener.getImagesForRequest(request);
-
-        assertEquals(2, images.size());
-        assertEquals("img1", images.get(0));
-    }
-
-    @Test
-    void testGetImagesForRequest_withoutBreedId_shouldReturnNull() {
-        BreedRequestMessage request = new BreedRequestMessage(); // no breedId
+        request.setMessageId("123");
 
-        List<String> images = listener.getImagesForRequest(request);
+        when(objectMapper.readValue(json, BreedRequestMessage.class)).thenReturn(request);
+        doThrow(new RuntimeException("SMTP indisponível")).when(breedRequestProcessor).process(request);
 
-        assertNull(images);
+        assertDoesNotThrow(() -> listener.receiveMessage(json));
     }
 }
-
@@ -4,15 +4,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.itau.thecatapi.message.BreedRequestMessage;
+import com.itau.thecatapi.service.queue.SQSSendBatcher;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.core.NestedExceptionUtils;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -35,23 +43,26 @@ class SQSMessagingServiceTest {
         messagingService = new SQSMessagingService(sqsAsyncClient, objectMapper, QUEUE_URL);
     }
 
+    @AfterEach
+    void tearDown() {
+        messagingService.shutdown();
+    }
+
     @Test
     void testSendBreedRequestSuccess() throws Exception {
         BreedRequestMessage message = new BreedRequestMessage();
         message.setEmail("test@example.com");
         //message.setRequestTime(LocalDateTime.now());
 
-        SendMessageResponse response = SendMessageResponse.builder()
-                .messageId("sqs-message-id")
-                .build();
-
-        CompletableFuture<SendMessageResponse> future = CompletableFuture.completedFuture(response);
-        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class))).thenReturn(future);
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(successfulBatch(request));
+        });
 
         CompletableFuture<Void> result = messagingService.sendBreedRequest(message);
 
         assertDoesNotThrow(result::join);
-        verify(sqsAsyncClient, times(1)).sendMessage(any(SendMessageRequest.class));
+        verify(sqsAsyncClient, times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
         assertNotNull(message.getMessageId());
     }
 
@@ -77,12 +88,10 @@ class SQSMessagingServiceTest {
         BreedRequestMessage message = new BreedRequestMessage();
         message.setEmail("test@example.com");
 
-        SendMessageResponse response = SendMessageResponse.builder()
-                .messageId("sqs-message-id")
-                .build();
-
-        CompletableFuture<SendMessageResponse> future = CompletableFuture.completedFuture(response);
-        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class))).thenReturn(future);
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            return CompletableFuture.completedFuture(successfulBatch(request));
+        });
 
         assertDoesNotThrow(() -> messagingService.sendBreedRequestSync(message));
     }
@@ -92,13 +101,59 @@ class SQSMessagingServiceTest {
         BreedRequestMessage message = new BreedRequestMessage();
         message.setEmail("test@example.com");
 
-        CompletableFuture<SendMessageResponse> future = new CompletableFuture<>();
+        CompletableFuture<SendMessageBatchResponse> future = new CompletableFuture<>();
         future.completeExceptionally(new RuntimeException("SQS failure"));
 
-        when(sqsAsyncClient.sendMessage(any(SendMessageRequest.class))).thenReturn(future);
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(future);
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> messagingService.sendBreedRequestSync(message));
         assertTrue(exception.getMessage().contains("Falha no envio síncrono para SQS"));
     }
-}
 
+    @Test
+    void testSendBreedRequestEntryRejected_shouldFailOnlyThatCaller() {
+        BreedRequestMessage message = new BreedRequestMessage();
+        message.setEmail("test@example.com");
+
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                SendMessageBatchResponse.builder()
+                        .failed(BatchResultErrorEntry.builder().id("0").code("InvalidParameterValue")
+                                .message("Invalid group").senderFault(true).build())
+                        .build()));
+
+        CompletableFuture<Void> result = messagingService.sendBreedRequest(message);
+
+        CompletionException exception = assertThrows(CompletionException.class, result::join);
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(exception);
+        assertInstanceOf(SQSSendBatcher.SQSSendException.class, cause);
+        assertEquals("InvalidParameterValue", ((SQSSendBatcher.SQSSendException) cause).getCode());
+    }
+
+    @Test
+    void testSendBreedRequest_identicalRequests_shouldShareDeduplicationId() {
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        when(sqsAsyncClient.sendMessageBatch(captor.capture())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(successfulBatch(invocation.getArgument(0))));
+        messagingService = new SQSMessagingService(sqsAsyncClient, objectMapper, QUEUE_URL + ".fifo");
+
+        messagingService.sendBreedRequest(new BreedRequestMessage("test@example.com", null, null, "Calm")).join();
+        messagingService.sendBreedRequest(new BreedRequestMessage("Test@Example.com", null, null, "calm")).join();
+        messagingService.sendBreedRequest(new BreedRequestMessage("other@example.com", null, null, "calm")).join();
+
+        List<String> ids = captor.getAllValues().stream()
+                .flatMap(request -> request.entries().stream())
+                .map(SendMessageBatchRequestEntry::messageDeduplicationId)
+                .toList();
+        assertEquals(3, ids.size());
+        assertEquals(ids.get(0), ids.get(1));
+        assertNotEquals(ids.get(0), ids.get(2));
+    }
+
+    private static SendMessageBatchResponse successfulBatch(SendMessageBatchRequest request) {
+        return SendMessageBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("sqs-" + entry.id()).build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,277 @@
+package com.itau.thecatapi.service.job;
+
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.dto.BreedImageDTO;
+import com.itau.thecatapi.dto.CollectionJobStatusDTO;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.exception.JobAlreadyRunningException;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.Category;
+import com.itau.thecatapi.model.CollectionJob;
+import com.itau.thecatapi.model.CollectionJobUnit;
+import com.itau.thecatapi.model.CollectionJobUnit.Status;
+import com.itau.thecatapi.model.CollectionJobUnit.Type;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import com.itau.thecatapi.repository.CollectionJobRepository;
+import com.itau.thecatapi.repository.CollectionJobUnitRepository;
+import com.itau.thecatapi.service.scheduler.DataCollectionLock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// O job roda em threads próprias, então os dados precisam estar commitados fora da transação do teste
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CollectionJobServiceTest {
+
+    @Autowired
+    private CollectionJobRepository jobRepository;
+
+    @Autowired
+    private CollectionJobUnitRepository unitRepository;
+
+    private TheCatAPIClient catApiClient;
+    private BatchUpsertRepository batchUpsertRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private DataCollectionLock dataCollectionLock;
+    private CollectionJobService service;
+
+    @BeforeEach
+    void setUp() {
+        catApiClient = mock(TheCatAPIClient.class);
+        batchUpsertRepository = mock(BatchUpsertRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        dataCollectionLock = mock(DataCollectionLock.class);
+        when(dataCollectionLock.tryAcquire()).thenReturn(true);
+        when(batchUpsertRepository.upsertCategories(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(batchUpsertRepository.upsertBreeds(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(batchUpsertRepository.upsertImages(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        service = new CollectionJobService(catApiClient, batchUpsertRepository, jobRepository, unitRepository,
+                eventPublisher, dataCollectionLock, new ExecutorFactory("platform", 10, 20), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        unitRepository.deleteAll();
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void startJob_ShouldCheckpointEachUnitAndRecordFailedBreed() {
+        stubCategoriesAndBreeds("abys", "aege");
+        stubBreedImages("abys", "img1", "img2");
+        when(catApiClient.streamBreedImagesAsync(eq("aege"), any()))
+                .thenReturn(CompletableFuture.failedFuture(serverError()));
+        when(catApiClient.getBreedImagesByCriteriaAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+
+        CollectionJobStatusDTO started = service.startJob();
+        CollectionJobStatusDTO finished = awaitFinished(started.id());
+
+        assertEquals("FAILED", finished.status());
+        assertEquals(6, finished.totalUnits());
+        assertEquals(5, finished.completedUnits());
+        assertEquals(1, finished.failedUnits());
+        assertEquals(2 + 2 + 2, finished.itemsCollected());
+        assertEquals("aege", finished.failures().get(0).key());
+        assertEquals(1, finished.failures().get(0).attempts());
+        verify(eventPublisher).publishEvent(any(DataCollectionCompletedEvent.class));
+        verify(dataCollectionLock).release();
+    }
+
+    @Test
+    void startJob_WhenAnotherInstanceIsCollecting_ShouldRejectWithoutCreatingJob() {
+        when(dataCollectionLock.tryAcquire()).thenReturn(false);
+
+        assertThrows(JobAlreadyRunningException.class, service::startJob);
+
+        assertEquals(0, jobRepository.count());
+        verifyNoInteractions(catApiClient);
+        verify(dataCollectionLock, never()).release();
+    }
+
+    @Test
+    void retryFailedUnits_WhenAnotherInstanceIsCollecting_ShouldRejectAndAllowLaterRetry() {
+        CollectionJob job = jobRepository.save(CollectionJob.start(Instant.now()));
+        when(dataCollectionLock.tryAcquire()).thenReturn(false);
+
+        assertThrows(JobAlreadyRunningException.class, () -> service.retryFailedUnits(job.getId()));
+
+        assertFalse(service.isRunning(job.getId()));
+    }
+
+    @Test
+    void startJob_WhenRunFailsOutsideUnits_ShouldMarkJobFailed() {
+        CollectionJobUnitRepository failingUnits = mock(CollectionJobUnitRepository.class, delegatesTo(unitRepository));
+        doThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .when(failingUnits).findByJobIdAndType(anyLong(), any());
+        service.shutdown();
+        service = new CollectionJobService(catApiClient, batchUpsertRepository, jobRepository, failingUnits,
+                eventPublisher, dataCollectionLock, new ExecutorFactory("platform", 10, 20), true);
+
+        CollectionJobStatusDTO finished = awaitFinished(service.startJob().id());
+
+        assertEquals("FAILED", finished.status());
+        assertNotNull(finished.finishedAt());
+        verify(dataCollectionLock).release();
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void retryFailedUnits_ShouldReprocessOnlyFailedUnits() {
+        stubCategoriesAndBreeds("abys", "aege");
+        stubBreedImages("abys", "img1");
+        when(catApiClient.streamBreedImagesAsync(eq("aege"), any()))
+                .thenReturn(CompletableFuture.failedFuture(serverError()));
+        when(catApiClient.getBreedImagesByCriteriaAsync(anyList()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        Long jobId = awaitFinished(service.startJob().id()).id();
+
+        stubBreedImages("aege", "img3");
+        CollectionJobStatusDTO retried = awaitFinished(service.retryFailedUnits(jobId).id());
+
+        assertEquals("COMPLETED", retried.status());
+        assertEquals(0, retried.failedUnits());
+        verify(catApiClient, times(1)).getAllBreedsAsync();
+        verify(catApiClient, times(1)).streamBreedImagesAsync(eq("abys"), any());
+        verify(catApiClient, times(2)).streamBreedImagesAsync(eq("aege"), any());
+        assertEquals(2, unitRepository.findByJobIdAndType(jobId, Type.BREED_IMAGES).stream()
+                .filter(unit -> unit.getUnitKey().equals("aege")).findFirst().orElseThrow().getAttempts());
+    }
+
+    @Test
+    void resumeInterruptedJobs_ShouldContinueFromLastCompletedUnit() {
+        CollectionJob job = jobRepository.save(CollectionJob.start(Instant.now().minusSeconds(60)));
+        unitRepository.saveAll(List.of(
+                unit(job.getId(), Type.CATEGORIES, "all", Status.COMPLETED),
+                unit(job.getId(), Type.BREEDS, "all", Status.COMPLETED),
+                unit(job.getId(), Type.CRITERIA_IMAGES, "hats", Status.COMPLETED),
+                unit(job.getId(), Type.CRITERIA_IMAGES, "sunglasses", Status.COMPLETED),
+                unit(job.getId(), Type.BREED_IMAGES, "abys", Status.COMPLETED),
+                unit(job.getId(), Type.BREED_IMAGES, "aege", Status.RUNNING)));
+        stubBreedImages("aege", "img3");
+
+        service.resumeInterruptedJobs();
+        CollectionJobStatusDTO finished = awaitFinished(job.getId());
+
+        assertEquals("COMPLETED", finished.status());
+        verify(catApiClient, never()).getCategoriesAsync();
+        verify(catApiClient, never()).getAllBreedsAsync();
+        verify(catApiClient, never()).streamBreedImagesAsync(eq("abys"), any());
+        verify(catApiClient).streamBreedImagesAsync(eq("aege"), any());
+    }
+
+    @Test
+    void toStatus_ShouldEstimateRemainingTimeFromCurrentRunThroughput() {
+        Instant resumedAt = Instant.parse("2025-01-01T00:00:00Z");
+        CollectionJob job = CollectionJob.start(resumedAt.minusSeconds(3600));
+        job.setId(1L);
+        job.setResumedAt(resumedAt);
+
+        CollectionJobUnit old = unit(1L, Type.BREEDS, "all", Status.COMPLETED);
+        old.setCompletedAt(resumedAt.minusSeconds(10));
+        CollectionJobUnit first = unit(1L, Type.BREED_IMAGES, "abys", Status.COMPLETED);
+        first.setCompletedAt(resumedAt.plusSeconds(5));
+        CollectionJobUnit second = unit(1L, Type.BREED_IMAGES, "aege", Status.COMPLETED);
+        second.setCompletedAt(resumedAt.plusSeconds(10));
+        List<CollectionJobUnit> pending = List.of(
+                unit(1L, Type.BREED_IMAGES, "beng", Status.PENDING),
+                unit(1L, Type.BREED_IMAGES, "bomb", Status.RUNNING),
+                unit(1L, Type.BREED_IMAGES, "char", Status.PENDING),
+                unit(1L, Type.BREED_IMAGES, "cymr", Status.PENDING));
+
+        List<CollectionJobUnit> units = new ArrayList<>(List.of(old, first, second));
+        units.addAll(pending);
+        CollectionJobStatusDTO status = CollectionJobService.toStatus(job, units, resumedAt.plusSeconds(10));
+
+        assertEquals(0.2, status.unitsPerSecond(), 0.0001);
+        assertEquals(20L, status.etaSeconds());
+        assertEquals(4, status.pendingUnits());
+    }
+
+    private void stubCategoriesAndBreeds(String... breedIds) {
+        when(catApiClient.getCategoriesAsync())
+                .thenReturn(CompletableFuture.completedFuture(List.of(new Category(1, "hats"), new Category(4, "sunglasses"))));
+        List<Breed> breeds = Arrays.stream(breedIds).map(id -> {
+            Breed breed = new Breed();
+            breed.setId(id);
+            return breed;
+        }).toList();
+        when(catApiClient.getAllBreedsAsync()).thenReturn(CompletableFuture.completedFuture(breeds));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubBreedImages(String breedId, String... imageIds) {
+        when(catApiClient.streamBreedImagesAsync(eq(breedId), any())).thenAnswer(invocation -> {
+            Consumer<BreedImageDTO> consumer = invocation.getArgument(1);
+            for (String imageId : imageIds) {
+                BreedImageDTO dto = new BreedImageDTO();
+                dto.setId(imageId);
+                dto.setUrl("https://cdn2.thecatapi.com/images/" + imageId + ".jpg");
+                consumer.accept(dto);
+            }
+            return CompletableFuture.completedFuture(imageIds.length);
+        });
+    }
+
+    private CollectionJobStatusDTO awaitFinished(Long jobId) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!service.isRunning(jobId)) {
+                return service.getStatus(jobId);
+            }
+            sleep();
+        }
+        fail("Job " + jobId + " não terminou a tempo");
+        return null;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CollectionJobUnit unit(Long jobId, Type type, String key, Status status) {
+        CollectionJobUnit unit = CollectionJobUnit.pending(jobId, type, key);
+        unit.setStatus(status);
+        if (status == Status.COMPLETED) {
+            unit.setAttempts(1);
+            unit.setCompletedAt(Instant.now().minusSeconds(30));
+        }
+        return unit;
+    }
+
+    private static HttpServerErrorException serverError() {
+        return new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
@@ -0,0 +1,182 @@
+package com.itau.thecatapi.service.mail;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Servidor SMTP mínimo para testes: EHLO, AUTH PLAIN/LOGIN, MAIL, RCPT, DATA, RSET, NOOP e QUIT.
+// Aceita tudo, a não ser que o teste programe recusas; latencyMillis atrasa cada resposta, como a rede faria
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final long latencyMillis;
+    private final List<String> recipients = Collections.synchronizedList(new ArrayList<>());
+    private final List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger authentications = new AtomicInteger();
+    private final AtomicInteger rejectionsLeft = new AtomicInteger();
+    private volatile int rejectionCode;
+    private volatile boolean closed;
+
+    public FakeSmtpServer(long latencyMillis) throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.latencyMillis = latencyMillis;
+        Thread.ofVirtual().name("FakeSmtpAccept").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // As próximas 'count' mensagens recebem 'code' ao fim do DATA (4xx transitório, 5xx definitivo)
+    public void rejectNextMessages(int count, int code) {
+        rejectionCode = code;
+        rejectionsLeft.set(count);
+    }
+
+    public int getConnections() {
+        return connections.get();
+    }
+
+    public int getAuthentications() {
+        return authentications.get();
+    }
+
+    public int getMessages() {
+        return recipients.size();
+    }
+
+    public List<String> getRecipients() {
+        synchronized (recipients) {
+            return List.copyOf(recipients);
+        }
+    }
+
+    // Derruba as conexões abertas sem QUIT, como um servidor que encerra sessões ociosas
+    public void dropConnections() {
+        synchronized (sockets) {
+            sockets.forEach(FakeSmtpServer::closeQuietly);
+            sockets.clear();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        closeQuietly(serverSocket);
+        dropConnections();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                // O close do ServerSocket com a thread virtual parada no accept pode ser adiado; conexões que
+                // chegam nessa janela não podem ser atendidas
+                if (closed) {
+                    closeQuietly(socket);
+                    return;
+                }
+                connections.incrementAndGet();
+                sockets.add(socket);
+                Thread.ofVirtual().start(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 fake-smtp ESMTP");
+            String recipient = null;
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+                if (command.startsWith("EHLO")) {
+                    reply(out, "250-fake-smtp\r\n250-AUTH PLAIN LOGIN\r\n250 8BITMIME");
+                } else if (command.startsWith("HELO")) {
+                    reply(out, "250 fake-smtp");
+                } else if (command.startsWith("AUTH PLAIN")) {
+                    if (line.trim().length() == "AUTH PLAIN".length()) {
+                        reply(out, "334 ");
+                        in.readLine();
+                    }
+                    authentications.incrementAndGet();
+                    reply(out, "235 2.7.0 Authentication successful");
+                } else if (command.startsWith("AUTH LOGIN")) {
+                    if (line.trim().length() == "AUTH LOGIN".length()) {
+                        reply(out, "334 VXNlcm5hbWU6");
+                        in.readLine();
+                    }
+                    reply(out, "334 UGFzc3dvcmQ6");
+                    in.readLine();
+                    authentications.incrementAndGet();
+                    reply(out, "235 2.7.0 Authentication successful");
+                } else if (command.startsWith("MAIL FROM")) {
+                    recipient = null;
+                    reply(out, "250 2.1.0 Ok");
+                } else if (command.startsWith("RCPT TO")) {
+                    recipient = line.substring(line.indexOf('<') + 1, line.lastIndexOf('>'));
+                    reply(out, "250 2.1.5 Ok");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    while ((line = in.readLine()) != null && !line.equals(".")) {
+                        // descarta o conteúdo
+                    }
+                    if (rejectionsLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                        reply(out, rejectionCode + " Mensagem recusada pelo teste");
+                    } else {
+                        recipients.add(recipient);
+                        reply(out, "250 2.0.0 Ok: queued");
+                    }
+                } else if (command.equals("RSET") || command.equals("NOOP")) {
+                    reply(out, "250 2.0.0 Ok");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 2.0.0 Bye");
+                    return;
+                } else {
+                    reply(out, "502 5.5.2 Command not recognized");
+                }
+            }
+        } catch (IOException e) {
+            // conexão encerrada pelo cliente ou por dropConnections()
+        } finally {
+            sockets.remove(socket);
+        }
+    }
+
+    private void reply(OutputStream out, String response) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+        out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+            // já fechado
+        }
+    }
+}
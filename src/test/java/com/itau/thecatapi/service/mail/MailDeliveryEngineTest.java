@@ -0,0 +1,198 @@
+package com.itau.thecatapi.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailDeliveryEngineTest {
+
+    private FakeSmtpServer server;
+    private Session session;
+    private SmtpTransportPool pool;
+    private MailDeliveryEngine engine;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new FakeSmtpServer(0);
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "true");
+        properties.put("mail.smtp.connectiontimeout", "2000");
+        properties.put("mail.smtp.timeout", "2000");
+        session = Session.getInstance(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+        server.close();
+    }
+
+    @Test
+    void submit_ManyMessages_ShouldReuseAuthenticatedConnections() {
+        start(2, 10, 0);
+
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 50)
+                .mapToObj(i -> engine.submit(message("usuario" + i + "@teste.com")))
+                .toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(50, server.getMessages());
+        // Uma conexão (e uma autenticação) por worker, e não uma por mensagem
+        assertTrue(server.getConnections() <= 2, "conexões: " + server.getConnections());
+        assertEquals(server.getConnections(), server.getAuthentications());
+        assertTrue(pool.getReuseRatio() >= 0.95, "reuso: " + pool.getReuseRatio());
+        assertEquals(50, engine.getMessagesPerMinute());
+    }
+
+    @Test
+    void submit_BatchLargerThanConnectionAllowance_ShouldNotExceedMessagesPerConnection() {
+        start(1, 10, 0, 3);
+
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> engine.submit(message("usuario" + i + "@teste.com")))
+                .toList();
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(10, server.getMessages());
+        // Com um único worker cada conexão é usada até o limite de 3 mensagens antes de abrir a próxima
+        assertEquals(4, server.getConnections());
+    }
+
+    @Test
+    void submit_TransientRejection_ShouldRetryAndDeliver() {
+        start(1, 10, 0);
+        server.rejectNextMessages(2, 451);
+
+        engine.submit(message("a@teste.com")).join();
+
+        assertEquals(List.of("a@teste.com"), server.getRecipients());
+        assertEquals(2, engine.getRetried());
+        // Recusa com código não derruba a conexão
+        assertEquals(1, server.getConnections());
+    }
+
+    @Test
+    void submit_PermanentRejection_ShouldFailWithoutRetry() {
+        start(1, 10, 0);
+        server.rejectNextMessages(1, 550);
+
+        CompletableFuture<Void> future = engine.submit(message("a@teste.com"));
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(MailSendException.class, exception.getCause());
+        assertEquals(0, engine.getRetried());
+        assertEquals(0, server.getMessages());
+    }
+
+    @Test
+    void submit_ConnectionDroppedWhileIdle_ShouldReconnect() {
+        start(1, 10, 0);
+        engine.submit(message("a@teste.com")).join();
+
+        server.dropConnections();
+        engine.submit(message("b@teste.com")).join();
+
+        assertEquals(List.of("a@teste.com", "b@teste.com"), server.getRecipients());
+        assertEquals(2, server.getConnections());
+    }
+
+    @Test
+    void submit_ServerUnavailable_ShouldFailAfterMaxAttempts() {
+        start(1, 10, 0);
+        server.close();
+
+        CompletableFuture<Void> future = engine.submit(message("a@teste.com"));
+
+        assertThrows(CompletionException.class, future::join);
+        assertEquals(2, engine.getRetried());
+    }
+
+    @Test
+    void submit_SameDomain_ShouldBeSpacedByDomainRate() {
+        // 600/min: uma mensagem a cada 100 ms por domínio
+        start(2, 10, 600);
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> other = engine.submit(message("x@outro.com"));
+        List<CompletableFuture<Void>> sameDomain = IntStream.range(0, 4)
+                .mapToObj(i -> engine.submit(message("u" + i + "@teste.com")))
+                .toList();
+
+        other.join();
+        long otherMillis = (System.nanoTime() - start) / 1_000_000;
+        sameDomain.forEach(CompletableFuture::join);
+        long sameDomainMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(sameDomainMillis >= 300, "domínio limitado levou " + sameDomainMillis + " ms");
+        assertTrue(otherMillis < 300, "outro domínio esperou " + otherMillis + " ms");
+        assertEquals(5, server.getMessages());
+    }
+
+    @Test
+    void submit_ManyDomains_ShouldForgetSlotsAlreadyInThePast() throws InterruptedException {
+        // 6000/min: 10 ms entre mensagens do mesmo domínio
+        start(2, 10, 6000);
+
+        IntStream.range(0, 50)
+                .mapToObj(i -> engine.submit(message("usuario@dominio" + i + ".com")))
+                .toList()
+                .forEach(CompletableFuture::join);
+        Thread.sleep(20);
+        engine.submit(message("usuario@novo.com")).join();
+
+        assertEquals(1, engine.getTrackedDomains());
+        assertEquals(51, server.getMessages());
+    }
+
+    @Test
+    void bindTo_ShouldExposeThroughputAndReuseMetrics() {
+        start(1, 10, 0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        engine.bindTo(registry);
+
+        engine.submit(message("a@teste.com")).join();
+        engine.submit(message("b@teste.com")).join();
+
+        assertEquals(2.0, registry.get("thecatapi.mail.messages").tag("outcome", "delivered").functionCounter().count());
+        assertEquals(2.0, registry.get("thecatapi.mail.throughput").gauge().value());
+        assertEquals(0.5, registry.get("thecatapi.mail.connection.reuse_ratio").gauge().value());
+        assertEquals(1.0, registry.get("thecatapi.mail.connections.opened").functionCounter().count());
+    }
+
+    private void start(int connections, int batchSize, int domainRatePerMinute) {
+        start(connections, batchSize, domainRatePerMinute, 100);
+    }
+
+    private void start(int connections, int batchSize, int domainRatePerMinute, int maxMessagesPerConnection) {
+        pool = new SmtpTransportPool(session, "smtp", "127.0.0.1", server.getPort(), "usuario", "senha",
+                connections, maxMessagesPerConnection, 30_000);
+        engine = new MailDeliveryEngine(pool, connections, batchSize, 3, 20, domainRatePerMinute);
+    }
+
+    private MimeMessage message(String to) {
+        try {
+            MimeMessage message = new MimeMessage(session);
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setFrom("cats@teste.com");
+            helper.setTo(to);
+            helper.setSubject("Raças");
+            helper.setText("<p>Abyssinian</p>", true);
+            return message;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.itau.thecatapi.service.pipeline;
+
+import com.itau.thecatapi.client.TheCatAPIClient;
+import com.itau.thecatapi.concurrent.ExecutorFactory;
+import com.itau.thecatapi.dto.BreedImageDTO;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.model.BreedImage;
+import com.itau.thecatapi.repository.BatchUpsertRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BreedImagePipelineTest {
+
+    private static final int QUEUE_CAPACITY = 2;
+    private static final int CHUNK_SIZE = 4;
+
+    private TheCatAPIClient catApiClient;
+    private BatchUpsertRepository batchUpsertRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private BreedImagePipeline pipeline;
+
+    private final List<List<BreedImage>> persistedChunks = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger maxMapQueueDepth = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        catApiClient = mock(TheCatAPIClient.class);
+        batchUpsertRepository = mock(BatchUpsertRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new BreedImagePipeline(catApiClient, batchUpsertRepository, new ExecutorFactory("platform", 10, 20),
+                meterRegistry, QUEUE_CAPACITY, CHUNK_SIZE, 50);
+
+        // Banco lento: a cada lote o estágio de persistência fica para trás do fetch
+        when(batchUpsertRepository.upsertImages(anyList())).thenAnswer(invocation -> {
+            List<BreedImage> chunk = invocation.getArgument(0);
+            persistedChunks.add(chunk);
+            Thread.sleep(20);
+            return chunk;
+        });
+    }
+
+    @Test
+    void run_ShouldPersistInFixedSizeChunksWithBoundedQueues() {
+        stubImages("abys", 5);
+        stubImages("aege", 5);
+        stubImages("beng", 5);
+
+        BreedImagePipeline.Result result = pipeline.run(breeds("abys", "aege", "beng"))
+                .orTimeout(10, TimeUnit.SECONDS).join();
+
+        assertEquals(new BreedImagePipeline.Result(15, 15, 0), result);
+        assertEquals(15, persistedChunks.stream().mapToInt(List::size).sum());
+        assertTrue(persistedChunks.stream().allMatch(chunk -> chunk.size() <= CHUNK_SIZE));
+        assertTrue(maxMapQueueDepth.get() <= QUEUE_CAPACITY, "fila excedeu a capacidade: " + maxMapQueueDepth.get());
+
+        assertEquals(3, meterRegistry.get("thecatapi.pipeline.stage.latency").tag("stage", "fetch").timer().count());
+        assertEquals(persistedChunks.size(),
+                meterRegistry.get("thecatapi.pipeline.stage.latency").tag("stage", "persist").timer().count());
+        assertEquals(0, meterRegistry.get("thecatapi.pipeline.queue.depth").tag("stage", "map").gauge().value());
+        assertEquals(0, meterRegistry.get("thecatapi.pipeline.queue.depth").tag("stage", "persist").gauge().value());
+    }
+
+    @Test
+    void run_ShouldKeepGoingWhenOneBreedFails() {
+        stubImages("abys", 3);
+        when(catApiClient.streamBreedImagesAsync(eq("nope"), any())).thenReturn(CompletableFuture.failedFuture(
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)));
+
+        BreedImagePipeline.Result result = pipeline.run(breeds("abys", "nope"))
+                .orTimeout(10, TimeUnit.SECONDS).join();
+
+        assertEquals(new BreedImagePipeline.Result(3, 3, 1), result);
+    }
+
+    @Test
+    void run_ShouldFailWithRootCauseAndReleaseProducersWhenPersistenceFails() {
+        stubImages("abys", 20);
+        reset(batchUpsertRepository);
+        when(batchUpsertRepository.upsertImages(anyList())).thenThrow(new IllegalStateException("DB fora do ar"));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> pipeline.run(breeds("abys")).orTimeout(10, TimeUnit.SECONDS).join());
+
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertEquals("DB fora do ar", exception.getCause().getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void run_RetriedStreamReemittingIds_ShouldNotSendRepeatedRowsToTheDatabase() {
+        // Repositório real sobre um JdbcTemplate que recusa o lote com id repetido, como o Postgres faz
+        // com o INSERT de várias linhas do reWriteBatchedInserts
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        List<String> persistedIds = Collections.synchronizedList(new ArrayList<>());
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    List<BreedImage> rows = invocation.getArgument(1);
+                    List<String> ids = rows.stream().map(BreedImage::getId).toList();
+                    if (new HashSet<>(ids).size() != ids.size()) {
+                        throw new DataIntegrityViolationException(
+                                "ON CONFLICT DO UPDATE command cannot affect row a second time");
+                    }
+                    persistedIds.addAll(ids);
+                    return new int[0][];
+                });
+        BreedImagePipeline realPersistence = new BreedImagePipeline(catApiClient,
+                new BatchUpsertRepository(jdbcTemplate, meterRegistry, 500), new ExecutorFactory("platform", 10, 20),
+                meterRegistry, QUEUE_CAPACITY, CHUNK_SIZE, 50);
+
+        // Primeira tentativa cai depois de 3 imagens; o reenvio traz as 5, inclusive as já emitidas
+        when(catApiClient.streamBreedImagesAsync(eq("abys"), any())).thenAnswer(invocation -> {
+            Consumer<BreedImageDTO> consumer = invocation.getArgument(1);
+            return CompletableFuture.supplyAsync(() -> {
+                for (int i = 0; i < 3; i++) {
+                    consumer.accept(image("abys", i));
+                }
+                for (int i = 0; i < 5; i++) {
+                    consumer.accept(image("abys", i));
+                }
+                return 5;
+            });
+        });
+
+        BreedImagePipeline.Result result = realPersistence.run(breeds("abys"))
+                .orTimeout(10, TimeUnit.SECONDS).join();
+
+        assertEquals(0, result.failedBreeds());
+        assertEquals(Set.of("abys-0", "abys-1", "abys-2", "abys-3", "abys-4"), new HashSet<>(persistedIds));
+    }
+
+    private void stubImages(String breedId, int count) {
+        when(catApiClient.streamBreedImagesAsync(eq(breedId), any())).thenAnswer(invocation -> {
+            Consumer<BreedImageDTO> consumer = invocation.getArgument(1);
+            return CompletableFuture.supplyAsync(() -> {
+                for (int i = 0; i < count; i++) {
+                    consumer.accept(image(breedId, i));
+                    maxMapQueueDepth.accumulateAndGet((int) meterRegistry.get("thecatapi.pipeline.queue.depth")
+                            .tag("stage", "map").gauge().value(), Math::max);
+                }
+                return count;
+            });
+        });
+    }
+
+    private static BreedImageDTO image(String breedId, int index) {
+        Breed breed = new Breed();
+        breed.setId(breedId);
+        BreedImageDTO dto = new BreedImageDTO();
+        dto.setId(breedId + "-" + index);
+        dto.setUrl("https://cdn2.thecatapi.com/images/" + breedId + "-" + index + ".jpg");
+        dto.setBreeds(List.of(breed));
+        return dto;
+    }
+
+    private static List<Breed> breeds(String... ids) {
+        List<Breed> breeds = new ArrayList<>();
+        for (String id : ids) {
+            Breed breed = new Breed();
+            breed.setId(id);
+            breeds.add(breed);
+        }
+        return breeds;
+    }
+}
@@ -0,0 +1,228 @@
+package com.itau.thecatapi.service.queue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalQueueTest {
+
+    private static final int SEGMENT_BYTES = 4096;
+    private static final long VISIBILITY_MILLIS = 1_000;
+    // Tamanho e CRC antes de cada payload
+    private static final int HEADER = 8;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private JournalQueue queue;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (queue != null) {
+            queue.close();
+        }
+    }
+
+    @Test
+    void receive_ShouldDeliverInAppendOrderOnlyOnce() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.append("b");
+        queue.append("c");
+
+        assertEquals(List.of("a", "b"), bodies(queue.receive(2)));
+        assertEquals(List.of("c"), bodies(queue.receive(10)));
+        assertTrue(queue.receive(10).isEmpty());
+        assertEquals(3, queue.getInFlight());
+    }
+
+    @Test
+    void receive_UnackedAfterVisibilityTimeout_ShouldBeRedelivered() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.append("b");
+        List<JournalQueue.Delivery> first = queue.receive(10);
+        assertTrue(queue.ack(first.get(1).offset()));
+
+        now.addAndGet(VISIBILITY_MILLIS - 1);
+        assertTrue(queue.receive(10).isEmpty());
+
+        now.addAndGet(1);
+        List<JournalQueue.Delivery> redelivered = queue.receive(10);
+        assertEquals(List.of("a"), bodies(redelivered));
+        assertEquals(2, redelivered.get(0).deliveryCount());
+        assertEquals(first.get(0).offset(), redelivered.get(0).offset());
+    }
+
+    @Test
+    void receive_AfterMaxDeliveries_ShouldDropMessage() throws IOException {
+        queue = open(2);
+        queue.append("poison");
+        queue.append("ok");
+
+        queue.receive(1);
+        now.addAndGet(VISIBILITY_MILLIS);
+        assertEquals(List.of("poison"), bodies(queue.receive(1)));
+        now.addAndGet(VISIBILITY_MILLIS);
+
+        // Na terceira vez a mensagem é descartada e a seguinte é entregue
+        assertEquals(List.of("ok"), bodies(queue.receive(1)));
+        assertEquals(1, queue.getDeadLettered());
+    }
+
+    @Test
+    void reopen_ShouldRedeliverEverythingNotAcked() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.append("b");
+        queue.append("c");
+        List<JournalQueue.Delivery> deliveries = queue.receive(3);
+        queue.ack(deliveries.get(0).offset());
+        queue.ack(deliveries.get(2).offset());
+        queue.close();
+
+        queue = open(5);
+        queue.append("d");
+
+        // "c" foi confirmada, mas depois de "b": o offset persistido para antes de "b" e as duas voltam
+        assertEquals(List.of("b", "c", "d"), bodies(queue.receive(10)));
+    }
+
+    @Test
+    void reopen_WithoutClose_ShouldKeepWrittenMessages() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.ack(queue.receive(1).get(0).offset());
+        queue.append("b");
+        queue.flush();
+
+        // Um segundo journal no mesmo diretório enxerga o mesmo estado de um processo que caiu sem fechar
+        try (JournalQueue recovered = open(5)) {
+            assertEquals(List.of("b"), bodies(recovered.receive(10)));
+        }
+    }
+
+    @Test
+    void append_BeyondSegment_ShouldRollAndDeleteConsumedSegments() throws IOException {
+        queue = open(5);
+        String body = "x".repeat(1000);
+        for (int i = 0; i < 10; i++) {
+            queue.append(body + i);
+        }
+        assertTrue(queue.getSegmentCount() >= 3);
+
+        List<JournalQueue.Delivery> deliveries = queue.receive(10);
+        assertEquals(10, deliveries.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(body + i, deliveries.get(i).body());
+        }
+
+        deliveries.forEach(delivery -> queue.ack(delivery.offset()));
+        assertEquals(1, queue.getSegmentCount());
+        assertEquals(0, queue.getBacklogBytes());
+
+        queue.close();
+        queue = open(5);
+        assertTrue(queue.receive(10).isEmpty());
+    }
+
+    @Test
+    void reopen_WithTornRecordAtTail_ShouldDiscardItAndKeepAppending() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.append("b");
+        queue.close();
+        queue = null;
+
+        // Simula uma queda no meio da gravação: tamanho escrito, conteúdo não
+        try (FileChannel channel = FileChannel.open(segment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 100), 2 * (HEADER + 1));
+        }
+
+        queue = open(5);
+        queue.append("c");
+        assertEquals(List.of("a", "b", "c"), bodies(queue.receive(10)));
+    }
+
+    @Test
+    void reopen_AfterCrashBeforeLengthWasWritten_ShouldNotReadLeftoverPayload() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.append("y".repeat(200));
+        queue.close();
+        queue = null;
+
+        // Queda entre a gravação do payload e a do tamanho: o payload fica no arquivo com tamanho zero
+        zeroInt(segment(), HEADER + 1);
+
+        queue = open(5);
+        queue.append("{\"ok\":1}");
+        assertEquals(List.of("a", "{\"ok\":1}"), bodies(queue.receive(10)));
+        queue.close();
+
+        // Reabrir de novo não pode ressuscitar os bytes antigos depois da mensagem curta
+        queue = open(5);
+        assertEquals(List.of("a", "{\"ok\":1}"), bodies(queue.receive(10)));
+        assertTrue(queue.receive(10).isEmpty());
+    }
+
+    @Test
+    void reopen_WithChecksumMismatch_ShouldDiscardFromCorruptedRecord() throws IOException {
+        queue = open(5);
+        queue.append("a");
+        queue.append("b");
+        queue.close();
+        queue = null;
+
+        // Payload de "a" alterado depois de gravado: o CRC não confere e o segmento é descartado a partir dali
+        try (FileChannel channel = FileChannel.open(segment(), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'z'}), HEADER);
+        }
+
+        queue = open(5);
+        assertTrue(queue.receive(10).isEmpty());
+        queue.append("c");
+        assertEquals(List.of("c"), bodies(queue.receive(10)));
+    }
+
+    @Test
+    void append_MessageLargerThanSegment_ShouldBeRejected() throws IOException {
+        queue = open(5);
+
+        assertThrows(IllegalArgumentException.class, () -> queue.append("x".repeat(SEGMENT_BYTES)));
+        assertThrows(IllegalArgumentException.class, () -> queue.append(""));
+    }
+
+    private Path segment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+    }
+
+    private static void zeroInt(Path file, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES), position);
+        }
+    }
+
+    private JournalQueue open(int maxDeliveries) throws IOException {
+        return new JournalQueue(directory, SEGMENT_BYTES, VISIBILITY_MILLIS, maxDeliveries, now::get);
+    }
+
+    private static List<String> bodies(List<JournalQueue.Delivery> deliveries) {
+        return deliveries.stream().map(JournalQueue.Delivery::body).toList();
+    }
+}
@@ -0,0 +1,169 @@
+package com.itau.thecatapi.service.queue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SQSSendBatcherTest {
+
+    private static final String FIFO_QUEUE = "https://sqs.sa-east-1.amazonaws.com/123456789012/breed-queue.fifo";
+
+    private SqsAsyncClient sqsAsyncClient;
+    private final List<SendMessageBatchRequest> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<CompletableFuture<SendMessageBatchResponse>> responses = Collections.synchronizedList(new ArrayList<>());
+    private SQSSendBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        sqsAsyncClient = mock(SqsAsyncClient.class);
+        // Cada chamada fica pendente até o teste decidir como responder
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            requests.add(invocation.getArgument(0));
+            CompletableFuture<SendMessageBatchResponse> response = new CompletableFuture<>();
+            responses.add(response);
+            return response;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        respondAllSuccessfully();
+        batcher.close();
+    }
+
+    @Test
+    void send_FullBatch_ShouldGoOutImmediatelyAsOneCall() {
+        batcher = new SQSSendBatcher(sqsAsyncClient, FIFO_QUEUE, 10, 10_000, 4);
+
+        List<CompletableFuture<String>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> batcher.send("body-" + i, "group-" + i))
+                .collect(Collectors.toList());
+
+        assertEquals(1, requests.size());
+        assertEquals(10, requests.get(0).entries().size());
+
+        respondAllSuccessfully();
+
+        // Cada chamador recebe o MessageId da sua própria entrada
+        for (int i = 0; i < 10; i++) {
+            assertEquals("sqs-body-" + i, futures.get(i).join());
+        }
+    }
+
+    @Test
+    void send_PartialBatch_ShouldGoOutAfterLinger() throws Exception {
+        batcher = new SQSSendBatcher(sqsAsyncClient, FIFO_QUEUE, 10, 50, 4);
+
+        batcher.send("a", "group-a");
+        batcher.send("b", "group-b");
+        batcher.send("c", "group-c");
+        assertTrue(requests.isEmpty());
+
+        waitForRequests(1);
+        assertEquals(List.of("a", "b", "c"), bodies(requests.get(0)));
+        assertEquals(0, batcher.getPending());
+    }
+
+    @Test
+    void send_FifoGroupWithBatchInFlight_ShouldWaitForItToComplete() throws Exception {
+        batcher = new SQSSendBatcher(sqsAsyncClient, FIFO_QUEUE, 1, 10, 4);
+
+        batcher.send("a1", "group-a");
+        batcher.send("a2", "group-a");
+        batcher.send("b1", "group-b");
+        waitForRequests(2);
+        Thread.sleep(50);
+
+        // a2 não pode ultrapassar a1; b1 segue em paralelo
+        assertEquals(2, requests.size());
+        assertEquals(List.of("a1"), bodies(requests.get(0)));
+        assertEquals(List.of("b1"), bodies(requests.get(1)));
+        assertEquals("group-a", requests.get(0).entries().get(0).messageGroupId());
+
+        respond(0);
+        waitForRequests(3);
+        assertEquals(List.of("a2"), bodies(requests.get(2)));
+    }
+
+    @Test
+    void send_BatchCallFails_ShouldFailEveryCallerInTheBatch() {
+        batcher = new SQSSendBatcher(sqsAsyncClient, FIFO_QUEUE, 2, 10_000, 4);
+
+        CompletableFuture<String> first = batcher.send("a", "group-a");
+        CompletableFuture<String> second = batcher.send("b", "group-b");
+        responses.get(0).completeExceptionally(new IllegalStateException("SQS indisponível"));
+
+        assertThrows(CompletionException.class, first::join);
+        assertThrows(CompletionException.class, second::join);
+    }
+
+    @Test
+    void close_ShouldFlushPendingMessages() {
+        batcher = new SQSSendBatcher(sqsAsyncClient, FIFO_QUEUE, 10, 10_000, 4);
+        when(sqsAsyncClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            requests.add(request);
+            return CompletableFuture.completedFuture(success(request));
+        });
+
+        CompletableFuture<String> future = batcher.send("a", "group-a");
+        batcher.close();
+
+        assertEquals("sqs-a", future.join());
+        assertTrue(batcher.send("b", "group-b").isCompletedExceptionally());
+    }
+
+    private void respondAllSuccessfully() {
+        synchronized (responses) {
+            for (int i = 0; i < responses.size(); i++) {
+                respond(i);
+            }
+        }
+    }
+
+    private void respond(int index) {
+        responses.get(index).complete(success(requests.get(index)));
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(requests.size() >= count, "esperava " + count + " chamadas, houve " + requests.size());
+    }
+
+    private static SendMessageBatchResponse success(SendMessageBatchRequest request) {
+        return SendMessageBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .map(entry -> SendMessageBatchResultEntry.builder()
+                                .id(entry.id())
+                                .messageId("sqs-" + entry.messageBody())
+                                .build())
+                        .toList())
+                .build();
+    }
+
+    private static List<String> bodies(SendMessageBatchRequest request) {
+        return request.entries().stream().map(SendMessageBatchRequestEntry::messageBody).toList();
+    }
+}
@@ -0,0 +1,131 @@
+package com.itau.thecatapi.service.readmodel;
+
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.model.Breed;
+import com.itau.thecatapi.repository.BreedRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BreedReadModelTest {
+
+    private List<Breed> breeds;
+
+    @BeforeEach
+    void setUp() {
+        breeds = List.of(
+                breed("beng", "Alert, Agile, Energetic, Demanding, Intelligent", "United States"),
+                breed("siam", "Active, Agile, Clever, Sociable, Loving, Energetic", "Thailand"),
+                breed("mcoo", "Adaptable, Intelligent, Loving, Gentle, Independent", "United States"),
+                breed("abys", "Active, Energetic, Independent, Intelligent, Gentle", "Egypt"),
+                breed("unkn", null, null));
+    }
+
+    @Test
+    void findByTemperament_ShouldMatchTokensIgnoringCaseAndKeepOrder() {
+        BreedReadModel readModel = BreedReadModel.of(breeds);
+
+        assertEquals(List.of("beng", "siam", "abys"), ids(readModel.findByTemperament("energetic")));
+        assertEquals(List.of("mcoo", "abys"), ids(readModel.findByTemperament(" GENTLE ")));
+        assertTrue(readModel.findByTemperament("lazy").isEmpty());
+    }
+
+    @Test
+    void findByTemperament_ShouldKeepContainsSemantics() {
+        BreedReadModel readModel = BreedReadModel.of(breeds);
+
+        // "activ" casa com "active"; "intelligent, gentle" atravessa dois tokens
+        assertEquals(List.of("siam", "abys"), ids(readModel.findByTemperament("activ")));
+        assertEquals(List.of("abys"), ids(readModel.findByTemperament("Intelligent, Gentle")));
+    }
+
+    @Test
+    void findByOriginAndCombinedQueries_ShouldIntersectIndexes() {
+        BreedReadModel readModel = BreedReadModel.of(breeds);
+
+        assertEquals(List.of("beng", "mcoo"), ids(readModel.findByOrigin("united states")));
+        assertEquals(List.of("beng", "mcoo"), ids(readModel.findByOrigin("States")));
+        assertEquals(List.of("mcoo"), ids(readModel.findByTemperamentAndOrigin("loving", "United")));
+        assertTrue(readModel.findByTemperamentAndOrigin("active", "Egyptian").isEmpty());
+    }
+
+    @Test
+    void findById_ShouldUseIdIndex() {
+        BreedReadModel readModel = BreedReadModel.of(breeds);
+
+        assertEquals("siam", readModel.findById("siam").orElseThrow().getId());
+        assertTrue(readModel.findById("none").isEmpty());
+        assertEquals(5, readModel.findAll().size());
+    }
+
+    @Test
+    void service_ShouldSwapSnapshotAfterDataCollection() {
+        BreedRepository breedRepository = mock(BreedRepository.class);
+        when(breedRepository.findAll()).thenReturn(breeds.subList(0, 2)).thenReturn(breeds);
+        BreedReadModelService service = new BreedReadModelService(breedRepository, true);
+
+        assertNull(service.current());
+
+        service.onApplicationReady();
+        BreedReadModel first = service.current();
+        assertEquals(2, first.size());
+
+        service.onDataCollectionCompleted(new DataCollectionCompletedEvent(Instant.now()));
+        assertEquals(5, service.current().size());
+        assertEquals(2, first.size());
+    }
+
+    @Test
+    void service_WhenDisabled_ShouldNotLoadSnapshot() {
+        BreedRepository breedRepository = mock(BreedRepository.class);
+        BreedReadModelService service = new BreedReadModelService(breedRepository, false);
+
+        service.onApplicationReady();
+
+        assertNull(service.current());
+        verifyNoInteractions(breedRepository);
+    }
+
+    @Test
+    void service_WhenRefreshFails_ShouldKeepPreviousSnapshot() {
+        BreedRepository breedRepository = mock(BreedRepository.class);
+        when(breedRepository.findAll()).thenReturn(breeds).thenThrow(new RuntimeException("Database error"));
+        BreedReadModelService service = new BreedReadModelService(breedRepository, true);
+
+        service.refresh();
+        service.refresh();
+
+        assertEquals(5, service.current().size());
+    }
+
+    @Test
+    void findPage_ShouldWalkInIdOrderFromCursorApplyingFilters() {
+        BreedReadModel readModel = BreedReadModel.of(breeds);
+
+        assertEquals(List.of("abys", "beng"), ids(readModel.findPage(null, null, "", 2)));
+        assertEquals(List.of("mcoo", "siam"), ids(readModel.findPage(null, null, "beng", 2)));
+        assertEquals(List.of("mcoo", "siam", "unkn"), ids(readModel.findPage(null, null, "bz", 10)));
+        assertEquals(List.of("siam"), ids(readModel.findPage("energetic", null, "beng", 10)));
+        assertEquals(List.of("mcoo"), ids(readModel.findPage("intelligent", "united", "beng", 10)));
+        assertTrue(readModel.findPage(null, null, "unkn", 10).isEmpty());
+    }
+
+    private static Breed breed(String id, String temperament, String origin) {
+        Breed breed = new Breed();
+        breed.setId(id);
+        breed.setName(id.toUpperCase());
+        breed.setTemperament(temperament);
+        breed.setOrigin(origin);
+        return breed;
+    }
+
+    private static List<String> ids(List<Breed> breeds) {
+        return breeds.stream().map(Breed::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,64 @@
+package com.itau.thecatapi.service.scheduler;
+
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.repository.ClusterLockRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DataChangeNotifierTest {
+
+    private static final Instant T0 = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private ClusterLockRepository clusterLockRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private DataChangeNotifier notifier;
+
+    @Test
+    void pollRemoteChanges_ShouldOnlyRecordBaselineOnFirstPoll() {
+        when(clusterLockRepository.findDataChangedAt(DataChangeNotifier.LOCK_NAME)).thenReturn(Optional.of(T0));
+
+        notifier.pollRemoteChanges();
+        notifier.pollRemoteChanges();
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void pollRemoteChanges_ShouldRepublishEventWhenAnotherNodeCollected() {
+        when(clusterLockRepository.findDataChangedAt(DataChangeNotifier.LOCK_NAME))
+                .thenReturn(Optional.of(T0))
+                .thenReturn(Optional.of(T0.plusSeconds(60)));
+
+        notifier.pollRemoteChanges();
+        notifier.pollRemoteChanges();
+
+        verify(eventPublisher).publishEvent(new DataCollectionCompletedEvent(T0.plusSeconds(60)));
+    }
+
+    @Test
+    void onDataCollectionCompleted_ShouldMarkClusterAndSkipOwnChangeOnNextPoll() {
+        when(clusterLockRepository.findDataChangedAt(DataChangeNotifier.LOCK_NAME)).thenReturn(Optional.of(T0));
+
+        notifier.onDataCollectionCompleted(new DataCollectionCompletedEvent(T0));
+        notifier.pollRemoteChanges();
+
+        verify(clusterLockRepository).markDataChanged(DataChangeNotifier.LOCK_NAME, T0);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
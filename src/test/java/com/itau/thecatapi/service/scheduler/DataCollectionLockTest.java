@@ -0,0 +1,96 @@
+package com.itau.thecatapi.service.scheduler;
+
+import com.itau.thecatapi.repository.ClusterLockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DataCollectionLockTest {
+
+    private ClusterLockRepository clusterLockRepository;
+    private DataCollectionLock lock;
+
+    @BeforeEach
+    void setUp() {
+        clusterLockRepository = mock(ClusterLockRepository.class);
+        lock = new DataCollectionLock(clusterLockRepository, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lock.shutdown();
+    }
+
+    @Test
+    void tryAcquire_ShouldUseDataCollectionLockWithNodeIdAndExpiry() {
+        when(clusterLockRepository.tryAcquire(DataChangeNotifier.LOCK_NAME, lock.getNodeId(), Duration.ofMinutes(1)))
+                .thenReturn(true);
+
+        assertTrue(lock.tryAcquire());
+    }
+
+    @Test
+    void runExclusive_WhenHeldElsewhere_ShouldNotRunCollection() {
+        when(clusterLockRepository.tryAcquire(any(), any(), any())).thenReturn(false);
+
+        Optional<CompletableFuture<String>> result = lock.runExclusive(() -> fail("não deveria coletar"));
+
+        assertTrue(result.isEmpty());
+        verify(clusterLockRepository, never()).release(any(), any());
+    }
+
+    @Test
+    void runExclusive_ShouldReleaseOnlyWhenCollectionCompletes() {
+        when(clusterLockRepository.tryAcquire(any(), any(), any())).thenReturn(true);
+        CompletableFuture<String> collection = new CompletableFuture<>();
+
+        CompletableFuture<String> result = lock.runExclusive(() -> collection).orElseThrow();
+        verify(clusterLockRepository, never()).release(any(), any());
+
+        collection.completeExceptionally(new IllegalStateException("falha na coleta"));
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(clusterLockRepository).release(DataChangeNotifier.LOCK_NAME, lock.getNodeId());
+    }
+
+    @Test
+    void runExclusive_WhenCollectionThrows_ShouldReleaseAndFail() {
+        when(clusterLockRepository.tryAcquire(any(), any(), any())).thenReturn(true);
+
+        CompletableFuture<String> result = lock.<String>runExclusive(() -> {
+            throw new IllegalStateException("falha ao iniciar");
+        }).orElseThrow();
+
+        assertTrue(result.isCompletedExceptionally());
+        verify(clusterLockRepository).release(DataChangeNotifier.LOCK_NAME, lock.getNodeId());
+    }
+
+    @Test
+    void tryAcquire_ShouldRenewLeaseUntilReleased() throws InterruptedException {
+        lock.shutdown();
+        // 30 ms de prazo: renovação a cada 10 ms
+        lock = new DataCollectionLock(clusterLockRepository, 30);
+        when(clusterLockRepository.tryAcquire(any(), any(), any())).thenReturn(true);
+        when(clusterLockRepository.renew(any(), any(), any())).thenReturn(true);
+
+        assertTrue(lock.tryAcquire());
+        Thread.sleep(100);
+        lock.release();
+
+        verify(clusterLockRepository, atLeast(2))
+                .renew(DataChangeNotifier.LOCK_NAME, lock.getNodeId(), Duration.ofMillis(30));
+        // Uma renovação já em andamento no momento do release ainda pode terminar
+        Thread.sleep(20);
+        clearInvocations(clusterLockRepository);
+        Thread.sleep(50);
+        verify(clusterLockRepository, never()).renew(any(), any(), any());
+    }
+}
@@ -0,0 +1,58 @@
+package com.itau.thecatapi.service.scheduler;
+
+import com.itau.thecatapi.dto.SyncSummaryDTO;
+import com.itau.thecatapi.service.IncrementalSyncService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+class ScheduledCollectionServiceTest {
+
+    private IncrementalSyncService incrementalSyncService;
+    private DataCollectionLock dataCollectionLock;
+    private ScheduledCollectionService service;
+
+    @BeforeEach
+    void setUp() {
+        incrementalSyncService = mock(IncrementalSyncService.class);
+        dataCollectionLock = mock(DataCollectionLock.class);
+        service = new ScheduledCollectionService(incrementalSyncService, dataCollectionLock);
+    }
+
+    @Test
+    void collect_WithoutLock_ShouldSkipCollection() {
+        when(dataCollectionLock.tryAcquire()).thenReturn(false);
+
+        service.collect();
+
+        verifyNoInteractions(incrementalSyncService);
+        verify(dataCollectionLock, never()).release();
+    }
+
+    @Test
+    void collect_WithLock_ShouldSyncAndReleaseEvenOnFailure() {
+        when(dataCollectionLock.tryAcquire()).thenReturn(true);
+        when(incrementalSyncService.syncAsync())
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("upstream fora do ar")));
+
+        service.collect();
+
+        verify(incrementalSyncService).syncAsync();
+        verify(dataCollectionLock).release();
+    }
+
+    @Test
+    void collect_WithLock_ShouldRunIncrementalSync() {
+        SyncSummaryDTO.EntityChanges none = new SyncSummaryDTO.EntityChanges(0, 0, 0, 0);
+        when(dataCollectionLock.tryAcquire()).thenReturn(true);
+        when(incrementalSyncService.syncAsync())
+                .thenReturn(CompletableFuture.completedFuture(new SyncSummaryDTO(none, none, none, 5)));
+
+        service.collect();
+
+        verify(dataCollectionLock).release();
+    }
+}
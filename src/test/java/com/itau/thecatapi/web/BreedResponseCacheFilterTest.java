@@ -0,0 +1,185 @@
+package com.itau.thecatapi.web;
+
+import com.itau.thecatapi.controller.BreedController;
+import com.itau.thecatapi.dto.BreedResponseDTO;
+import com.itau.thecatapi.event.DataCollectionCompletedEvent;
+import com.itau.thecatapi.exception.GlobalExceptionHandler;
+import com.itau.thecatapi.service.BreedService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@ExtendWith(MockitoExtension.class)
+class BreedResponseCacheFilterTest {
+
+    @Mock
+    private BreedService breedService;
+
+    @InjectMocks
+    private BreedController breedController;
+
+    private BreedResponseCache cache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BreedResponseCache(new SimpleMeterRegistry(), "maximumSize=100");
+        mockMvc = MockMvcBuilders.standaloneSetup(breedController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .addFilters(new BreedResponseCacheFilter(cache, true))
+                .build();
+    }
+
+    @Test
+    void getBreeds_ShouldServeRepeatedRequestsFromCachedBytes() throws Exception {
+        when(breedService.getAllBreeds()).thenReturn(CompletableFuture.completedFuture(List.of(breed("abys"))));
+
+        MockHttpServletResponse first = perform(get("/api/breeds"));
+        MockHttpServletResponse second = perform(get("/api/breeds"));
+
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertNotNull(first.getHeader(HttpHeaders.ETAG));
+        assertEquals(first.getHeader(HttpHeaders.ETAG), second.getHeader(HttpHeaders.ETAG));
+        assertEquals(first.getContentAsString(), second.getContentAsString());
+        assertTrue(second.getContentAsString().contains("\"id\":\"abys\""));
+        verify(breedService, times(1)).getAllBreeds();
+    }
+
+    @Test
+    void getBreeds_WithMatchingIfNoneMatch_ShouldReturn304WithoutBody() throws Exception {
+        when(breedService.getBreedById("abys")).thenReturn(CompletableFuture.completedFuture(breed("abys")));
+        String etag = perform(get("/api/breeds/abys")).getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletResponse notModified = perform(get("/api/breeds/abys").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag));
+
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, notModified.getContentAsByteArray().length);
+    }
+
+    @Test
+    void getBreeds_WithAcceptEncodingGzip_ShouldServeCompressedBytes() throws Exception {
+        when(breedService.getBreedsByOrigin("Egypt")).thenReturn(CompletableFuture.completedFuture(List.of(breed("abys"))));
+        String identity = perform(get("/api/breeds").param("origin", "Egypt")).getContentAsString();
+
+        MockHttpServletResponse gzipped = perform(get("/api/breeds").param("origin", "egypt")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"));
+
+        assertEquals("gzip", gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, gzipped.getHeader(HttpHeaders.VARY));
+        assertEquals(identity, gunzip(gzipped.getContentAsByteArray()));
+        verify(breedService, times(1)).getBreedsByOrigin(anyString());
+    }
+
+    @Test
+    void getBreeds_GzipAndIdentity_ShouldHaveDistinctEtagsValidatedPerEncoding() throws Exception {
+        when(breedService.getBreedById("abys")).thenReturn(CompletableFuture.completedFuture(breed("abys")));
+        String identityEtag = perform(get("/api/breeds/abys")).getHeader(HttpHeaders.ETAG);
+        String gzipEtag = perform(get("/api/breeds/abys").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(identityEtag, gzipEtag);
+        assertTrue(gzipEtag.startsWith("\"") && gzipEtag.endsWith("\""));
+
+        MockHttpServletResponse gzipNotModified = perform(get("/api/breeds/abys")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzipEtag));
+        assertEquals(304, gzipNotModified.getStatus());
+        assertEquals(gzipEtag, gzipNotModified.getHeader(HttpHeaders.ETAG));
+
+        // A tag de uma codificação não valida a outra
+        MockHttpServletResponse identityWithGzipTag = perform(get("/api/breeds/abys")
+                .header(HttpHeaders.IF_NONE_MATCH, gzipEtag));
+        assertEquals(200, identityWithGzipTag.getStatus());
+        assertEquals(identityEtag, identityWithGzipTag.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getBreeds_AfterDataCollection_ShouldRebuildWithNewEtag() throws Exception {
+        when(breedService.getAllBreeds())
+                .thenReturn(CompletableFuture.completedFuture(List.of(breed("abys"))))
+                .thenReturn(CompletableFuture.completedFuture(List.of(breed("abys"), breed("beng"))));
+        String before = perform(get("/api/breeds")).getHeader(HttpHeaders.ETAG);
+
+        cache.onDataCollectionCompleted(new DataCollectionCompletedEvent(Instant.now()));
+        MockHttpServletResponse after = perform(get("/api/breeds").header(HttpHeaders.IF_NONE_MATCH, before));
+
+        assertEquals(200, after.getStatus());
+        assertNotEquals(before, after.getHeader(HttpHeaders.ETAG));
+        assertTrue(after.getContentAsString().contains("beng"));
+    }
+
+    @Test
+    void getBreeds_WhenNotFound_ShouldNotCacheError() throws Exception {
+        when(breedService.getBreedById("none")).thenReturn(CompletableFuture.completedFuture(new BreedResponseDTO()));
+
+        assertEquals(404, perform(get("/api/breeds/none")).getStatus());
+        assertEquals(404, perform(get("/api/breeds/none")).getStatus());
+
+        assertEquals(0, cache.size());
+        verify(breedService, times(2)).getBreedById("none");
+    }
+
+    @Test
+    void put_StartedBeforeCollection_ShouldNotBeStored() {
+        long generation = cache.generation();
+        cache.onDataCollectionCompleted(new DataCollectionCompletedEvent(Instant.now()));
+
+        cache.put("breed:abys", generation, "{}".getBytes(StandardCharsets.UTF_8), "application/json");
+
+        assertNull(cache.get("breed:abys"));
+    }
+
+    @Test
+    void cacheKey_ShouldSkipPagesAndNdjsonAndNormalizeFilterCase() throws Exception {
+        assertNull(BreedResponseCacheFilter.cacheKey(get("/api/breeds").param("limit", "10").buildRequest(null)));
+        assertNull(BreedResponseCacheFilter.cacheKey(get("/api/breeds")
+                .header(HttpHeaders.ACCEPT, "application/x-ndjson").buildRequest(null)));
+        assertEquals(BreedResponseCacheFilter.cacheKey(get("/api/breeds").param("origin", "Egypt").buildRequest(null)),
+                BreedResponseCacheFilter.cacheKey(get("/api/breeds/").param("origin", "EGYPT").buildRequest(null)));
+        assertNotEquals(BreedResponseCacheFilter.cacheKey(get("/api/breeds").buildRequest(null)),
+                BreedResponseCacheFilter.cacheKey(get("/api/breeds").param("origin", "").buildRequest(null)));
+        assertFalse(BreedResponseCacheFilter.acceptsGzip("gzip;q=0, deflate"));
+    }
+
+    private MockHttpServletResponse perform(RequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static BreedResponseDTO breed(String id) {
+        return new BreedResponseDTO(id, id.toUpperCase(), "Egypt", "Active", "desc", "https://cdn2.thecatapi.com/images/x.jpg");
+    }
+}